@@ -0,0 +1,110 @@
+package com.example.itsm_api.benchmark;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JSON serialization of the GET /api/sr/list response: the map built by SrvcRsponsController.getList
+ * around a page of SrvcRsponsVO rows, at the default page size (15), a large page (100) and an
+ * unpaged list (1000). Rows cycle through the stages, so the getters that format dates on the fly
+ * (verify date display) run for part of them as they would in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SrListSerializationBenchmark {
+
+    @Param({"15", "100", "1000"})
+    public int rows;
+
+    private ObjectWriter writer;
+    private Map<String, Object> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Spring MVC writes responses with (no spring.jackson.* overrides)
+        writer = JsonMapper.builder().findAndAddModules().build().writer();
+
+        List<SrvcRsponsVO> data = new ArrayList<>(rows);
+        long base = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+        for (int i = 0; i < rows; i++) {
+            data.add(row(i, base + TimeUnit.MINUTES.toMillis(37L * i)));
+        }
+        response = new HashMap<>();
+        response.put("success", true);
+        response.put("total", (long) rows * 7);
+        response.put("totalEstimated", false);
+        response.put("data", data);
+        response.put("hasNext", true);
+        response.put("nextCursor", "U1IyMDI2MDAwMDE1");
+    }
+
+    /** Response body as a byte array, as the message converter buffers small bodies */
+    @Benchmark
+    public byte[] toBytes() {
+        return writer.writeValueAsBytes(response);
+    }
+
+    /** Encoding only, streamed without keeping the body */
+    @Benchmark
+    public void toStream() {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    private static SrvcRsponsVO row(int i, long requested) {
+        SrvcRsponsVO vo = new SrvcRsponsVO();
+        vo.setSrvcRsponsNo(String.format("SR2026%06d", 100000 - i));
+        vo.setSrvcRsponsSj("Request " + i + ": report export fails with a timeout for the monthly settlement screen");
+        vo.setSrvcRsponsCn("Since the last deployment the monthly settlement export stops after about 30 seconds. "
+                + "Steps: open settlement, choose the month, press export. Expected a file, got an error page.");
+        vo.setRequstDt(new Date(requested));
+        vo.setRqesterId("user" + (i % 50));
+        vo.setRqesterNm("Requester " + (i % 50));
+        vo.setRqesterDept("Finance");
+        vo.setRqesterEmail("user" + (i % 50) + "@example.com");
+        vo.setTrgetSrvcCode("S" + (100 + i % 8));
+        vo.setTrgetSrvcCodeNm("Settlement system");
+        vo.setSrvcRsponsClCodeNm("Error");
+        int stage = i % 5;
+        if (stage >= 1) {
+            vo.setRspons1stDt(new Date(requested + TimeUnit.HOURS.toMillis(1)));
+            vo.setChargerId("handler" + (i % 6));
+            vo.setChargerUserNm("Handler " + (i % 6));
+        }
+        if (stage >= 2) {
+            vo.setProcessDt(new Date(requested + TimeUnit.HOURS.toMillis(20)));
+        }
+        if (stage >= 3) {
+            vo.setVerifyDt(new Date(requested + TimeUnit.DAYS.toMillis(2)));
+        }
+        if (stage >= 4) {
+            vo.setFinishDt(new Date(requested + TimeUnit.DAYS.toMillis(3)));
+        }
+        return vo;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.itsm_api.security;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * AuthorizationService checks as the controllers and aspects call them, against a converted
+ * principal installed in the SecurityContext of the benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AuthorizationBenchmark {
+
+    private static final List<String> ACTIVE_STATUSES = List.of("U001", "U002");
+
+    private final AuthorizationService authorizationService = new AuthorizationService();
+
+    @Setup
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new CustomJwtAuthenticationConverter().convert(BenchmarkJwts.keycloakUser("R003")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean hasUserTyCode() {
+        return authorizationService.hasUserTyCode("R001", "R003");
+    }
+
+    @Benchmark
+    public boolean hasUserTyCodeMiss() {
+        return authorizationService.hasUserTyCode("R000", "R002", "R004");
+    }
+
+    @Benchmark
+    public boolean hasRole() {
+        return authorizationService.hasRole("handler");
+    }
+
+    @Benchmark
+    public boolean hasAnyRole() {
+        return authorizationService.hasAnyRole("admin", "manager", "handler");
+    }
+
+    @Benchmark
+    public boolean canAccess() {
+        return authorizationService.canAccess("R003", ACTIVE_STATUSES, "handler");
+    }
+
+    @Benchmark
+    public boolean isAdmin() {
+        return authorizationService.isAdmin();
+    }
+}
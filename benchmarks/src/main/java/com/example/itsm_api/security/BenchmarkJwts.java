@@ -0,0 +1,49 @@
+package com.example.itsm_api.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Keycloak-shaped tokens shared by the security benchmarks.
+ */
+final class BenchmarkJwts {
+
+    private BenchmarkJwts() {
+    }
+
+    /**
+     * A decoded access token as Keycloak issues it for the itsm realm: user attributes mapped as
+     * top-level claims, realm roles, and a resource_access block the user type fallback has to skip.
+     */
+    static Jwt keycloakUser(String userTyCode) {
+        Instant now = Instant.now();
+        return Jwt.withTokenValue("benchmark-token")
+                .header("alg", "RS256")
+                .header("kid", "benchmark")
+                .header("typ", "JWT")
+                .issuer("http://localhost:8080/realms/itsm")
+                .subject("6f1c2a9e-3b7d-4e0a-9c51-2d8f4b7a1e03")
+                .audience(List.of("itsm-api", "account"))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(300))
+                .claim("azp", "itsm-web")
+                .claim("scope", "openid profile email")
+                .claim("preferred_username", "bench.user")
+                .claim("email", "bench.user@example.com")
+                .claim("given_name", "Bench")
+                .claim("userTyCode", List.of(userTyCode))
+                .claim("userSttusCode", List.of("U002"))
+                .claim("deptCd", List.of("D0100"))
+                .claim("deptNm", List.of("Service Desk"))
+                .claim("position", List.of("Manager"))
+                .claim("classNm", List.of("Operations"))
+                .claim("realm_access", Map.of("roles",
+                        List.of("offline_access", "uma_authorization", "user", "default-roles-itsm")))
+                .claim("resource_access", Map.of("account", Map.of("roles",
+                        List.of("manage-account", "view-profile"))))
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.itsm_api.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Per-request cost of turning a decoded Jwt into the authenticated principal: claim resolution
+ * (UserContext.of), the principal with its authorities and code masks, and the whole converter
+ * as registered in SecurityConfig. Verification itself (signature, VerifiedJwtCache) is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrincipalBenchmark {
+
+    /** Admin, handler and requester: the three user types most requests come from */
+    @Param({"R001", "R003", "R005"})
+    public String userTyCode;
+
+    private Jwt jwt;
+    private UserContext context;
+    private final CustomJwtAuthenticationConverter converter = new CustomJwtAuthenticationConverter();
+
+    @Setup
+    public void setUp() {
+        jwt = BenchmarkJwts.keycloakUser(userTyCode);
+        context = UserContext.of(jwt);
+    }
+
+    @Benchmark
+    public UserContext userContext() {
+        return UserContext.of(jwt);
+    }
+
+    @Benchmark
+    public CustomUserPrincipal principal() {
+        return new CustomUserPrincipal(jwt);
+    }
+
+    /** Principal from an already resolved context: authorities and masks only */
+    @Benchmark
+    public CustomUserPrincipal principalFromContext() {
+        return new CustomUserPrincipal(jwt, context);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+}
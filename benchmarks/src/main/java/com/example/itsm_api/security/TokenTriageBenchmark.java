@@ -0,0 +1,112 @@
+package com.example.itsm_api.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.itsm_api.security.RejectedTokenCache.Reason;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+/**
+ * TokenFormatFilter.triage on a realistic Authorization header, for each outcome: a token that passes
+ * to the decoder (the common case, every check runs) and the cheap rejections. The filter is built as
+ * in the application, with the JWKS loaded from a local file (itsm.jwt.jwks-file) holding two keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TokenTriageBenchmark {
+
+    private static final String BEARER = "Bearer ";
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    @Param({"valid", "expired", "unknownKid", "unsupportedAlg", "malformed"})
+    public String token;
+
+    private Path jwksFile;
+    private JwksKeySource jwksKeySource;
+    private TokenFormatFilter filter;
+    private String header;
+
+    @Setup
+    public void setUp() throws IOException, JOSEException {
+        jwksFile = Files.createTempFile("benchmark-jwks", ".json");
+        JWKSet keys = new JWKSet(List.of(
+                new RSAKeyGenerator(2048).keyID("benchmark").generate(),
+                new RSAKeyGenerator(2048).keyID("benchmark-previous").generate()));
+        Files.writeString(jwksFile, keys.toPublicJWKSet().toString());
+
+        RejectedTokenCache rejectedTokenCache = new RejectedTokenCache(4096, 300);
+        jwksKeySource = new JwksKeySource("http://localhost:8080/realms/itsm", jwksFile.toUri().toString(),
+                300000, 10000, 30000, new DefaultResourceLoader(), new VerifiedJwtCache(10000, 300),
+                rejectedTokenCache);
+        jwksKeySource.start();
+        filter = new TokenFormatFilter(jwksKeySource, rejectedTokenCache, 8192);
+
+        long now = System.currentTimeMillis() / 1000;
+        header = BEARER + switch (token) {
+            case "valid" -> token("RS256", "benchmark", now + 300);
+            case "expired" -> token("RS256", "benchmark", now - 3600);
+            case "unknownKid" -> token("RS256", "rotated-away", now + 300);
+            case "unsupportedAlg" -> token("HS256", "benchmark", now + 300);
+            case "malformed" -> token("RS256", "benchmark", now + 300).replace('.', '!');
+            default -> throw new IllegalArgumentException(token);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        jwksKeySource.stop();
+        Files.deleteIfExists(jwksFile);
+    }
+
+    @Benchmark
+    public Reason triage() {
+        return filter.triage(header, BEARER.length(), header.length());
+    }
+
+    /**
+     * A Keycloak-sized access token (about 1.2 KB); the signature is random, triage never checks it
+     */
+    private static String token(String alg, String kid, long exp) {
+        String headerJson = "{\"alg\":\"" + alg + "\",\"typ\":\"JWT\",\"kid\":\"" + kid + "\"}";
+        String payloadJson = "{\"exp\":" + exp + ",\"iat\":" + (exp - 300) + ",\"jti\":\"7a0c1f52-9d3e-4b8a-a6f1-0e2d4c8b9f17\","
+                + "\"iss\":\"http://localhost:8080/realms/itsm\",\"aud\":[\"itsm-api\",\"account\"],"
+                + "\"sub\":\"6f1c2a9e-3b7d-4e0a-9c51-2d8f4b7a1e03\",\"typ\":\"Bearer\",\"azp\":\"itsm-web\","
+                + "\"realm_access\":{\"roles\":[\"offline_access\",\"uma_authorization\",\"user\",\"default-roles-itsm\"]},"
+                + "\"resource_access\":{\"account\":{\"roles\":[\"manage-account\",\"view-profile\"]}},"
+                + "\"scope\":\"openid profile email\",\"email_verified\":true,\"preferred_username\":\"bench.user\","
+                + "\"given_name\":\"Bench\",\"email\":\"bench.user@example.com\",\"userTyCode\":[\"R003\"],"
+                + "\"userSttusCode\":[\"U002\"],\"deptCd\":[\"D0100\"],\"deptNm\":[\"Service Desk\"],"
+                + "\"position\":[\"Manager\"],\"classNm\":[\"Operations\"]}";
+        byte[] signature = new byte[256];
+        ThreadLocalRandom.current().nextBytes(signature);
+        return BASE64URL.encodeToString(headerJson.getBytes(StandardCharsets.UTF_8)) + "."
+                + BASE64URL.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8)) + "."
+                + BASE64URL.encodeToString(signature);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.itsm_api.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SrNoAllocator.nextSrvcRsponsNo throughput (SR numbers per second) at 1 to 16 threads sharing one
+ * allocator. reserveBlock is stubbed: it parks for reserveMicros to stand in for the TB_SRVC_RSPONS_SEQ
+ * round trip and hands out blocks from an in-memory sequence. The sequence wraps below 999 so the
+ * monthly limit is never reached; numbers repeat across wraps, which SrNoAllocatorTest (the collision
+ * check) does not allow and this benchmark does not care about.
+ *
+ * Usage: java -jar benchmarks/target/benchmarks.jar SrNoAllocator -p reserveMicros=0,1000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SrNoAllocatorBenchmark {
+
+    @Param({"20", "100"})
+    public int blockSize;
+
+    @Param({"0", "1000"})
+    public long reserveMicros;
+
+    private SrNoAllocator allocator;
+
+    private static final class StubSeqAllocator extends SrNoAllocator {
+        private final long reserveNanos;
+        private final long wrap;
+        private long nextVal = 1;
+
+        StubSeqAllocator(int blockSize, long reserveMicros) {
+            super(null, null, blockSize);
+            this.reserveNanos = TimeUnit.MICROSECONDS.toNanos(reserveMicros);
+            this.wrap = MAX_SEQ / blockSize * blockSize;
+        }
+
+        @Override
+        synchronized long reserveBlock(String seqMt, int size) {
+            if (reserveNanos > 0) {
+                LockSupport.parkNanos(reserveNanos);
+            }
+            long start = nextVal;
+            nextVal = (nextVal - 1 + size) % wrap + 1;
+            return start;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        allocator = new StubSeqAllocator(blockSize, reserveMicros);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String threads01() {
+        return allocator.nextSrvcRsponsNo();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public String threads02() {
+        return allocator.nextSrvcRsponsNo();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String threads04() {
+        return allocator.nextSrvcRsponsNo();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String threads08() {
+        return allocator.nextSrvcRsponsNo();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String threads16() {
+        return allocator.nextSrvcRsponsNo();
+    }
+}
@@ -0,0 +1,10 @@
+-- Replicate everything from the primary (GTID auto-positioning) and refuse writes from clients.
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'primary',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = '1234',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
+SET PERSIST super_read_only = ON;
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Platform vs virtual threads on GET /api/sr/list and GET /api/sr/{id}.
+# Starts the API twice from the same Java 21 build (default profile, then virtual-threads),
+# runs SrLoadTest against each and prints both summaries.
+#
+# Requires: Java 21, the database and JWKS of the target environment, and
+#   ITSM_TOKEN  bearer token of a user allowed to list SRs
+#   SR_ID       an SR number readable by that user
+# Optional: CONCURRENCY (400, above Tomcat's 200 worker threads), DURATION_S (60), WARMUP_S (15)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${ITSM_TOKEN:?ITSM_TOKEN is required}"
+: "${SR_ID:?SR_ID is required}"
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION_S=${DURATION_S:-60}
+WARMUP_S=${WARMUP_S:-15}
+
+./mvnw -q -Pjava21 clean package -DskipTests
+mvn -q -f loadtest/pom.xml compile
+JAR=$(ls target/itsm-api-*.jar | grep -v plain | head -1)
+
+run() {
+    local label=$1; shift
+    java "$@" -jar "$JAR" > "target/loadtest-$label.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null' EXIT
+    until curl -sf http://localhost:8090/api/public/health > /dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "API failed to start, see target/loadtest-$label.log"; exit 1; }
+        sleep 1
+    done
+    mvn -q -f loadtest/pom.xml exec:java -Dexec.args="--label $label --sr-id $SR_ID \
+        --concurrency $CONCURRENCY --duration-s $DURATION_S --warmup-s $WARMUP_S"
+    kill $pid; wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform
+run virtual -Djdk.tracePinnedThreads=short -Dspring.profiles.active=virtual-threads
+# -Djdk.tracePinnedThreads prints a stack per pinning, the holding frame marked "<== monitors"
+echo "Pinned frames in the virtual run: $(grep -c '<== monitors' target/loadtest-virtual.log || true)"
@@ -0,0 +1,17 @@
+#!/bin/bash
+# Runs once, from the MySQL image's /docker-entrypoint-initdb.d, after the schema scripts.
+# Sizes: SEED_SRS, SEED_REQUESTERS, SEED_HANDLERS, SEED_MANAGERS, SEED_SYSTEMS, SEED_SPAN_DAYS (see seed.sql)
+set -e
+# At most 999 SRs a month (SR-YYMM-NNN); a 31-day month gets SEED_SRS * 31 / SEED_SPAN_DAYS of them
+if (( ${SEED_SRS:-100000} * 31 > 999 * ${SEED_SPAN_DAYS:-3300} )); then
+    echo "SEED_SRS=${SEED_SRS:-100000} over SEED_SPAN_DAYS=${SEED_SPAN_DAYS:-3300} exceeds 999 SRs a month;" \
+        "raise SEED_SPAN_DAYS to at least $(( (${SEED_SRS:-100000} * 31 + 998) / 999 ))" >&2
+    exit 1
+fi
+echo "Seeding ${SEED_SRS:-100000} service requests..."
+{
+    echo "SET @sr_count = ${SEED_SRS:-100000}, @requester_count = ${SEED_REQUESTERS:-2000},"
+    echo "    @handler_count = ${SEED_HANDLERS:-40}, @manager_count = ${SEED_MANAGERS:-5},"
+    echo "    @sys_count = ${SEED_SYSTEMS:-20}, @span_days = ${SEED_SPAN_DAYS:-3300};"
+    cat /seed/seed.sql
+} | docker_process_sql --database="$MYSQL_DATABASE"
@@ -0,0 +1,148 @@
+-- Synthetic data for the load-test database. Deterministic: the same counts give the same rows.
+-- Sizes come from user variables (set by 03-seed.sh from SEED_* environment variables):
+--   @sr_count (100000)        service requests over the last @span_days (3300) days; SR numbers have three
+--                             digits per month (SrNoAllocator), so a month may hold at most 999 SRs
+--   @requester_count (2000)   R005 users user0001..    @handler_count (40)  R003 users handler001..
+--   @manager_count (5)        R001 users manager01..   @sys_count (20)      target services SYS01..
+-- The newest 20% of the SRs are spread over the open stages, older ones are finished; 1% are deleted.
+
+SET @sr_count = IFNULL(@sr_count, 100000);
+SET @span_days = IFNULL(@span_days, 3300);
+SET @requester_count = IFNULL(@requester_count, 2000);
+SET @handler_count = IFNULL(@handler_count, 40);
+SET @manager_count = IFNULL(@manager_count, 5);
+SET @sys_count = IFNULL(@sys_count, 20);
+SET SESSION cte_max_recursion_depth = GREATEST(1000, @sr_count, @requester_count);
+
+-- ==== codes ====
+
+INSERT INTO TB_CMMN_CODE_TY (CMMN_CODE_TY, CMMN_CODE_TY_NM, CMMN_CODE_TY_DC, CREAT_DT, CREAT_ID, DELETE_YN)
+VALUES ('A0', 'Target service', 'Service an SR is raised against', NOW(), 'seed', 'N'),
+       ('S0', 'Change difficulty', NULL, NOW(), 'seed', 'N'),
+       ('S1', 'SR classification', NULL, NOW(), 'seed', 'N'),
+       ('S2', 'Processing standard', NULL, NOW(), 'seed', 'N'),
+       ('S3', 'Request channel', NULL, NOW(), 'seed', 'N');
+
+INSERT INTO TB_CMMN_CODE (CMMN_CODE, CMMN_CODE_TY, CMMN_CODE_NM, CMMN_CODE_SUB_NM1, SORT_NO, CREAT_DT, CREAT_ID, DELETE_YN)
+VALUES ('D1', 'S0', 'Low', NULL, 1, NOW(), 'seed', 'N'),
+       ('D2', 'S0', 'Medium', NULL, 2, NOW(), 'seed', 'N'),
+       ('D3', 'S0', 'High', NULL, 3, NOW(), 'seed', 'N'),
+       ('C1', 'S1', 'Error', NULL, 1, NOW(), 'seed', 'N'),
+       ('C2', 'S1', 'Change', NULL, 2, NOW(), 'seed', 'N'),
+       ('C3', 'S1', 'Inquiry', NULL, 3, NOW(), 'seed', 'N'),
+       ('C4', 'S1', 'Data request', NULL, 4, NOW(), 'seed', 'N'),
+       ('P1', 'S2', 'Same day', NULL, 1, NOW(), 'seed', 'N'),
+       ('P2', 'S2', 'Within 3 days', NULL, 2, NOW(), 'seed', 'N'),
+       ('P3', 'S2', 'Scheduled', NULL, 3, NOW(), 'seed', 'N'),
+       ('B1', 'S3', 'Web', NULL, 1, NOW(), 'seed', 'N'),
+       ('B2', 'S3', 'Phone', NULL, 2, NOW(), 'seed', 'N'),
+       ('B3', 'S3', 'E-mail', NULL, 3, NOW(), 'seed', 'N');
+
+-- Every fourth service requires verification (CMMN_CODE_SUB_NM1 = 'Z1')
+INSERT INTO TB_CMMN_CODE (CMMN_CODE, CMMN_CODE_TY, CMMN_CODE_NM, CMMN_CODE_SUB_NM1, SORT_NO, CREAT_DT, CREAT_ID, DELETE_YN)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @sys_count)
+SELECT CONCAT('SYS', LPAD(n, 2, '0')), 'A0', CONCAT('Service system ', n), IF(MOD(n, 4) = 0, 'Z1', 'Z0'),
+       n, NOW(), 'seed', 'N'
+FROM seq;
+
+-- ==== users ====
+
+INSERT INTO TB_LOGIN_INFO (USER_ID, USER_NM, CREAT_DT, UPDT_DT)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @requester_count)
+SELECT CONCAT('user', LPAD(n, 4, '0')), CONCAT('Requester ', n), NOW() - INTERVAL 800 DAY, NULL
+FROM seq;
+
+INSERT INTO TB_LOGIN_INFO (USER_ID, USER_NM, CREAT_DT, UPDT_DT)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @handler_count)
+SELECT CONCAT('handler', LPAD(n, 3, '0')), CONCAT('Handler ', n), NOW() - INTERVAL 800 DAY, NULL
+FROM seq;
+
+INSERT INTO TB_LOGIN_INFO (USER_ID, USER_NM, CREAT_DT, UPDT_DT)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @manager_count)
+SELECT CONCAT('manager', LPAD(n, 2, '0')), CONCAT('Manager ', n), NOW() - INTERVAL 800 DAY, NULL
+FROM seq;
+
+-- Each service has two handlers: handler (s mod H) and the one half the handler list further on
+INSERT IGNORE INTO TB_SYS_CHARGER (USER_ID, SYS_CODE)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @sys_count)
+SELECT CONCAT('handler', LPAD(1 + MOD(n - 1 + k * (@handler_count DIV 2), @handler_count), 3, '0')),
+       CONCAT('SYS', LPAD(n, 2, '0'))
+FROM seq CROSS JOIN (SELECT 0 AS k UNION ALL SELECT 1) shift;
+
+-- ==== service requests ====
+
+INSERT INTO TB_SRVC_RSPONS (
+    SRVC_RSPONS_NO, REQUST_DT, PROCESS_MT, RQESTER_1ST_NM, RQESTER_1ST_PSITN, RQESTER_1ST_CTTPC,
+    RQESTER_1ST_EMAIL, RQESTER_ID, RQESTER_NM, RQESTER_PSITN, RQESTER_CTTPC, RQESTER_EMAIL,
+    TRGET_SRVC_CODE, SRVC_RSPONS_BASIS_CODE, SRVC_RSPONS_SJ, SRVC_RSPONS_CN,
+    RSPONS_1ST_DT, CHANGE_DFFLY_CODE, SRVC_RSPONS_CL_CODE, PROCESS_STDR_CODE, PROCESS_TERM,
+    SRVC_PROCESS_DTLS, PROCESS_DT, DATA_UPDT_YN, PROGRM_UPDT_YN, STOP_INSTL_YN, NONE_STOP_INSTL_YN,
+    INSTL_YN, INFRA_OPERT_YN, CHARGER_ID, CNFRMR_ID, VERIFY_YN, VERIFY_DT, VERIFY_ID, SRVC_VERIFY_DTLS,
+    FINISH_DT, FINISH_ID, SRVC_FIN_DTLS, REF_IDS, DELETE_YN, CREAT_DT, CREAT_ID, UPDT_DT, UPDT_ID)
+WITH RECURSIVE seq (i) AS (
+    SELECT 1 UNION ALL SELECT i + 1 FROM seq WHERE i < @sr_count
+), base AS (
+    SELECT i,
+           NOW() - INTERVAL ((@sr_count - i) * @span_days * 1440 DIV @sr_count) MINUTE AS requst_dt,
+           1 + MOD(i * 7919, @requester_count) AS requester,
+           1 + MOD(i * 104729, @requester_count) AS ref,
+           1 + MOD(i, @sys_count) AS sys,
+           -- 0 request, 1 processing, 2 waiting for verification, 3 waiting for finish, 4 finished
+           CASE WHEN i <= @sr_count * 0.8 THEN 4
+                ELSE ELT(1 + MOD(i * 37, 10), 0, 0, 0, 1, 1, 2, 2, 3, 4, 4) END AS stage
+    FROM seq
+), sr AS (
+    SELECT base.*,
+           DATE_FORMAT(requst_dt, '%y%m') AS mt,
+           ROW_NUMBER() OVER (PARTITION BY DATE_FORMAT(requst_dt, '%y%m') ORDER BY i) AS mt_seq,
+           CONCAT('user', LPAD(requester, 4, '0')) AS rqester_id,
+           CONCAT('SYS', LPAD(sys, 2, '0')) AS sys_code,
+           CONCAT('handler', LPAD(1 + MOD(sys - 1 + MOD(i, 2) * (@handler_count DIV 2), @handler_count), 3, '0')) AS charger_id,
+           CONCAT('manager', LPAD(1 + MOD(i, @manager_count), 2, '0')) AS manager_id
+    FROM base
+)
+SELECT CONCAT('SR-', mt, '-', LPAD(mt_seq, 3, '0')),
+       requst_dt, DATE_FORMAT(requst_dt, '%Y%m'),
+       CONCAT('Requester ', requester), 'Staff', CONCAT('010-', LPAD(requester, 4, '0'), '-0000'),
+       CONCAT(rqester_id, '@example.com'),
+       rqester_id, CONCAT('Requester ', requester), 'Staff', CONCAT('010-', LPAD(requester, 4, '0'), '-0000'),
+       CONCAT(rqester_id, '@example.com'),
+       sys_code, ELT(1 + MOD(i, 3), 'B1', 'B2', 'B3'),
+       CONCAT(ELT(1 + MOD(i, 8), 'Password reset', 'Report export fails', 'New account', 'Screen error',
+                  'Data correction', 'Permission change', 'Slow response', 'Batch job failed'), ' #', i),
+       CONCAT('Synthetic service request ', i, ' raised against ', sys_code, '. ',
+              REPEAT('Steps to reproduce, expected and actual result are described here. ', 1 + MOD(i, 5))),
+       IF(stage >= 1, requst_dt + INTERVAL 2 HOUR, NULL),
+       IF(stage >= 1, ELT(1 + MOD(i, 3), 'D1', 'D2', 'D3'), NULL),
+       IF(stage >= 1, ELT(1 + MOD(i, 4), 'C1', 'C2', 'C3', 'C4'), NULL),
+       IF(stage >= 1, ELT(1 + MOD(i, 3), 'P1', 'P2', 'P3'), NULL),
+       IF(stage >= 1, '1 day', NULL),
+       IF(stage >= 2, CONCAT('Processed: ', REPEAT('work carried out and checked. ', 1 + MOD(i, 3))), NULL),
+       IF(stage >= 2, requst_dt + INTERVAL 1 DAY, NULL),
+       IF(stage >= 2, IF(MOD(i, 5) = 0, 'Y', 'N'), NULL),
+       IF(stage >= 2, IF(MOD(i, 7) = 0, 'Y', 'N'), NULL),
+       IF(stage >= 2, 'N', NULL),
+       IF(stage >= 2, IF(MOD(i, 11) = 0, 'Y', 'N'), NULL),
+       IF(stage >= 2, IF(MOD(i, 13) = 0, 'Y', 'N'), NULL),
+       IF(stage >= 2, IF(MOD(i, 17) = 0, 'Y', 'N'), NULL),
+       IF(stage >= 1, charger_id, NULL),
+       IF(stage >= 1, manager_id, NULL),
+       IF(stage >= 1, IF(MOD(sys, 4) = 0, 'Y', 'N'), NULL),
+       IF(stage >= 3, requst_dt + INTERVAL 2 DAY, NULL),
+       IF(stage >= 3, manager_id, NULL),
+       IF(stage >= 3, 'Verified', NULL),
+       IF(stage >= 4, requst_dt + INTERVAL 3 DAY, NULL),
+       IF(stage >= 4, manager_id, NULL),
+       IF(stage >= 4, 'Closed', NULL),
+       IF(MOD(i, 10) = 0 AND ref <> requester, CONCAT('user', LPAD(ref, 4, '0')), NULL),
+       IF(MOD(i, 97) = 0, 'Y', 'N'),
+       requst_dt, rqester_id, requst_dt, rqester_id
+FROM sr;
+
+-- Requester / reference rows of the R005 list (what SrRefService keeps in sync for new SRs)
+INSERT IGNORE INTO TB_SRVC_RSPONS_REF (USER_ID, SRVC_RSPONS_NO)
+SELECT RQESTER_ID, SRVC_RSPONS_NO FROM TB_SRVC_RSPONS
+UNION ALL
+SELECT REF_IDS, SRVC_RSPONS_NO FROM TB_SRVC_RSPONS WHERE REF_IDS IS NOT NULL;
+
+ANALYZE TABLE TB_SRVC_RSPONS, TB_SRVC_RSPONS_REF, TB_LOGIN_INFO, TB_SYS_CHARGER, TB_CMMN_CODE;
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Per-role scenarios (requester R005, handler R003, manager R001) at fixed arrival rates, then
+# 1,000 SRs received through POST /api/sr/batch/receive compared with 1,000 PUT /api/sr/{id}/receive calls.
+# Starts the seeded MySQL (docker-compose.yml), writes a signing key for TokenMinter, runs the API
+# with the loadtest profile (that key instead of Keycloak) and drives it with SrScenarioLoadTest.
+#
+# Requires: Java 21, Docker
+# Optional: RATE_SCALE (1.0, multiplies every scenario's rate), DURATION_S (120), WARMUP_S (30),
+#   LABEL (run), SCENARIOS (see SrScenarioLoadTest.DEFAULT_SCENARIOS), SEED_* (docker-compose.yml),
+#   BATCH_ROUNDS (10, 0 skips the batch comparison), BATCH_SIZE (1000), BATCH_CONCURRENCY (8)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RATE_SCALE=${RATE_SCALE:-1.0}
+DURATION_S=${DURATION_S:-120}
+WARMUP_S=${WARMUP_S:-30}
+LABEL=${LABEL:-run}
+BATCH_ROUNDS=${BATCH_ROUNDS:-10}
+BATCH_SIZE=${BATCH_SIZE:-1000}
+BATCH_CONCURRENCY=${BATCH_CONCURRENCY:-8}
+
+docker compose -f loadtest/docker-compose.yml up -d --wait
+./mvnw -q clean package -DskipTests
+mvn -q -f loadtest/pom.xml compile
+mvn -q -f loadtest/pom.xml exec:java -Dexec.mainClass=com.example.itsm_api.loadtest.TokenMinter \
+    -Dexec.args="keys --dir loadtest/target/jwks"
+JAR=$(ls target/itsm-api-*.jar | grep -v plain | head -1)
+
+java -jar "$JAR" --spring.profiles.active=loadtest > "target/loadtest-$LABEL.log" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null' EXIT
+until curl -sf http://localhost:8090/api/public/health > /dev/null; do
+    kill -0 $pid 2>/dev/null || { echo "API failed to start, see target/loadtest-$LABEL.log"; exit 1; }
+    sleep 1
+done
+
+mvn -q -f loadtest/pom.xml exec:java -Dexec.mainClass=com.example.itsm_api.loadtest.SrScenarioLoadTest \
+    -Dexec.args="--label $LABEL --rate-scale $RATE_SCALE --duration-s $DURATION_S --warmup-s $WARMUP_S \
+    --batch-rounds $BATCH_ROUNDS --batch-size $BATCH_SIZE --batch-concurrency $BATCH_CONCURRENCY \
+    ${SCENARIOS:+--scenarios $SCENARIOS}"
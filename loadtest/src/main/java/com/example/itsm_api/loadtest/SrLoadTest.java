@@ -0,0 +1,154 @@
+package com.example.itsm_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load driver for the SR read endpoints.
+ *
+ * Each of --concurrency workers (virtual threads, so the driver itself is never the bottleneck)
+ * repeatedly calls GET /api/sr/list or GET /api/sr/{id} (--list-ratio of the calls go to the list)
+ * with the given bearer token. After --warmup-s seconds, latencies are recorded for --duration-s
+ * seconds and a summary per endpoint is printed: calls, errors, throughput, p50 / p99 / max.
+ *
+ * Usage:
+ *   mvn -f loadtest/pom.xml -q compile exec:java -Dexec.args="--token $TOKEN --sr-id SR-2501-001"
+ *
+ * Options (defaults in brackets):
+ *   --base-url [http://localhost:8090]  --token [$ITSM_TOKEN]  --sr-id (required for /api/sr/{id})
+ *   --concurrency [400]  --duration-s [60]  --warmup-s [15]  --list-ratio [0.5]  --label [run]
+ */
+public final class SrLoadTest {
+
+    private static final String LIST = "GET /api/sr/list";
+    private static final String DETAIL = "GET /api/sr/{id}";
+
+    private SrLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8090");
+        String token = options.getOrDefault("token", System.getenv("ITSM_TOKEN"));
+        String srId = options.get("sr-id");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        long durationMs = Long.parseLong(options.getOrDefault("duration-s", "60")) * 1000;
+        long warmupMs = Long.parseLong(options.getOrDefault("warmup-s", "15")) * 1000;
+        double listRatio = srId == null ? 1.0 : Double.parseDouble(options.getOrDefault("list-ratio", "0.5"));
+        String label = options.getOrDefault("label", "run");
+        if (token == null || token.isBlank()) {
+            System.err.println("--token (or ITSM_TOKEN) is required");
+            System.exit(2);
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest list = request(baseUrl + "/api/sr/list?size=15", token);
+        HttpRequest detail = srId == null ? null : request(baseUrl + "/api/sr/" + srId, token);
+
+        long start = System.currentTimeMillis();
+        long measureFrom = start + warmupMs;
+        long end = measureFrom + durationMs;
+        System.out.printf(Locale.ROOT, "[%s] %d workers, warmup %ds, measure %ds against %s%n",
+                label, concurrency, warmupMs / 1000, durationMs / 1000, baseUrl);
+
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> new Worker().run(client, list, detail, listRatio, measureFrom, end)));
+            }
+        }
+
+        LatencyStats listStats = new LatencyStats();
+        LatencyStats detailStats = new LatencyStats();
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            listStats.merge(worker.list);
+            detailStats.merge(worker.detail);
+        }
+        double seconds = durationMs / 1000.0;
+        System.out.printf(Locale.ROOT, "%-8s %-18s %9s %7s %9s %9s %9s %9s%n",
+                "label", "endpoint", "calls", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        print(label, LIST, listStats, seconds);
+        if (detail != null) {
+            print(label, DETAIL, detailStats, seconds);
+        }
+    }
+
+    private static void print(String label, String endpoint, LatencyStats stats, double seconds) {
+        long[] sorted = stats.sorted();
+        System.out.printf(Locale.ROOT, "%-8s %-18s %9d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                label, endpoint, stats.count(), stats.errors(), stats.count() / seconds,
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.50)),
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.99)),
+                LatencyStats.millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+
+    private static HttpRequest request(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    /**
+     * --name value pairs
+     */
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /** One closed-loop client; its latencies are only touched by its own thread */
+    private static final class Worker {
+        private final LatencyStats list = new LatencyStats();
+        private final LatencyStats detail = new LatencyStats();
+
+        Worker run(HttpClient client, HttpRequest listRequest, HttpRequest detailRequest, double listRatio,
+                   long measureFrom, long end) {
+            while (true) {
+                boolean isList = detailRequest == null || ThreadLocalRandom.current().nextDouble() < listRatio;
+                long t0 = System.nanoTime();
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(isList ? listRequest : detailRequest,
+                            HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() == 200;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return this;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long now = System.currentTimeMillis();
+                if (now >= end) {
+                    return this;
+                }
+                if (now >= measureFrom) {
+                    (isList ? list : detail).record(System.nanoTime() - t0, ok);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.itsm_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop scenario driver: each scenario (role + operation) sends requests at a fixed arrival rate,
+ * whatever the response times, as real users do. Latency is measured from the intended send time, so a
+ * backlog in the API (or the driver) shows up in the percentiles instead of silently lowering the load.
+ *
+ * Users and tokens: requests of role R005 / R003 / R001 are spread over users user0001.. /
+ * handler001.. / manager01.. (the users seed.sql creates), with tokens signed by TokenMinter.
+ * Target SRs are read once at startup through the API: per stage with a manager token, and each
+ * requester's own SRs with that requester's token. The API does not check stage order, so a target
+ * moved on by an earlier transition still exercises the same statements.
+ *
+ * Operations:
+ *   list      GET  /api/sr/list?size=15 (R003: stage RECEIVE or PROCESS, R001: any stage)
+ *   detail    GET  /api/sr/{id} (R005: own SRs)
+ *   create    POST /api/sr/create
+ *   receive   PUT  /api/sr/{id}/receive        (REQUEST stage)
+ *   response  PUT  /api/sr/{id}/response-1st   (REQUEST stage)
+ *   process   PUT  /api/sr/{id}/process        (PROCESS stage)
+ *   verify    PUT  /api/sr/{id}/verify         (VERIFY stage)
+ *   finish    PUT  /api/sr/{id}/finish         (FINISH stage)
+ *
+ * Batch comparison (after the scenarios, unless --batch-rounds 0): each round receives the same
+ * --batch-size REQUEST-stage SRs as a handler, once as one POST /api/sr/batch/receive and once as
+ * --batch-size PUT /api/sr/{id}/receive calls from --batch-concurrency workers (closed loop). Output per
+ * path: calls, errors, req/s, SRs/s and latency percentiles of the calls.
+ *
+ * Usage (see run-scenarios.sh, which also starts the database and the API):
+ *   mvn -f loadtest/pom.xml -q compile exec:java \
+ *       -Dexec.mainClass=com.example.itsm_api.loadtest.SrScenarioLoadTest -Dexec.args="--rate-scale 2"
+ *
+ * Options (defaults in brackets):
+ *   --base-url [http://localhost:8090]  --keys [loadtest/target/jwks]  --scenarios [DEFAULT_SCENARIOS]
+ *   --rate-scale [1.0]  --duration-s [120]  --warmup-s [30]  --label [run]
+ *   --requesters [200]  --handlers [40]  --managers [5]   (at most the seeded counts)
+ *   --batch-rounds [10]  --batch-size [1000]  --batch-concurrency [8]
+ */
+public final class SrScenarioLoadTest {
+
+    /** role:operation=requests per second */
+    static final String DEFAULT_SCENARIOS = "R005:list=20,R005:detail=20,R005:create=2,"
+            + "R003:list=10,R003:detail=10,R003:receive=2,R003:process=2,"
+            + "R001:list=5,R001:detail=5,R001:verify=1,R001:finish=1";
+
+    private static final String[] ALL_STAGES = {"ALL", "REQUEST", "RECEIVE", "PROCESS", "VERIFY", "FINISH", "EVALUATE"};
+    private static final String[] HANDLER_STAGES = {"RECEIVE", "PROCESS"};
+    private static final Pattern ROW = Pattern.compile("\\{[^{}]*\"srvcRsponsNo\":\"[^\"]+\"[^{}]*}");
+    private static final Pattern SR_NO = Pattern.compile("\"srvcRsponsNo\":\"([^\"]+)\"");
+    private static final Pattern TARGET = Pattern.compile("\"trgetSrvcCode\":\"([^\"]+)\"");
+    private static final Pattern NO_FAILURES = Pattern.compile("\"failed\":0[,}]");
+    private static final String RECEIVE_FIELDS = "\"srvcRsponsBasisCode\":\"B1\",\"cnfrmrId\":\"manager01\","
+            + "\"srvcRsponsClCode\":\"C1\",\"processStdrCode\":\"P2\",\"processTerm\":\"1 day\",\"verifyYn\":\"N\"";
+
+    enum Operation { LIST, DETAIL, CREATE, RECEIVE, RESPONSE, PROCESS, VERIFY, FINISH }
+
+    /** Stage whose SRs an operation targets (read with a manager token at startup) */
+    private static final Map<Operation, String> TARGET_STAGE = new EnumMap<>(Map.of(
+            Operation.RECEIVE, "REQUEST", Operation.RESPONSE, "REQUEST", Operation.PROCESS, "PROCESS",
+            Operation.VERIFY, "VERIFY", Operation.FINISH, "FINISH"));
+
+    record Sr(String no, String trgetSrvcCode) {
+    }
+
+    record Scenario(String role, Operation operation, double rate, LatencyStats stats) {
+        String name() {
+            return role + ":" + operation.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+    private final TokenMinter minter;
+    private final Map<String, List<String>> users;
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, List<Sr>> stagePools = new ConcurrentHashMap<>();
+    private final Map<String, List<Sr>> ownSrs = new ConcurrentHashMap<>();
+    private final AtomicLong created = new AtomicLong();
+
+    private SrScenarioLoadTest(String baseUrl, TokenMinter minter, Map<String, List<String>> users) {
+        this.baseUrl = baseUrl;
+        this.minter = minter;
+        this.users = users;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = SrLoadTest.parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8090");
+        double rateScale = Double.parseDouble(options.getOrDefault("rate-scale", "1.0"));
+        long durationMs = Long.parseLong(options.getOrDefault("duration-s", "120")) * 1000;
+        long warmupMs = Long.parseLong(options.getOrDefault("warmup-s", "30")) * 1000;
+        String label = options.getOrDefault("label", "run");
+        List<Scenario> scenarios = scenarios(options.getOrDefault("scenarios", DEFAULT_SCENARIOS), rateScale);
+
+        Map<String, List<String>> users = Map.of(
+                "R005", userIds("user", 4, Integer.parseInt(options.getOrDefault("requesters", "200"))),
+                "R003", userIds("handler", 3, Integer.parseInt(options.getOrDefault("handlers", "40"))),
+                "R001", userIds("manager", 2, Integer.parseInt(options.getOrDefault("managers", "5"))));
+        TokenMinter minter = TokenMinter.load(Path.of(options.getOrDefault("keys", "loadtest/target/jwks")));
+        SrScenarioLoadTest test = new SrScenarioLoadTest(baseUrl, minter, users);
+
+        test.loadTargets(scenarios);
+        test.run(scenarios, label, warmupMs, durationMs);
+
+        int batchRounds = Integer.parseInt(options.getOrDefault("batch-rounds", "10"));
+        if (batchRounds > 0) {
+            test.compareBatch(label, batchRounds, Integer.parseInt(options.getOrDefault("batch-size", "1000")),
+                    Integer.parseInt(options.getOrDefault("batch-concurrency", "8")));
+        }
+    }
+
+    /**
+     * Read the SRs the scenarios act on: stage pools with a manager token, each requester's own SRs
+     */
+    private void loadTargets(List<Scenario> scenarios) throws Exception {
+        String manager = users.get("R001").get(0);
+        stagePools.put("ALL", listSrs(manager, "R001", "ALL"));
+        for (Scenario scenario : scenarios) {
+            String stage = TARGET_STAGE.get(scenario.operation());
+            if (stage != null && !stagePools.containsKey(stage)) {
+                stagePools.put(stage, listSrs(manager, "R001", stage));
+            }
+        }
+        boolean requesterDetail = scenarios.stream()
+                .anyMatch(s -> s.role().equals("R005") && s.operation() == Operation.DETAIL);
+        if (requesterDetail) {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (String user : users.get("R005")) {
+                    executor.submit(() -> {
+                        ownSrs.put(user, listSrs(user, "R005", "ALL"));
+                        return null;
+                    });
+                }
+            }
+        }
+        stagePools.forEach((stage, srs) -> System.out.printf(Locale.ROOT, "targets %-8s %d SRs%n", stage, srs.size()));
+        if (requesterDetail) {
+            System.out.printf(Locale.ROOT, "targets own      %d SRs of %d requesters%n",
+                    ownSrs.values().stream().mapToInt(List::size).sum(), ownSrs.size());
+        }
+    }
+
+    private List<Sr> listSrs(String user, String role, String stage) throws Exception {
+        HttpResponse<String> response = client.send(get("/api/sr/list?size=1000&count=none&stage=" + stage, user, role),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/sr/list as " + user + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        // Rows of SrvcRsponsVO are flat JSON objects (no nested objects), one match per row
+        List<Sr> srs = new ArrayList<>();
+        Matcher row = ROW.matcher(response.body());
+        while (row.find()) {
+            Matcher no = SR_NO.matcher(row.group());
+            Matcher target = TARGET.matcher(row.group());
+            if (no.find()) {
+                srs.add(new Sr(no.group(1), target.find() ? target.group(1) : null));
+            }
+        }
+        return srs;
+    }
+
+    private void run(List<Scenario> scenarios, String label, long warmupMs, long durationMs) {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        System.out.printf(Locale.ROOT, "[%s] %d scenarios, %.1f req/s in total, warmup %ds, measure %ds against %s%n",
+                label, scenarios.size(), scenarios.stream().mapToDouble(Scenario::rate).sum(),
+                warmupMs / 1000, durationMs / 1000, baseUrl);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService dispatchers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Scenario scenario : scenarios) {
+                dispatchers.submit(() -> dispatch(scenario, requests, start, measureFrom, end));
+            }
+            dispatchers.shutdown();
+            dispatchers.awaitTermination(end - start + TimeUnit.SECONDS.toNanos(10), TimeUnit.NANOSECONDS);
+            // closing requests waits for the calls still in flight
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        double seconds = durationMs / 1000.0;
+        System.out.printf(Locale.ROOT, "%-8s %-14s %8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "label", "scenario", "target/s", "calls", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        LatencyStats total = new LatencyStats();
+        for (Scenario scenario : scenarios) {
+            print(label, scenario.name(), scenario.rate(), scenario.stats(), seconds);
+            total.merge(scenario.stats());
+        }
+        print(label, "total", scenarios.stream().mapToDouble(Scenario::rate).sum(), total, seconds);
+        if (created.get() > 0) {
+            System.out.printf(Locale.ROOT, "[%s] %d SRs created%n", label, created.get());
+        }
+    }
+
+    /**
+     * Submit the scenario's requests at its fixed rate from start to end; only those intended within
+     * [measureFrom, end) are recorded
+     */
+    private void dispatch(Scenario scenario, ExecutorService requests, long start, long measureFrom, long end) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate());
+        // Spread the scenarios' first requests so they do not all fire on the same tick
+        long intended = start + ThreadLocalRandom.current().nextLong(interval);
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            long sendAt = intended;
+            requests.submit(() -> {
+                boolean ok = call(scenario);
+                if (sendAt >= measureFrom) {
+                    synchronized (scenario.stats()) {
+                        scenario.stats().record(System.nanoTime() - sendAt, ok);
+                    }
+                }
+            });
+            intended += interval;
+        }
+    }
+
+    private boolean call(Scenario scenario) {
+        String role = scenario.role();
+        String user = pick(users.get(role));
+        try {
+            HttpRequest request = switch (scenario.operation()) {
+                case LIST -> get("/api/sr/list?size=15" + switch (role) {
+                    case "R005" -> "";
+                    case "R003" -> "&stage=" + pick(HANDLER_STAGES);
+                    default -> "&stage=" + pick(ALL_STAGES);
+                }, user, role);
+                case DETAIL -> {
+                    List<Sr> own = role.equals("R005") ? ownSrs.get(user) : null;
+                    yield get("/api/sr/" + pick(own != null && !own.isEmpty() ? own : stagePools.get("ALL")).no(), user, role);
+                }
+                case CREATE -> send("POST", "/api/sr/create", user, role,
+                        "{\"trgetSrvcCode\":\"SYS" + String.format("%02d", 1 + ThreadLocalRandom.current().nextInt(20))
+                                + "\",\"srvcRsponsBasisCode\":\"B1\",\"srvcRsponsSj\":\"Load test request\","
+                                + "\"srvcRsponsCn\":\"Created by SrScenarioLoadTest to measure the create path.\"}");
+                case RECEIVE -> receive(target(Operation.RECEIVE), user, role);
+                case RESPONSE -> send("PUT", "/api/sr/" + target(Operation.RESPONSE).no() + "/response-1st", user, role,
+                        "{\"changeDfflyCode\":\"D2\",\"srvcRsponsClCode\":\"C1\",\"processStdrCode\":\"P2\",\"processTerm\":\"1 day\"}");
+                case PROCESS -> send("PUT", "/api/sr/" + target(Operation.PROCESS).no() + "/process", user, role,
+                        "{\"changeDfflyCode\":\"D2\",\"srvcRsponsClCode\":\"C1\",\"processStdrCode\":\"P2\","
+                                + "\"srvcRsponsBasisCode\":\"B1\",\"srvcProcessDtls\":\"Processed by the load test.\"}");
+                case VERIFY -> send("PUT", "/api/sr/" + target(Operation.VERIFY).no() + "/verify", user, role,
+                        "{\"srvcVerifyDtls\":\"Verified by the load test.\"}");
+                case FINISH -> send("PUT", "/api/sr/" + target(Operation.FINISH).no() + "/finish", user, role,
+                        "{\"srvcFinDtls\":\"Closed by the load test.\"}");
+            };
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            boolean ok = response.statusCode() / 100 == 2;
+            if (ok && scenario.operation() == Operation.CREATE) {
+                created.incrementAndGet();
+            }
+            return ok;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest receive(Sr sr, String user, String role) {
+        return send("PUT", "/api/sr/" + sr.no() + "/receive", user, role,
+                "{\"trgetSrvcCode\":" + quote(sr.trgetSrvcCode()) + "," + RECEIVE_FIELDS + "}");
+    }
+
+    /**
+     * Receive the same SRs through the batch endpoint and through single calls, alternating per round
+     * so both see the same database state, and print both results
+     */
+    private void compareBatch(String label, int rounds, int size, int concurrency) throws Exception {
+        String handler = users.get("R003").get(0);
+        List<Sr> pool = stagePools.containsKey("REQUEST") ? stagePools.get("REQUEST")
+                : listSrs(users.get("R001").get(0), "R001", "REQUEST");
+        List<Sr> srs = pool.subList(0, Math.min(size, pool.size()));
+        if (srs.isEmpty()) {
+            System.out.printf(Locale.ROOT, "[%s] batch comparison skipped: no SRs in the REQUEST stage%n", label);
+            return;
+        }
+        StringBuilder items = new StringBuilder("[");
+        for (Sr sr : srs) {
+            items.append(items.length() > 1 ? "," : "").append("{\"srvcRsponsNo\":").append(quote(sr.no()))
+                    .append(",\"trgetSrvcCode\":").append(quote(sr.trgetSrvcCode())).append(',').append(RECEIVE_FIELDS).append('}');
+        }
+        String batchBody = items.append(']').toString();
+        System.out.printf(Locale.ROOT, "[%s] batch comparison: %d rounds of %d SRs, single calls from %d workers%n",
+                label, rounds, srs.size(), concurrency);
+
+        LatencyStats batch = new LatencyStats();
+        LatencyStats single = new LatencyStats();
+        long batchNanos = 0;
+        long singleNanos = 0;
+        // Round 0 warms both paths up and is not recorded
+        for (int round = 0; round <= rounds; round++) {
+            LatencyStats batchRound = new LatencyStats();
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(send("POST", "/api/sr/batch/receive", handler, "R003", batchBody),
+                    HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            batchRound.record(elapsed, response.statusCode() == 200 && NO_FAILURES.matcher(response.body()).find());
+
+            LatencyStats singleRound = new LatencyStats();
+            start = System.nanoTime();
+            receiveEach(srs, handler, concurrency, singleRound);
+            long singleElapsed = System.nanoTime() - start;
+
+            if (round > 0) {
+                batch.merge(batchRound);
+                batchNanos += elapsed;
+                single.merge(singleRound);
+                singleNanos += singleElapsed;
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%-8s %-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                "label", "path", "calls", "errors", "req/s", "SRs/s", "p50 ms", "p99 ms", "max ms");
+        printBatch(label, "batch", batch, (long) rounds * srs.size(), batchNanos);
+        printBatch(label, "single", single, (long) rounds * srs.size(), singleNanos);
+    }
+
+    /**
+     * PUT /{id}/receive for each SR from concurrency workers, each sending its next call when the previous returns
+     */
+    private void receiveEach(List<Sr> srs, String handler, int concurrency, LatencyStats stats) throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        List<LatencyStats> perWorker = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                LatencyStats own = new LatencyStats();
+                perWorker.add(own);
+                workers.submit(() -> {
+                    for (long i = next.getAndIncrement(); i < srs.size(); i = next.getAndIncrement()) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(receive(srs.get((int) i), handler, "R003"),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        own.record(System.nanoTime() - start, ok);
+                    }
+                    return null;
+                });
+            }
+        }
+        perWorker.forEach(stats::merge);
+    }
+
+    private Sr target(Operation operation) {
+        List<Sr> pool = stagePools.get(TARGET_STAGE.get(operation));
+        return pick(pool.isEmpty() ? stagePools.get("ALL") : pool);
+    }
+
+    private HttpRequest get(String path, String user, String role) {
+        return builder(path, user, role).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String user, String role, String json) {
+        return builder(path, user, role)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String user, String role) {
+        // One token per user for the whole run (valid for 6 hours), as a client would reuse it
+        String token = tokens.computeIfAbsent(user, u -> minter.mint(u, role, TimeUnit.HOURS.toSeconds(6)));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    static List<Scenario> scenarios(String spec, double rateScale) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String item : spec.split(",")) {
+            String[] roleAndRest = item.trim().split(":", 2);
+            String[] operationAndRate = roleAndRest[1].split("=", 2);
+            double rate = Double.parseDouble(operationAndRate[1]) * rateScale;
+            if (rate > 0) {
+                scenarios.add(new Scenario(roleAndRest[0], Operation.valueOf(operationAndRate[0].toUpperCase(Locale.ROOT)),
+                        rate, new LatencyStats()));
+            }
+        }
+        return scenarios;
+    }
+
+    private static List<String> userIds(String prefix, int digits, int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ids.add(prefix + String.format("%0" + digits + "d", i));
+        }
+        return ids;
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String pick(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + value + "\"";
+    }
+
+    private static void printBatch(String label, String path, LatencyStats stats, long srs, long nanos) {
+        long[] sorted = stats.sorted();
+        double seconds = nanos / 1e9;
+        System.out.printf(Locale.ROOT, "%-8s %-14s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                label, path, stats.count(), stats.errors(), stats.count() / seconds, srs / seconds,
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.50)),
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.99)),
+                LatencyStats.millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+
+    private static void print(String label, String scenario, double rate, LatencyStats stats, double seconds) {
+        long[] sorted = stats.sorted();
+        System.out.printf(Locale.ROOT, "%-8s %-14s %8.1f %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                label, scenario, rate, stats.count(), stats.errors(), stats.count() / seconds,
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.50)),
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.90)),
+                LatencyStats.millis(LatencyStats.percentile(sorted, 0.99)),
+                LatencyStats.millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+}
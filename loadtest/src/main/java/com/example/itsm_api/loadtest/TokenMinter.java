@@ -0,0 +1,124 @@
+package com.example.itsm_api.loadtest;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Local stand-in for Keycloak: an RS256 signing key and access tokens shaped like the itsm realm's.
+ *
+ * "keys" writes signing-key.der (PKCS#8, stays with the driver) and jwks.json (public key, read by the
+ * API through itsm.jwt.jwks-file, see application-loadtest.yml). Tokens carry the claims
+ * CustomUserPrincipal reads: preferred_username (= user ID), userTyCode, userSttusCode, deptCd,
+ * realm_access.roles, with iss = ISSUER.
+ *
+ * Usage:
+ *   mvn -f loadtest/pom.xml -q compile exec:java -Dexec.mainClass=com.example.itsm_api.loadtest.TokenMinter \
+ *       -Dexec.args="keys --dir loadtest/target/jwks"
+ *   ... -Dexec.args="mint --dir loadtest/target/jwks --user user0001 --role R005"
+ */
+public final class TokenMinter {
+
+    /** Must match spring.security.oauth2.resourceserver.jwt.issuer-uri of the loadtest profile */
+    public static final String ISSUER = "http://localhost/realms/itsm-loadtest";
+    private static final String KEY_ID = "loadtest";
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final PrivateKey signingKey;
+    private final String header;
+
+    private TokenMinter(PrivateKey signingKey) {
+        this.signingKey = signingKey;
+        this.header = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + KEY_ID + "\"}");
+    }
+
+    /**
+     * Generate a new key pair into dir (signing-key.der, jwks.json), replacing an existing one
+     */
+    public static void writeKeys(Path dir) throws IOException, GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair pair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) pair.getPublic();
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("signing-key.der"), pair.getPrivate().getEncoded());
+        Files.writeString(dir.resolve("jwks.json"), "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\","
+                + "\"kid\":\"" + KEY_ID + "\",\"n\":\"" + unsigned(publicKey.getModulus())
+                + "\",\"e\":\"" + unsigned(publicKey.getPublicExponent()) + "\"}]}");
+    }
+
+    /**
+     * @return a minter signing with the key written by writeKeys into dir
+     */
+    public static TokenMinter load(Path dir) throws IOException, GeneralSecurityException {
+        byte[] der = Files.readAllBytes(dir.resolve("signing-key.der"));
+        return new TokenMinter(KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(der)));
+    }
+
+    /**
+     * @param userTyCode R001 (manager), R003 (handler), R005 (requester)
+     * @return signed access token for userId, valid for ttlSeconds
+     */
+    public String mint(String userId, String userTyCode, long ttlSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        String payload = "{\"exp\":" + (now + ttlSeconds) + ",\"iat\":" + now
+                + ",\"iss\":\"" + ISSUER + "\",\"sub\":\"" + userId + "\",\"typ\":\"Bearer\",\"azp\":\"itsm-web\""
+                + ",\"preferred_username\":\"" + userId + "\",\"email\":\"" + userId + "@example.com\""
+                + ",\"given_name\":\"" + userId + "\",\"userTyCode\":[\"" + userTyCode + "\"]"
+                + ",\"userSttusCode\":[\"U002\"],\"deptCd\":[\"D0100\"]"
+                + ",\"realm_access\":{\"roles\":[\"offline_access\",\"uma_authorization\",\"user\"]}}";
+        String signingInput = header + "." + encode(payload);
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(signingKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + BASE64URL.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token", e);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: keys --dir DIR | mint --dir DIR --user ID --role R001|R003|R005 [--ttl-s 3600]");
+            System.exit(2);
+        }
+        Map<String, String> options = SrLoadTest.parse(Arrays.copyOfRange(args, 1, args.length));
+        Path dir = Path.of(options.getOrDefault("dir", "loadtest/target/jwks"));
+        switch (args[0]) {
+            case "keys" -> {
+                writeKeys(dir);
+                System.out.println("Wrote " + dir.resolve("jwks.json") + " and " + dir.resolve("signing-key.der"));
+            }
+            case "mint" -> System.out.println(load(dir).mint(options.getOrDefault("user", "user0001"),
+                    options.getOrDefault("role", "R005"), Long.parseLong(options.getOrDefault("ttl-s", "3600"))));
+            default -> throw new IllegalArgumentException("Unknown command: " + args[0]);
+        }
+    }
+
+    private static String encode(String json) {
+        return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Base64url of the unsigned big-endian magnitude, as JWK n / e require */
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64URL.encodeToString(bytes);
+    }
+}
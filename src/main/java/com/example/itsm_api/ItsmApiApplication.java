@@ -3,10 +3,12 @@ package com.example.itsm_api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.mybatis.spring.annotation.MapperScan;
 
 @SpringBootApplication
 @EnableAspectJAutoProxy
+@EnableScheduling
 @MapperScan({"com.example.itsm_api.mapper","com.example.itsm_api.cmmncode.dao"})
 public class ItsmApiApplication {
 
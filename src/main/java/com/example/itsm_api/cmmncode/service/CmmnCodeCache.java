@@ -0,0 +1,100 @@
+package com.example.itsm_api.cmmncode.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Bounded, versioned read-through cache for common code lists.
+ *
+ * Every write to TB_CMMN_CODE / TB_CMMN_CODE_TY calls {@link #invalidate()}, which bumps a single
+ * version number. An entry is only served while its version matches the current one, so a list
+ * loaded concurrently with a write is never reused. Entries also expire after a TTL so that
+ * instances that did not see the write converge. The ETag is a hash of the serialized rows, so
+ * it is the same on every instance and across restarts, and changes only when the list does.
+ */
+@Component
+public class CmmnCodeCache {
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        List<T> load() throws Exception;
+    }
+
+    /**
+     * Cached rows with their ETag (rows are shared between callers and must not be modified)
+     */
+    public record CachedList<T>(List<T> rows, String etag) {
+    }
+
+    private record Entry(long version, long expiresAt, CachedList<?> value) {
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public CmmnCodeCache(@Value("${itsm.cmmn-code-cache.max-entries:256}") int maxEntries,
+                         @Value("${itsm.cmmn-code-cache.ttl-seconds:600}") long ttlSeconds,
+                         ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the cached list for key, loading it on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedList<T> get(String key, Loader<T> loader) throws Exception {
+        long current = version.get();
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == current && now - entry.expiresAt() < 0) {
+                return (CachedList<T>) entry.value();
+            }
+        }
+        List<T> rows = List.copyOf(loader.load());
+        CachedList<T> value = new CachedList<>(rows, etag(rows));
+        synchronized (entries) {
+            entries.put(key, new Entry(current, now + ttlNanos, value));
+        }
+        return value;
+    }
+
+    /**
+     * Discard all cached lists (called after every code / code type write)
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private String etag(List<?> rows) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(rows));
+            return "\"cc-" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,30 +5,49 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.example.itsm_api.cmmncode.dao.CmmnCodeMapper;
+import com.example.itsm_api.cmmncode.service.CmmnCodeCache.CachedList;
 import com.example.itsm_api.cmmncode.vo.CmmnCodeVO;
 
 @Service
 public class CmmnCodeService {
     private final CmmnCodeMapper cmmnCodeMapper;
+    private final CmmnCodeCache cmmnCodeCache;
 
-    public CmmnCodeService(CmmnCodeMapper cmmnCodeMapper) {
+    public CmmnCodeService(CmmnCodeMapper cmmnCodeMapper, CmmnCodeCache cmmnCodeCache) {
         this.cmmnCodeMapper = cmmnCodeMapper;
+        this.cmmnCodeCache = cmmnCodeCache;
     }
 
     public void create(CmmnCodeVO vo) throws Exception {
-        cmmnCodeMapper.create(vo);
+        try {
+            cmmnCodeMapper.create(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 
     public int update(CmmnCodeVO vo) throws Exception {
-        return cmmnCodeMapper.update(vo);
+        try {
+            return cmmnCodeMapper.update(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 
     public int restore(CmmnCodeVO vo) throws Exception {
-        return cmmnCodeMapper.restore(vo);
+        try {
+            return cmmnCodeMapper.restore(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 
     public int delete(CmmnCodeVO vo) throws Exception {
-        return cmmnCodeMapper.delete(vo);
+        try {
+            return cmmnCodeMapper.delete(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 
     public CmmnCodeVO retrieve(CmmnCodeVO vo) throws Exception {
@@ -39,6 +58,15 @@ public class CmmnCodeService {
         return cmmnCodeMapper.retrieveList(vo);
     }
 
+    /**
+     * Codes of one type (deleteYn filter only), served from CmmnCodeCache
+     */
+    public CachedList<CmmnCodeVO> retrieveCachedList(String cmmnCodeTy, String deleteYn) throws Exception {
+        CmmnCodeVO vo = new CmmnCodeVO(cmmnCodeTy);
+        vo.setDeleteYn(deleteYn);
+        return cmmnCodeCache.get("code:" + cmmnCodeTy + ":" + deleteYn, () -> cmmnCodeMapper.retrieveList(vo));
+    }
+
     public List<CmmnCodeVO> retrievePagingList(CmmnCodeVO vo) throws Exception {
         return cmmnCodeMapper.retrievePagingList(vo);
     }
@@ -5,33 +5,57 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.example.itsm_api.cmmncode.dao.CmmnCodeTyMapper;
+import com.example.itsm_api.cmmncode.service.CmmnCodeCache.CachedList;
 import com.example.itsm_api.cmmncode.vo.CmmnCodeTyVO;
 
 @Service
 public class CmmnCodeTyService {
     private final CmmnCodeTyMapper cmmnCodeTyMapper;
+    private final CmmnCodeCache cmmnCodeCache;
 
-    public CmmnCodeTyService(CmmnCodeTyMapper cmmnCodeTyMapper) {
+    public CmmnCodeTyService(CmmnCodeTyMapper cmmnCodeTyMapper, CmmnCodeCache cmmnCodeCache) {
         this.cmmnCodeTyMapper = cmmnCodeTyMapper;
+        this.cmmnCodeCache = cmmnCodeCache;
     }
 
     public List<CmmnCodeTyVO> retrieveList(CmmnCodeTyVO vo) throws Exception {
         return cmmnCodeTyMapper.retrieveList(vo);
     }
 
+    /**
+     * Code types (deleteYn filter only), served from CmmnCodeCache
+     */
+    public CachedList<CmmnCodeTyVO> retrieveCachedList(String deleteYn) throws Exception {
+        CmmnCodeTyVO vo = new CmmnCodeTyVO();
+        vo.setDeleteYn(deleteYn);
+        return cmmnCodeCache.get("type:" + deleteYn, () -> cmmnCodeTyMapper.retrieveList(vo));
+    }
+
     public List<CmmnCodeTyVO> retrieveAllList() throws Exception {
         return cmmnCodeTyMapper.retrieveAllList();
     }
 
     public void create(CmmnCodeTyVO vo) throws Exception {
-        cmmnCodeTyMapper.create(vo);
+        try {
+            cmmnCodeTyMapper.create(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 
     public int update(CmmnCodeTyVO vo) throws Exception {
-        return cmmnCodeTyMapper.update(vo);
+        try {
+            return cmmnCodeTyMapper.update(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 
     public int delete(CmmnCodeTyVO vo) throws Exception {
-        return cmmnCodeTyMapper.delete(vo);
+        try {
+            return cmmnCodeTyMapper.delete(vo);
+        } finally {
+            cmmnCodeCache.invalidate();
+        }
     }
 }
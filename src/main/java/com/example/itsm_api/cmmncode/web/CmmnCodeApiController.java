@@ -1,13 +1,18 @@
 package com.example.itsm_api.cmmncode.web;
 
+import java.time.Duration;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.itsm_api.cmmncode.service.CmmnCodeCache.CachedList;
 import com.example.itsm_api.cmmncode.service.CmmnCodeService;
 import com.example.itsm_api.cmmncode.service.CmmnCodeTyService;
 import com.example.itsm_api.cmmncode.vo.CmmnCodeTyVO;
@@ -18,27 +23,39 @@ import com.example.itsm_api.cmmncode.vo.CmmnCodeVO;
 public class CmmnCodeApiController {
     private final CmmnCodeService cmmnCodeService;
     private final CmmnCodeTyService cmmnCodeTyService;
+    private final CacheControl cacheControl;
 
-    public CmmnCodeApiController(CmmnCodeService cmmnCodeService, CmmnCodeTyService cmmnCodeTyService) {
+    public CmmnCodeApiController(CmmnCodeService cmmnCodeService, CmmnCodeTyService cmmnCodeTyService,
+            @Value("${itsm.cmmn-code-cache.max-age-seconds:60}") long maxAgeSeconds) {
         this.cmmnCodeService = cmmnCodeService;
         this.cmmnCodeTyService = cmmnCodeTyService;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate().mustRevalidate();
     }
 
+    /**
+     * Code type list. Responds 304 when If-None-Match matches the current ETag.
+     */
     @GetMapping("/code-types")
-    public List<CmmnCodeTyVO> listCodeTypes(@RequestParam(value = "deleteYn", required = false) String deleteYn)
-            throws Exception {
-        CmmnCodeTyVO vo = new CmmnCodeTyVO();
-        vo.setDeleteYn(deleteYn);
-        return cmmnCodeTyService.retrieveList(vo);
+    public ResponseEntity<List<CmmnCodeTyVO>> listCodeTypes(
+            @RequestParam(value = "deleteYn", required = false) String deleteYn) throws Exception {
+        return cached(cmmnCodeTyService.retrieveCachedList(deleteYn));
     }
 
+    /**
+     * Code list of one type. Responds 304 when If-None-Match matches the current ETag.
+     */
     @GetMapping("/code-types/{codeType}/codes")
-    public List<CmmnCodeVO> listCodesByType(
+    public ResponseEntity<List<CmmnCodeVO>> listCodesByType(
             @PathVariable("codeType") String codeType,
             @RequestParam(value = "deleteYn", required = false) String deleteYn) throws Exception {
-        CmmnCodeVO vo = new CmmnCodeVO();
-        vo.setCmmnCodeTy(codeType);
-        vo.setDeleteYn(deleteYn);
-        return cmmnCodeService.retrieveList(vo);
+        return cached(cmmnCodeService.retrieveCachedList(codeType, deleteYn));
+    }
+
+    // ResponseEntity with an ETag is answered with 304 (no body written) by Spring on If-None-Match
+    private <T> ResponseEntity<List<T>> cached(CachedList<T> list) {
+        return ResponseEntity.ok()
+                .eTag(list.etag())
+                .cacheControl(cacheControl)
+                .body(list.rows());
     }
 }
@@ -0,0 +1,71 @@
+package com.example.itsm_api.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@ConditionalOnProperty(name = "itsm.datasource.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionTelemetryConfig {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final long leakThresholdMs;
+
+    public ConnectionTelemetryConfig(ObjectProvider<DataSource> dataSource,
+                                     @Value("${itsm.datasource.telemetry.leak-threshold-ms:30000}") long leakThresholdMs) {
+        this.dataSource = dataSource;
+        this.leakThresholdMs = leakThresholdMs;
+    }
+
+    /**
+     * Wrap the DataSource in a ConnectionTelemetryDataSource. Runs after PermitDataSource, so the recorded
+     * wait includes the time spent waiting for a permit, and before the lazy proxy of the read/write split,
+     * so only real connections are recorded.
+     */
+    @Bean
+    public static BeanPostProcessor connectionTelemetryPostProcessor(Environment environment) {
+        boolean captureAcquireStack = environment.getProperty("itsm.datasource.telemetry.capture-acquire-stack", Boolean.class, false);
+        return new DataSourceWrapper(Ordered.LOWEST_PRECEDENCE - 1) {
+            @Override
+            protected DataSource wrap(DataSource dataSource, String beanName) {
+                if (dataSource instanceof ConnectionTelemetryDataSource) {
+                    return dataSource;
+                }
+                return new ConnectionTelemetryDataSource(dataSource, captureAcquireStack);
+            }
+        };
+    }
+
+    /**
+     * Reports the executing mapped statement to ConnectionTelemetryDataSource (registered in MyBatisConfig)
+     */
+    @Bean
+    public ConnectionStatementInterceptor connectionStatementInterceptor() {
+        return new ConnectionStatementInterceptor();
+    }
+
+    @Bean
+    public ConnectionTelemetryMetrics connectionTelemetryMetrics(DataSource dataSource) throws SQLException {
+        PermitDataSource permits = dataSource.isWrapperFor(PermitDataSource.class) ? dataSource.unwrap(PermitDataSource.class) : null;
+        return new ConnectionTelemetryMetrics(dataSource.unwrap(ConnectionTelemetryDataSource.class), permits);
+    }
+
+    /**
+     * Report connections held longer than itsm.datasource.telemetry.leak-threshold-ms
+     */
+    @Scheduled(initialDelayString = "${itsm.datasource.telemetry.leak-check-ms:5000}",
+            fixedDelayString = "${itsm.datasource.telemetry.leak-check-ms:5000}")
+    public void detectLeaks() throws SQLException {
+        dataSource.getObject().unwrap(ConnectionTelemetryDataSource.class).detectLeaks(leakThresholdMs);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.itsm_api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * DataSource that records, for every connection handed out, how long the caller waited for it and how
+ * long it was held, tagged with the controller endpoint and the mapper statement that used it.
+ *
+ * The endpoint is the matched request mapping of the current request ("GET /api/sr/{id}"), "none" outside
+ * a request (scheduled jobs, the count executor). The statement is the first mapped statement executed on
+ * the connection, reported by ConnectionStatementInterceptor; inside a @Transactional method the connection
+ * is taken before any statement runs, so it is the transaction's first statement.
+ * Timers are recorded when the connection is closed (itsm.db.connection.wait / .hold, see
+ * ConnectionTelemetryMetrics). Connections still open are tracked so detectLeaks can report long holds
+ * with a stack sample of the holding thread.
+ */
+public class ConnectionTelemetryDataSource extends DelegatingDataSource {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionTelemetryDataSource.class);
+
+    static final String NONE = "none";
+    private static final int MAX_STACK_FRAMES = 40;
+
+    /** Mapped statement being executed by the current thread (set by ConnectionStatementInterceptor) */
+    private static final ThreadLocal<String> STATEMENT = new ThreadLocal<>();
+    /** Most recent connection opened by the current thread and not yet closed */
+    private static final ThreadLocal<Lease> CURRENT = new ThreadLocal<>();
+
+    private final boolean captureAcquireStack;
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicLong leaseIds = new AtomicLong();
+    private final LongAdder leaks = new LongAdder();
+    /** endpoint -> statement -> wait and hold timers */
+    private final Map<String, Map<String, Timer[]>> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public ConnectionTelemetryDataSource(DataSource target, boolean captureAcquireStack) {
+        super(target);
+        this.captureAcquireStack = captureAcquireStack;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        return lease(connection, start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        return lease(connection, start);
+    }
+
+    /**
+     * Called by ConnectionTelemetryMetrics; timers are only recorded once a registry is bound
+     */
+    void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Mark the start of a mapped statement on this thread
+     * @return the statement it replaces, to be passed back to {@link #exitStatement}
+     */
+    static String enterStatement(String statementId) {
+        String previous = STATEMENT.get();
+        STATEMENT.set(statementId);
+        Lease lease = CURRENT.get();
+        if (lease != null) {
+            lease.executing(statementId);
+        }
+        return previous;
+    }
+
+    static void exitStatement(String previous) {
+        if (previous == null) {
+            STATEMENT.remove();
+        } else {
+            STATEMENT.set(previous);
+        }
+    }
+
+    /**
+     * @return connections currently handed out and not closed
+     */
+    public int getActiveCount() {
+        return leases.size();
+    }
+
+    /**
+     * @return connections reported by detectLeaks so far
+     */
+    public long getLeakCount() {
+        return leaks.sum();
+    }
+
+    /**
+     * Log a warning, with a stack sample of the holding thread, for every connection held longer than
+     * the threshold (once per connection; its return is logged as well)
+     * @return number of connections newly reported
+     */
+    public int detectLeaks(long thresholdMillis) {
+        long now = System.nanoTime();
+        long threshold = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        int reported = 0;
+        for (Lease lease : leases.values()) {
+            if (!lease.reported && now - lease.acquiredAt > threshold) {
+                lease.reported = true;
+                leaks.increment();
+                reported++;
+                log.warn(describe(lease, now));
+            }
+        }
+        return reported;
+    }
+
+    private Connection lease(Connection connection, long start) {
+        long acquiredAt = System.nanoTime();
+        Lease lease = new Lease(leaseIds.incrementAndGet(), Thread.currentThread(), endpoint(), STATEMENT.get(),
+                acquiredAt - start, acquiredAt, captureAcquireStack ? new Throwable("Connection acquired here") : null,
+                CURRENT.get());
+        leases.put(lease.id, lease);
+        CURRENT.set(lease);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (closed.compareAndSet(false, true)) {
+                                release(lease);
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private void release(Lease lease) {
+        long holdNanos = System.nanoTime() - lease.acquiredAt;
+        leases.remove(lease.id);
+        if (CURRENT.get() == lease) {
+            // Closed in the reverse order of opening, as Spring and MyBatis do; skip an outer lease already closed
+            Lease previous = lease.previous;
+            while (previous != null && !leases.containsKey(previous.id)) {
+                previous = previous.previous;
+            }
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+        if (lease.reported) {
+            log.info("Connection held by {} ({}) returned after {}ms", lease.endpoint, lease.statement(),
+                    TimeUnit.NANOSECONDS.toMillis(holdNanos));
+        }
+        MeterRegistry r = registry;
+        if (r != null) {
+            Timer[] t = timersOf(r, lease.endpoint, lease.statement());
+            t[0].record(lease.waitNanos, TimeUnit.NANOSECONDS);
+            t[1].record(holdNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] timersOf(MeterRegistry r, String endpoint, String statement) {
+        Map<String, Timer[]> byStatement = timers.get(endpoint);
+        if (byStatement == null) {
+            byStatement = timers.computeIfAbsent(endpoint, k -> new ConcurrentHashMap<>());
+        }
+        Timer[] t = byStatement.get(statement);
+        return t != null ? t : byStatement.computeIfAbsent(statement, s -> new Timer[] {
+                Timer.builder("itsm.db.connection.wait")
+                        .tags("endpoint", endpoint, "statement", s)
+                        .description("Time waiting for a database connection (semaphore and pool)")
+                        .publishPercentiles(0.5, 0.99)
+                        .register(r),
+                Timer.builder("itsm.db.connection.hold")
+                        .tags("endpoint", endpoint, "statement", s)
+                        .description("Time a database connection was held before being returned")
+                        .publishPercentiles(0.5, 0.99)
+                        .register(r)});
+    }
+
+    /**
+     * @return "METHOD /pattern" of the handler serving the current request, "none" outside a request
+     */
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return NONE;
+        }
+        Object pattern = servlet.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? "unmapped" : servlet.getRequest().getMethod() + " " + pattern;
+    }
+
+    private static String describe(Lease lease, long now) {
+        StringBuilder sb = new StringBuilder()
+                .append("Connection held for ").append(TimeUnit.NANOSECONDS.toMillis(now - lease.acquiredAt))
+                .append("ms by ").append(lease.endpoint)
+                .append(" (first statement ").append(lease.statement())
+                .append(", last statement ").append(lease.lastStatement == null ? NONE : lease.lastStatement)
+                .append(", thread ").append(lease.thread.getName()).append(')');
+        sb.append("\n  holder thread is now at:");
+        appendFrames(sb, lease.thread.getStackTrace());
+        if (lease.acquireStack != null) {
+            sb.append("\n  connection acquired at:");
+            appendFrames(sb, lease.acquireStack.getStackTrace());
+        }
+        return sb.toString();
+    }
+
+    private static void appendFrames(StringBuilder sb, StackTraceElement[] frames) {
+        int n = Math.min(frames.length, MAX_STACK_FRAMES);
+        for (int i = 0; i < n; i++) {
+            sb.append("\n    at ").append(frames[i]);
+        }
+        if (frames.length > n) {
+            sb.append("\n    ... ").append(frames.length - n).append(" more");
+        }
+    }
+
+    /** One connection handed out and not yet closed */
+    private static final class Lease {
+        final long id;
+        final Thread thread;
+        final String endpoint;
+        final long waitNanos;
+        final long acquiredAt;
+        final Throwable acquireStack;
+        final Lease previous;
+        volatile String firstStatement;
+        volatile String lastStatement;
+        volatile boolean reported;
+
+        Lease(long id, Thread thread, String endpoint, String statement, long waitNanos, long acquiredAt,
+              Throwable acquireStack, Lease previous) {
+            this.id = id;
+            this.thread = thread;
+            this.endpoint = endpoint;
+            this.firstStatement = statement;
+            this.lastStatement = statement;
+            this.waitNanos = waitNanos;
+            this.acquiredAt = acquiredAt;
+            this.acquireStack = acquireStack;
+            this.previous = previous;
+        }
+
+        void executing(String statementId) {
+            if (firstStatement == null) {
+                firstStatement = statementId;
+            }
+            lastStatement = statementId;
+        }
+
+        String statement() {
+            String s = firstStatement;
+            return s == null ? NONE : s;
+        }
+    }
+}
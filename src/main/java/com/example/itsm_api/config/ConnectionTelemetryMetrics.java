@@ -0,0 +1,44 @@
+package com.example.itsm_api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes connection telemetry (GET /actuator/metrics/itsm.db.connection.wait?tag=endpoint:GET%20/api/sr/list etc.)
+ *
+ * itsm.db.connection.wait / .hold{endpoint, statement} split a slow request into time spent waiting for
+ * a connection and time spent using it; compared with hikaricp.connections.* (published by Spring Boot
+ * for the pool itself) they are the input for sizing the pool. When the DataSource is also guarded by
+ * PermitDataSource, its permits in use and waiters are published too.
+ */
+public class ConnectionTelemetryMetrics implements MeterBinder {
+
+    private final ConnectionTelemetryDataSource telemetry;
+    private final PermitDataSource permits;
+
+    public ConnectionTelemetryMetrics(ConnectionTelemetryDataSource telemetry, PermitDataSource permits) {
+        this.telemetry = telemetry;
+        this.permits = permits;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        telemetry.bindTo(registry);
+        Gauge.builder("itsm.db.connection.active", telemetry, ConnectionTelemetryDataSource::getActiveCount)
+                .description("Database connections handed out and not yet returned")
+                .register(registry);
+        FunctionCounter.builder("itsm.db.connection.leaks", telemetry, ConnectionTelemetryDataSource::getLeakCount)
+                .description("Connections held longer than itsm.datasource.telemetry.leak-threshold-ms")
+                .register(registry);
+        if (permits != null) {
+            Gauge.builder("itsm.db.permits.active", permits, PermitDataSource::getActivePermits)
+                    .description("Callers holding a database permit")
+                    .register(registry);
+            Gauge.builder("itsm.db.permits.waiting", permits, PermitDataSource::getWaitingCount)
+                    .description("Callers waiting for a database permit")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.itsm_api.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnProperty(name = "itsm.datasource.permits")
+public class DataSourcePermitConfig {
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePermitConfig.class);
+
+    /**
+     * Wrap the DataSource in a PermitDataSource when itsm.datasource.permits > 0
+     * (enabled by the virtual-threads profile, where request concurrency is not bounded by a worker pool)
+     */
+    @Bean
+    public static BeanPostProcessor permitDataSourcePostProcessor(Environment environment) {
+        int permits = environment.getProperty("itsm.datasource.permits", Integer.class, 0);
+        long timeoutMs = environment.getProperty("itsm.datasource.permit-timeout-ms", Long.class, 5000L);
+        return new DataSourceWrapper(Ordered.HIGHEST_PRECEDENCE + 1) {
+            @Override
+            protected DataSource wrap(DataSource dataSource, String beanName) {
+                if (permits <= 0 || dataSource instanceof PermitDataSource) {
+                    return dataSource;
+                }
+                log.info("DataSource {} limited to {} concurrent connections (permit timeout {}ms)", beanName, permits, timeoutMs);
+                return new PermitDataSource(dataSource, permits, timeoutMs);
+            }
+        };
+    }
+}
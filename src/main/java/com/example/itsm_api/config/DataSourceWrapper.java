@@ -0,0 +1,34 @@
+package com.example.itsm_api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * BeanPostProcessor that wraps DataSource beans. Wrappers are applied in ascending order, so the one
+ * with the highest order value ends up outermost (first to see getConnection).
+ */
+abstract class DataSourceWrapper implements BeanPostProcessor, Ordered {
+
+    private final int order;
+
+    DataSourceWrapper(int order) {
+        this.order = order;
+    }
+
+    /**
+     * @return the wrapped DataSource, or dataSource itself to leave it as is
+     */
+    protected abstract DataSource wrap(DataSource dataSource, String beanName);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrap(dataSource, beanName) : bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
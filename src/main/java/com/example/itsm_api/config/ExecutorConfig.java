@@ -0,0 +1,33 @@
+package com.example.itsm_api.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Executor for SR list total counts that run on a second connection in parallel with the list query.
+     * When saturated the count runs on the calling thread instead of queueing without bound.
+     * Tasks run with the caller's SecurityContext, so they are routed like the caller's own queries
+     * (read-your-writes stickiness of the read/write split), and under the caller's database permit
+     * (PermitDataSource.propagate), since the caller keeps its own connection open while it waits for the count.
+     */
+    @Bean(name = "srCountExecutor")
+    public ThreadPoolTaskExecutor srCountExecutor(@Value("${itsm.sr-list.count-threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("sr-count-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> new DelegatingSecurityContextRunnable(PermitDataSource.propagate(task)));
+        executor.initialize();
+        return executor;
+    }
+}
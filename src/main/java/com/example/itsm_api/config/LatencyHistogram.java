@@ -0,0 +1,97 @@
+package com.example.itsm_api.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free log-linear latency histogram (HdrHistogram-style bucketing) in microseconds.
+ *
+ * Every power-of-two range is split into 16 equal sub-buckets, so a recorded value is known to within
+ * 1/16 (about 6%) of itself, from 1us up to about 19 hours (longer values land in the last bucket), in a
+ * fixed array of 528 counters. The maximum is tracked exactly.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /** Highest power of two tracked: 2^35 us */
+    private static final int MAX_EXPONENT = 35;
+    private static final int BUCKETS = SUB_COUNT + (MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public void record(long micros) {
+        long value = Math.max(0L, micros);
+        counts.incrementAndGet(index(value));
+        max.accumulate(value);
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile 0..1 (0.5 = median)
+     * @return upper bound of the bucket holding the quantile (at most the maximum), 0 if empty
+     */
+    public long percentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        max.reset();
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) - SUB_COUNT;
+        return SUB_COUNT + (exponent - SUB_BITS) * SUB_COUNT + sub;
+    }
+
+    /**
+     * @return largest value that falls into bucket i
+     */
+    static long upperBound(int i) {
+        if (i < SUB_COUNT) {
+            return i;
+        }
+        int exponent = (i - SUB_COUNT) / SUB_COUNT + SUB_BITS;
+        int sub = (i - SUB_COUNT) % SUB_COUNT;
+        return ((long) (SUB_COUNT + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
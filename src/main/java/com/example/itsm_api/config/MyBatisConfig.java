@@ -1,7 +1,9 @@
 package com.example.itsm_api.config;
 
+import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -12,7 +14,7 @@ import javax.sql.DataSource;
 public class MyBatisConfig {
     
     @Bean
-    public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+    public SqlSessionFactory sqlSessionFactory(DataSource dataSource, ObjectProvider<Interceptor> interceptors) throws Exception {
         SqlSessionFactoryBean bean = new SqlSessionFactoryBean();
         bean.setDataSource(dataSource);
         
@@ -30,6 +32,9 @@ public class MyBatisConfig {
         bean.setConfiguration(configuration);
         bean.setTypeAliasesPackage("com.example.itsm_api.vo,com.example.itsm_api.cmmncode.vo");
         
+        // MyBatis plugins defined as beans (e.g. ConnectionStatementInterceptor)
+        bean.setPlugins(interceptors.orderedStream().toArray(Interceptor[]::new));
+        
         return bean.getObject();
     }
 }
@@ -0,0 +1,156 @@
+package com.example.itsm_api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that lets at most N callers hold (or wait in the pool for) a connection at a time.
+ *
+ * With virtual threads the number of concurrent requests is no longer bounded by the Tomcat worker
+ * pool, so thousands of requests could queue inside the connection pool at once. Callers over the
+ * limit wait here on a fair semaphore (virtual threads park without pinning a carrier) and fail with
+ * SQLTransientConnectionException after the permit timeout instead of piling onto the database.
+ * The permit is released when the connection is closed.
+ *
+ * A thread that already holds a permit opens further connections without taking another one
+ * (REQUIRES_NEW transactions such as SR number allocation, a second connection while the first is
+ * open): waiting for a second permit while holding one deadlocks once every permit is held by such a
+ * thread. Tasks the holder hands to an executor and waits for (parallel list counts) share its permit
+ * through propagate(). Each holder may therefore use more than one pooled connection, so permits must
+ * stay below the pool size (half of it covers one nested connection per holder).
+ */
+public class PermitDataSource extends DelegatingDataSource {
+
+    /** Permits held by the current thread, or by the thread it works for (see propagate) */
+    private static final ThreadLocal<AtomicInteger> HELD = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutMillis;
+
+    public PermitDataSource(DataSource target, int permits, long timeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return open(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return open(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Wrap a task so that, if the submitting thread holds a permit, connections the task opens are nested
+     * under that permit. Only for tasks the submitter waits for while keeping its connection open.
+     */
+    public static Runnable propagate(Runnable task) {
+        AtomicInteger held = HELD.get();
+        if (held.get() == 0) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger own = HELD.get();
+            HELD.set(held);
+            try {
+                task.run();
+            } finally {
+                HELD.set(own);
+            }
+        };
+    }
+
+    /**
+     * @return callers currently holding a permit
+     */
+    public int getActivePermits() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * @return callers waiting for a permit (estimate)
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    private Connection open(ConnectionSupplier supplier) throws SQLException {
+        AtomicInteger held = HELD.get();
+        if (held.get() > 0) {
+            return supplier.get();
+        }
+        acquire();
+        try {
+            Connection connection = guard(supplier.get(), held);
+            held.incrementAndGet();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No database permit available within " + timeoutMillis
+                        + "ms (" + maxPermits + " in use, " + permits.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    /**
+     * Proxy the connection so that close() gives the permit back (once), from whichever thread closes it
+     */
+    private Connection guard(Connection connection, AtomicInteger held) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                held.decrementAndGet();
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.itsm_api.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write split, enabled by itsm.datasource.replica.urls.
+ *
+ * The DataSource becomes LazyConnectionDataSourceProxy -> (telemetry, permits) -> ReadWriteRoutingDataSource
+ * -> primary pool or one of the replica pools. Replica pools take the spring.datasource.hikari settings,
+ * and the primary's credentials unless itsm.datasource.replica.username / password are set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "itsm.datasource.replica.urls")
+public class ReadWriteRoutingConfig {
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingConfig.class);
+
+    private final ReplicaSet replicaSet;
+
+    public ReadWriteRoutingConfig(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Bean(destroyMethod = "close")
+    public static ReplicaSet replicaSet(Environment environment) {
+        String[] urls = environment.getRequiredProperty("itsm.datasource.replica.urls", String[].class);
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource pool = new HikariDataSource();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("itsm-replica-" + (i + 1));
+            pool.setJdbcUrl(urls[i].trim());
+            pool.setUsername(environment.getProperty("itsm.datasource.replica.username",
+                    environment.getProperty("spring.datasource.username")));
+            pool.setPassword(environment.getProperty("itsm.datasource.replica.password",
+                    environment.getProperty("spring.datasource.password")));
+            String driver = environment.getProperty("spring.datasource.driver-class-name");
+            if (driver != null) {
+                pool.setDriverClassName(driver);
+            }
+            pool.setReadOnly(true);
+            pools.add(pool);
+            log.info("Read replica {}: {}", pool.getPoolName(), pool.getJdbcUrl());
+        }
+        return new ReplicaSet(pools,
+                environment.getProperty("itsm.datasource.replica.sticky-ms", Long.class, 5000L),
+                environment.getProperty("itsm.datasource.replica.max-lag-seconds", Long.class, 2L),
+                environment.getProperty("itsm.datasource.replica.lag-query", "SHOW REPLICA STATUS"));
+    }
+
+    /**
+     * Route the primary DataSource (innermost wrapper: telemetry and permits apply to every route)
+     */
+    @Bean
+    public static BeanPostProcessor readWriteRoutingPostProcessor(ObjectProvider<ReplicaSet> replicaSet) {
+        return new DataSourceWrapper(Ordered.HIGHEST_PRECEDENCE) {
+            @Override
+            protected DataSource wrap(DataSource dataSource, String beanName) {
+                if (dataSource instanceof ReadWriteRoutingDataSource) {
+                    return dataSource;
+                }
+                return new ReadWriteRoutingDataSource(dataSource, replicaSet.getObject());
+            }
+        };
+    }
+
+    /**
+     * Defer the real connection to the first statement, when the transaction's read-only flag is known
+     * (outermost wrapper)
+     */
+    @Bean
+    public static BeanPostProcessor lazyConnectionPostProcessor() {
+        return new DataSourceWrapper(Ordered.LOWEST_PRECEDENCE) {
+            @Override
+            protected DataSource wrap(DataSource dataSource, String beanName) {
+                if (dataSource instanceof LazyConnectionDataSourceProxy) {
+                    return dataSource;
+                }
+                return new LazyConnectionDataSourceProxy(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    public ReplicaWriteInterceptor replicaWriteInterceptor() {
+        return new ReplicaWriteInterceptor(replicaSet);
+    }
+
+    @Bean
+    public ReadWriteRoutingMetrics readWriteRoutingMetrics() {
+        return new ReadWriteRoutingMetrics(replicaSet);
+    }
+
+    /**
+     * Measure replica lag (reads go to a replica only after its first successful check)
+     */
+    @Scheduled(fixedDelayString = "${itsm.datasource.replica.lag-check-ms:1000}")
+    public void checkReplicaLag() {
+        replicaSet.checkLag();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.itsm_api.config;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections of read-only transactions (@Transactional(readOnly = true)) to a read replica and
+ * everything else to the primary, as decided by ReplicaSet.
+ *
+ * The decision needs the transaction's read-only flag, which Spring sets after the transaction manager
+ * has asked for a connection, so this DataSource must sit behind a LazyConnectionDataSourceProxy
+ * (ReadWriteRoutingConfig does so): the real connection is then only requested at the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaSet replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaSet replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.dataSource(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int index = replicas.route(TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                ReplicaSet.currentUserId());
+        return index == ReplicaSet.PRIMARY ? PRIMARY : index;
+    }
+
+    /**
+     * Unwrap to the primary without making (and counting) a routing decision, e.g. for the Hikari pool metrics
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.itsm_api.config;
+
+import com.example.itsm_api.config.ReplicaSet.Route;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes read/write routing decisions (GET /actuator/metrics/itsm.db.route?tag=reason:STICKY etc.)
+ * and the measured lag of each replica (itsm.db.replica.lag, NaN while unknown).
+ */
+public class ReadWriteRoutingMetrics implements MeterBinder {
+
+    private final ReplicaSet replicaSet;
+
+    public ReadWriteRoutingMetrics(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Route route : Route.values()) {
+            FunctionCounter.builder("itsm.db.route", replicaSet, set -> set.routeCount(route))
+                    .tags("target", route.getTarget(), "reason", route.name())
+                    .description("Database connections routed to the primary or a read replica")
+                    .register(registry);
+        }
+        for (int i = 0; i < replicaSet.size(); i++) {
+            int index = i;
+            Gauge.builder("itsm.db.replica.lag", replicaSet, set -> set.lagSeconds(index))
+                    .tag("replica", replicaSet.name(index))
+                    .baseUnit("seconds")
+                    .description("Replication lag of the read replica")
+                    .register(registry);
+            Gauge.builder("itsm.db.replica.available", replicaSet, set -> set.isAvailable(index) ? 1 : 0)
+                    .tag("replica", replicaSet.name(index))
+                    .description("1 if reads are routed to the replica, 0 if it is lagging or unreachable")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.itsm_api.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read replicas of the primary database and the state ReadWriteRoutingDataSource routes on.
+ *
+ * A read-only transaction goes to the next available replica (round robin), except:
+ * - the same user wrote within itsm.datasource.replica.sticky-ms (read-your-writes), or
+ * - no replica is within itsm.datasource.replica.max-lag-seconds (or reachable),
+ * in which case it goes to the primary. Everything else goes to the primary.
+ * Replica lag is measured by checkLag (scheduled by ReadWriteRoutingConfig) with the lag query,
+ * SHOW REPLICA STATUS by default.
+ *
+ * Read-your-writes is per application instance: the time of a user's last write is kept in memory on
+ * the node that served the write. Behind a load balancer without session affinity, the user's next read
+ * may land on another node that routes it to a replica, so with several instances either enable sticky
+ * sessions on the balancer or accept up to max-lag-seconds of staleness right after a write.
+ */
+public class ReplicaSet implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+    /** Index returned by route for the primary */
+    static final int PRIMARY = -1;
+
+    /** Where a connection was routed, and why */
+    public enum Route {
+        /** Not in a read-only transaction */
+        WRITE("primary"),
+        /** Read-only transaction served by a replica */
+        REPLICA("replica"),
+        /** Read-only, but the user wrote recently (read-your-writes) */
+        STICKY("primary"),
+        /** Read-only, but no replica is available within the allowed lag */
+        LAG("primary");
+
+        private final String target;
+
+        Route(String target) {
+            this.target = target;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final long stickyMillis;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    /** user ID -> time of the user's last write (epoch millis) */
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder[] routes = new LongAdder[Route.values().length];
+
+    public ReplicaSet(List<HikariDataSource> dataSources, long stickyMillis, long maxLagSeconds, String lagQuery) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.stickyMillis = stickyMillis;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        for (int i = 0; i < routes.length; i++) {
+            routes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Choose the database for a new connection and count the decision
+     * @param readOnly true inside a read-only transaction
+     * @param userId current user, null if unknown
+     * @return replica index, or PRIMARY
+     */
+    int route(boolean readOnly, String userId) {
+        if (!readOnly) {
+            return routed(Route.WRITE, PRIMARY);
+        }
+        if (userId != null && wroteRecently(userId)) {
+            return routed(Route.STICKY, PRIMARY);
+        }
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            int index = (start + i) % n;
+            if (replicas.get(index).available) {
+                return routed(Route.REPLICA, index);
+            }
+        }
+        return routed(Route.LAG, PRIMARY);
+    }
+
+    /**
+     * Route the user's reads to the primary for the next sticky-ms
+     */
+    void markWrite(String userId) {
+        lastWrites.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Measure the lag of each replica and forget writes older than the sticky window
+     */
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+        long expired = System.currentTimeMillis() - stickyMillis;
+        lastWrites.values().removeIf(at -> at < expired);
+    }
+
+    int size() {
+        return replicas.size();
+    }
+
+    DataSource dataSource(int index) {
+        return replicas.get(index).dataSource;
+    }
+
+    String name(int index) {
+        return replicas.get(index).dataSource.getPoolName();
+    }
+
+    /**
+     * @return last measured lag in seconds, NaN if unknown (unreachable or not replicating)
+     */
+    double lagSeconds(int index) {
+        return replicas.get(index).lagSeconds;
+    }
+
+    boolean isAvailable(int index) {
+        return replicas.get(index).available;
+    }
+
+    long routeCount(Route route) {
+        return routes[route.ordinal()].sum();
+    }
+
+    /**
+     * @return name of the authenticated user of the current thread, null if none
+     */
+    static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    /**
+     * Run the lag query on a replica
+     * @return lag in seconds, null if the replica is not replicating
+     */
+    Long queryLag(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            return rs.next() ? lagOf(rs) : null;
+        }
+    }
+
+    /**
+     * @return Seconds_Behind_Source (or _Master) of SHOW REPLICA / SLAVE STATUS, otherwise the first
+     *         column of a custom lag query; null if NULL (replication stopped)
+     */
+    private static Long lagOf(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String label = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                column = i;
+                break;
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+
+    private int routed(Route route, int index) {
+        routes[route.ordinal()].increment();
+        return index;
+    }
+
+    private boolean wroteRecently(String userId) {
+        Long at = lastWrites.get(userId);
+        return at != null && System.currentTimeMillis() - at < stickyMillis;
+    }
+
+    private final class Replica {
+        final HikariDataSource dataSource;
+        volatile double lagSeconds = Double.NaN;
+        /** Unavailable until the first check succeeds */
+        volatile boolean available;
+        private boolean checked;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void check() {
+            Long lag;
+            String problem = null;
+            try {
+                lag = queryLag(dataSource);
+                if (lag == null) {
+                    problem = "not replicating";
+                }
+            } catch (SQLException | RuntimeException e) {
+                // RuntimeException: the pool itself could not start (e.g. bad URL or driver)
+                lag = null;
+                problem = e.getMessage();
+            }
+            lagSeconds = lag == null ? Double.NaN : lag;
+            boolean nowAvailable = lag != null && lag <= maxLagSeconds;
+            if (!checked || nowAvailable != available) {
+                checked = true;
+                available = nowAvailable;
+                if (nowAvailable) {
+                    log.info("Replica {} available (lag {}s)", dataSource.getPoolName(), lag);
+                } else {
+                    log.warn("Replica {} unavailable, reads go to the primary: {}", dataSource.getPoolName(),
+                            problem != null ? problem : "lag " + lag + "s > " + maxLagSeconds + "s");
+                }
+            }
+        }
+
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.itsm_api.config;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records the writes (insert / update / delete statements) of the current user in ReplicaSet, so that
+ * user's following reads stay on the primary until the replicas have caught up. Inside a transaction the
+ * write is recorded again on commit, when it becomes visible to the replicas.
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class ReplicaWriteInterceptor implements Interceptor {
+
+    private final ReplicaSet replicaSet;
+
+    public ReplicaWriteInterceptor(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        String userId = ReplicaSet.currentUserId();
+        if (userId != null) {
+            replicaSet.markWrite(userId);
+            // Once per transaction (a batch runs many updates in one)
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.hasResource(this)) {
+                TransactionSynchronizationManager.bindResource(this, userId);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        replicaSet.markWrite(userId);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaWriteInterceptor.this);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+}
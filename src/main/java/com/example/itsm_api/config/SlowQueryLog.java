@@ -0,0 +1,125 @@
+package com.example.itsm_api.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sampled log of slow statements with their SQL and parameters.
+ *
+ * A statement slower than the threshold is logged at most once per interval (per statement ID); the
+ * entry says how many slow executions were skipped since the previous one. Parameter values whose
+ * property name matches the redaction pattern (personal data: names, contacts, free text) are
+ * replaced by &lt;redacted&gt;, and long values are truncated.
+ */
+public class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    /** Parameter names redacted by default: requester name / position / contact / e-mail, subject, content, details, keyword */
+    public static final String DEFAULT_REDACT =
+            "(?i).*(usernm|rqesternm|rqester1stnm|rqesterpsitn|rqester1stpsitn|cttpc|email|sj|cn|dtls|keyword|etc)$";
+
+    private static final int MAX_SQL_LENGTH = 4000;
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    private final long thresholdNanos;
+    private final long intervalMillis;
+    private final Pattern redact;
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(long thresholdMillis, long intervalMillis, String redactPattern) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.intervalMillis = intervalMillis;
+        this.redact = Pattern.compile(redactPattern);
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Log a slow execution unless another one of the same statement was logged within the interval
+     * @param boundSql SQL as executed, null to render it again from the parameter
+     */
+    public void log(MappedStatement statement, Object parameter, BoundSql boundSql, long nanos, long rows, boolean failed) {
+        Sample sample = samples.computeIfAbsent(statement.getId(), id -> new Sample());
+        long now = System.currentTimeMillis();
+        long last = sample.lastLogged.get();
+        if (now - last < intervalMillis || !sample.lastLogged.compareAndSet(last, now)) {
+            sample.skipped.incrementAndGet();
+            return;
+        }
+        long skipped = sample.skipped.getAndSet(0);
+        BoundSql sql = boundSql != null ? boundSql : statement.getBoundSql(parameter);
+        log.warn("Slow statement {} took {}ms ({}){}\n  sql: {}\n  params: {}",
+                statement.getId(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                failed ? "failed" : rows < 0 ? "rows unknown" : rows + " rows",
+                skipped > 0 ? ", " + skipped + " more slow executions since the previous sample" : "",
+                render(sql.getSql()), parameters(statement.getConfiguration(), sql, parameter));
+    }
+
+    /**
+     * @return the statement's parameters in binding order, name=value, with personal data redacted
+     */
+    String parameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+        StringBuilder sb = new StringBuilder();
+        MetaObject meta = null;
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            // Same lookup as MyBatis' DefaultParameterHandler
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (meta == null) {
+                    meta = configuration.newMetaObject(parameter);
+                }
+                value = meta.hasGetter(property) ? meta.getValue(property) : null;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(property).append('=').append(redact.matcher(property).matches() ? "<redacted>" : format(value));
+        }
+        return sb.toString();
+    }
+
+    private static String render(String sql) {
+        String oneLine = sql.replaceAll("\\s+", " ").trim();
+        return oneLine.length() > MAX_SQL_LENGTH ? oneLine.substring(0, MAX_SQL_LENGTH) + "..." : oneLine;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        String text = String.valueOf(value);
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...(" + text.length() + " chars)";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    private static final class Sample {
+        final AtomicLong lastLogged = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+    }
+}
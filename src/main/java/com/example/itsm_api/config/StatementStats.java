@@ -0,0 +1,75 @@
+package com.example.itsm_api.config;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics per mapped statement ID, recorded by StatementStatsInterceptor: calls, failures,
+ * rows (selected or affected) and a latency histogram. Cumulative since startup or the last reset.
+ */
+public class StatementStats {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param rows rows returned or affected, negative if unknown (cursor, batch)
+     */
+    public void record(String statementId, long nanos, long rows, boolean failed) {
+        Entry entry = entries.get(statementId);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(statementId, id -> new Entry());
+        }
+        long micros = nanos / 1000;
+        entry.calls.increment();
+        entry.totalMicros.add(micros);
+        entry.latency.record(micros);
+        if (failed) {
+            entry.errors.increment();
+        }
+        if (rows > 0) {
+            entry.rows.add(rows);
+        }
+    }
+
+    /**
+     * @return one line per statement, highest total time first
+     */
+    public List<Snapshot> snapshot() {
+        return entries.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(Snapshot::totalMs).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    /** Statistics of one statement, times in milliseconds (percentiles within about 6%) */
+    public record Snapshot(String statement, long calls, long errors, long rows,
+                           double totalMs, double meanMs, double p50Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Entry {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder totalMicros = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        Snapshot snapshot(String statementId) {
+            long n = calls.sum();
+            long total = totalMicros.sum();
+            return new Snapshot(statementId, n, errors.sum(), rows.sum(),
+                    millis(total), n == 0 ? 0 : millis(total / n),
+                    millis(latency.percentile(0.50)), millis(latency.percentile(0.99)), millis(latency.max()));
+        }
+
+        private static double millis(long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.itsm_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "itsm.mybatis.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementStatsConfig {
+
+    @Bean
+    public StatementStats statementStats() {
+        return new StatementStats();
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${itsm.mybatis.slow-query.threshold-ms:500}") long thresholdMs,
+                                     @Value("${itsm.mybatis.slow-query.interval-ms:10000}") long intervalMs,
+                                     @Value("${itsm.mybatis.slow-query.redact:" + SlowQueryLog.DEFAULT_REDACT + "}") String redact) {
+        return new SlowQueryLog(thresholdMs, intervalMs, redact);
+    }
+
+    /**
+     * Registered as a MyBatis plugin by MyBatisConfig
+     */
+    @Bean
+    public StatementStatsInterceptor statementStatsInterceptor(StatementStats statementStats, SlowQueryLog slowQueryLog) {
+        return new StatementStatsInterceptor(statementStats, slowQueryLog);
+    }
+
+    @Bean
+    public StatementStatsEndpoint statementStatsEndpoint(StatementStats statementStats) {
+        return new StatementStatsEndpoint(statementStats);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.itsm_api.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * GET /actuator/statements: calls, errors, rows, total / mean / p50 / p99 / max ms per mapped statement,
+ * slowest total first. DELETE /actuator/statements resets the statistics. Both require ROLE_ADMIN (SecurityConfig).
+ */
+@Endpoint(id = "statements")
+public class StatementStatsEndpoint {
+
+    private final StatementStats stats;
+
+    public StatementStatsEndpoint(StatementStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public List<StatementStats.Snapshot> statements() {
+        return stats.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+}
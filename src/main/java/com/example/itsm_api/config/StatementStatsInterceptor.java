@@ -0,0 +1,75 @@
+package com.example.itsm_api.config;
+
+import java.util.List;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Times every mapped statement (select / insert / update / delete) into StatementStats and hands slow
+ * executions to SlowQueryLog. Registered in MyBatisConfig.sqlSessionFactory like the other Interceptor beans.
+ * For a cursor (queryCursor, e.g. the SR export) the time is until the first rows are available, and rows
+ * are unknown; fetching the rest is not included.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class StatementStatsInterceptor implements Interceptor {
+
+    private final StatementStats stats;
+    private final SlowQueryLog slowQueryLog;
+
+    public StatementStatsInterceptor(StatementStats stats, SlowQueryLog slowQueryLog) {
+        this.stats = stats;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long rows = rows(result);
+            stats.record(statement.getId(), nanos, rows, failed);
+            if (slowQueryLog.isSlow(nanos)) {
+                slowQueryLog.log(statement, args[1], args.length == 6 ? (BoundSql) args[5] : null, nanos, rows, failed);
+            }
+        }
+    }
+
+    /**
+     * @return rows selected (list size) or affected (update count), -1 if unknown (batch executor, cursor)
+     */
+    private static long rows(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Integer count && count >= 0) {
+            return count;
+        }
+        return -1;
+    }
+}
@@ -1,10 +1,10 @@
 package com.example.itsm_api.controller;
 
 import com.example.itsm_api.security.AuthorizationService;
+import com.example.itsm_api.security.RequireRole;
 import com.example.itsm_api.security.CustomUserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -41,7 +41,7 @@ public class ProtectedController {
      * Restricted to users with VIEWER role
      */
     @GetMapping("/viewer")
-    @PreAuthorize("hasRole('VIEWER')")
+    @RequireRole("VIEWER")
     public ResponseEntity<?> getViewerAccess() {
         return ResponseEntity.ok("Access granted to VIEWER role");
     }
@@ -50,7 +50,7 @@ public class ProtectedController {
      * Restricted to users with ADMIN role
      */
     @GetMapping("/admin")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRole("ADMIN")
     public ResponseEntity<?> getAdminAccess() {
         return ResponseEntity.ok("Access granted to ADMIN role");
     }
@@ -59,7 +59,7 @@ public class ProtectedController {
      * Restricted to users with CONSULTANT role
      */
     @GetMapping("/consultant")
-    @PreAuthorize("hasRole('CONSULTANT')")
+    @RequireRole("CONSULTANT")
     public ResponseEntity<?> getConsultantAccess() {
         return ResponseEntity.ok("Access granted to CONSULTANT role");
     }
@@ -68,7 +68,7 @@ public class ProtectedController {
      * Restricted to users with CUSTOMER role
      */
     @GetMapping("/customer")
-    @PreAuthorize("hasRole('CUSTOMER')")
+    @RequireRole("CUSTOMER")
     public ResponseEntity<?> getCustomerAccess() {
         return ResponseEntity.ok("Access granted to CUSTOMER role");
     }
@@ -77,7 +77,7 @@ public class ProtectedController {
      * Restricted to users with OPERATOR role
      */
     @GetMapping("/operator")
-    @PreAuthorize("hasRole('OPERATOR')")
+    @RequireRole("OPERATOR")
     public ResponseEntity<?> getOperatorAccess() {
         return ResponseEntity.ok("Access granted to OPERATOR role");
     }
@@ -86,7 +86,7 @@ public class ProtectedController {
      * Restricted to users with TEMP_USER role
      */
     @GetMapping("/temp-user")
-    @PreAuthorize("hasRole('TEMP_USER')")
+    @RequireRole("TEMP_USER")
     public ResponseEntity<?> getTempUserAccess() {
         return ResponseEntity.ok("Access granted to TEMP_USER role");
     }
@@ -98,11 +98,11 @@ public class ProtectedController {
     public ResponseEntity<?> debugToken() {
         var auth = authorizationService.getCurrentAuthentication();
         
-        if (!(auth.getPrincipal() instanceof org.springframework.security.oauth2.jwt.Jwt)) {
+        if (!(auth instanceof org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken jwtAuth)) {
             return ResponseEntity.ok(java.util.Map.of("error", "Not a JWT token"));
         }
         
-        org.springframework.security.oauth2.jwt.Jwt jwt = (org.springframework.security.oauth2.jwt.Jwt) auth.getPrincipal();
+        org.springframework.security.oauth2.jwt.Jwt jwt = jwtAuth.getToken();
         
         // Build comprehensive token info
         var tokenInfo = new java.util.HashMap<>();
@@ -2,16 +2,30 @@ package com.example.itsm_api.controller;
 
 import com.example.itsm_api.security.AuthorizationService;
 import com.example.itsm_api.security.CustomUserPrincipal;
+import com.example.itsm_api.security.RequireRole;
+import com.example.itsm_api.service.SrExportService;
+import com.example.itsm_api.service.SrStageCounter;
+import com.example.itsm_api.service.SrvcRsponsBatchService;
+import com.example.itsm_api.service.SrvcRsponsBatchService.ItemResult;
+import com.example.itsm_api.service.SrvcRsponsBatchService.Transition;
 import com.example.itsm_api.service.SrvcRsponsService;
+import com.example.itsm_api.vo.PagedResult;
+import com.example.itsm_api.vo.SrListCursor;
+import com.example.itsm_api.vo.SrStage;
 import com.example.itsm_api.vo.SrvcRsponsVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,12 +46,25 @@ import java.util.Map;
 public class SrvcRsponsController {
     private static final Logger log = LoggerFactory.getLogger(SrvcRsponsController.class);
 
+    private static final int DEFAULT_LIST_SIZE = 100;
+    private static final int MAX_LIST_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private SrvcRsponsService srvcRsponsService;
 
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private SrStageCounter srStageCounter;
+
+    @Autowired
+    private SrvcRsponsBatchService srvcRsponsBatchService;
+
+    @Autowired
+    private SrExportService srExportService;
+
     /**
      * Create a new Service Request
      * 
@@ -55,7 +82,6 @@ public class SrvcRsponsController {
      * @return Created SR with generated ID
      */
     @PostMapping("/create")
-    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> createSr(@RequestBody SrvcRsponsVO vo,
                                       @RequestHeader(value = "X-User-Id", required = false) String xUserId) {
         try {
@@ -112,7 +138,6 @@ public class SrvcRsponsController {
      * @return SR details or 404 if not found
      */
     @GetMapping("/{id}")
-    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getSrById(@PathVariable String id) {
         try {
             CustomUserPrincipal user = authorizationService.getCurrentUser();
@@ -142,7 +167,7 @@ public class SrvcRsponsController {
     /**
      * Get list of Service Requests (paginated)
      * 
-     * GET /api/sr/list
+     * GET /api/sr/list?after={cursor}&size=100&stage=PROCESS&count=exact&q=keyword
      * 
      * Returns a list of SRs based on the user's role:
      * - R005 (Requester): Can only see their own SRs
@@ -150,11 +175,29 @@ public class SrvcRsponsController {
      * - R001 (Manager): Can see all SRs
      * - R002 (Admin): Can see all SRs
      * 
-     * @return List of SRs
+     * Paging uses a keyset cursor: pass the returned nextCursor as "after" to read the next page.
+     * Offset paging (pageIndex) is kept only for compatibility with older clients.
+     * 
+     * The total is the row count of the whole filter, not of the page:
+     * - exact: exact count (default)
+     * - estimated: count capped for very large filters; totalEstimated=true means "at least total"
+     * - none: no count, total is null
+     * 
+     * @param after Opaque cursor from the previous page's nextCursor
+     * @param size Page size (default 100, max 1000)
+     * @param pageIndex 1-based page number (compatibility mode, ignored when after is set)
+     * @param stage SR stage (ALL, REQUEST, RECEIVE, PROCESS, VERIFY, FINISH, EVALUATE; default ALL)
+     * @param count Total count mode (exact, estimated, none)
+     * @param q Keyword matched against subject, content and process details
+     * @return List of SRs, total and nextCursor (null on the last page)
      */
     @GetMapping("/list")
-    @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getList() {
+    public ResponseEntity<?> getList(@RequestParam(value = "after", required = false) String after,
+                                     @RequestParam(value = "size", required = false) Integer size,
+                                     @RequestParam(value = "pageIndex", required = false) Integer pageIndex,
+                                     @RequestParam(value = "stage", required = false) String stage,
+                                     @RequestParam(value = "count", required = false) String count,
+                                     @RequestParam(value = "q", required = false) String q) {
         try {
             CustomUserPrincipal user = authorizationService.getCurrentUser();
             
@@ -163,21 +206,39 @@ public class SrvcRsponsController {
             searchVo.setUserTyCode(user.getUserTyCode().isEmpty() ? null : user.getUserTyCode().get(0));
             searchVo.setUserId(user.getUsername());
             
-            // Set default pagination values
-            searchVo.setPageSize(100);
-            searchVo.setStartRow(0);
+            int pageSize = size == null ? DEFAULT_LIST_SIZE : Math.max(1, Math.min(size, MAX_LIST_SIZE));
+            boolean offsetMode = pageIndex != null && (after == null || after.isEmpty());
+            if (offsetMode) {
+                searchVo.setPageIndex(Math.max(1, pageIndex));
+                searchVo.setStartRow((searchVo.getPageIndex() - 1) * pageSize);
+            } else {
+                searchVo.setAfterSrvcRsponsNo(SrListCursor.decode(after));
+                searchVo.setStartRow(0);
+            }
+            searchVo.setPageSize(pageSize);
+            searchVo.setSearchKeyword(q);
             
             log.debug("Getting SR list for user: {}, userTyCode: {}", user.getUsername(), 
                       user.getUserTyCode().isEmpty() ? "NONE" : user.getUserTyCode().get(0));
             
-            List<SrvcRsponsVO> list = srvcRsponsService.retrievePagingList(searchVo);
+            PagedResult<SrvcRsponsVO> page = srvcRsponsService.retrievePagedResult(
+                    SrStage.of(stage), searchVo, PagedResult.CountMode.of(count));
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("total", list.size());
-            response.put("data", list);
+            response.put("total", page.getTotal());
+            response.put("totalEstimated", page.isTotalEstimated());
+            response.put("data", page.getRows());
+            response.put("hasNext", page.isHasNext());
+            response.put("nextCursor", page.getNextCursor());
+            if (offsetMode) {
+                response.put("pageIndex", searchVo.getPageIndex());
+            }
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error retrieving SR list: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -185,6 +246,201 @@ public class SrvcRsponsController {
         }
     }
 
+    /**
+     * Export all visible SRs
+     * 
+     * GET /api/sr/export?format=ndjson|csv&q=keyword
+     * 
+     * Same filter and order as the unpaged list (retrieveAllList), limited to the caller's SRs
+     * for requesters. Rows are streamed from a database cursor straight into the response,
+     * so memory use does not grow with the row count; if the client disconnects the query is cancelled.
+     * 
+     * @param format ndjson (default, one JSON object per line) or csv (UTF-8 with BOM)
+     * @param q Keyword matched against subject, content and process details
+     * @return Streamed export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> export(@RequestParam(value = "format", required = false) String format,
+                                    @RequestParam(value = "q", required = false) String q) {
+        return exportResponse(format, q, false);
+    }
+
+    /**
+     * Export all visible SRs that have a distribution confirmation (WDTB_CNFIRM_NO)
+     * 
+     * GET /api/sr/export/wdtb?format=ndjson|csv&q=keyword
+     * 
+     * Same as /export, with the filter and order of retrieveAllwdtbList.
+     * 
+     * @param format ndjson (default) or csv
+     * @param q Keyword matched against subject, content and process details
+     * @return Streamed export
+     */
+    @GetMapping("/export/wdtb")
+    public ResponseEntity<?> exportWdtb(@RequestParam(value = "format", required = false) String format,
+                                        @RequestParam(value = "q", required = false) String q) {
+        return exportResponse(format, q, true);
+    }
+
+    private ResponseEntity<?> exportResponse(String format, String q, boolean wdtb) {
+        try {
+            SrExportService.Format exportFormat = SrExportService.Format.of(format);
+            CustomUserPrincipal user = authorizationService.getCurrentUser();
+            
+            SrvcRsponsVO searchVo = new SrvcRsponsVO();
+            searchVo.setUserTyCode(user.getUserTyCode().isEmpty() ? null : user.getUserTyCode().get(0));
+            searchVo.setUserId(user.getUsername());
+            searchVo.setSearchKeyword(q);
+            
+            // Written on an async request thread after this method returns
+            StreamingResponseBody body = out -> {
+                try {
+                    long rows = srExportService.export(searchVo, wdtb, exportFormat, out);
+                    log.debug("Exported {} SRs for user: {}", rows, user.getUsername());
+                } catch (IOException e) {
+                    log.debug("SR export cancelled for user {}: {}", user.getUsername(), e.getMessage());
+                }
+            };
+            
+            String fileName = (wdtb ? "sr-wdtb-" : "sr-") + new SimpleDateFormat("yyyyMMdd").format(new java.util.Date())
+                    + "." + exportFormat.getExtension();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error starting SR export: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get SR counts per workflow stage (dashboard badges)
+     * 
+     * GET /api/sr/stats/stages
+     * 
+     * Counts are kept in memory, updated on every stage transition and periodically
+     * reconciled against the database. REQUEST and RECEIVE share the same predicate, and
+     * EVALUATE overlaps VERIFY/FINISH, exactly like the stage list queries.
+     * 
+     * @return stages (all SRs), byTrgetSrvcCode (per target service) and mine (SRs charged to the current user)
+     */
+    @GetMapping("/stats/stages")
+    @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
+    public ResponseEntity<?> getStageStats() {
+        try {
+            CustomUserPrincipal user = authorizationService.getCurrentUser();
+            Map<?, Long> stages = srStageCounter.stageCounts();
+            if (stages == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(Map.of("success", false, "error", "Stage counts are not ready yet"));
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("stages", stages);
+            response.put("byTrgetSrvcCode", srStageCounter.stageCountsByTrgetSrvcCode());
+            response.put("mine", srStageCounter.stageCountsByChargerId(user.getUsername()));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error retrieving SR stage stats: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Apply one workflow transition to many SRs
+     * 
+     * POST /api/sr/batch/{transition}
+     * 
+     * transition is one of receive, response-1st, process, sr-process, verify, finish
+     * (the same path segment as the single-SR endpoint). Each item carries srvcRsponsNo plus
+     * the fields the single endpoint would take. Items are written in chunks, one transaction
+     * and one JDBC batch per chunk; a failing chunk is rolled back and reported per item while
+     * the remaining chunks still run.
+     * 
+     * Request body example:
+     * [
+     *   { "srvcRsponsNo": "SR-2501-001", "chargerId": "handler1" },
+     *   { "srvcRsponsNo": "SR-2501-002", "chargerId": "handler1" }
+     * ]
+     * 
+     * @param transition Transition path
+     * @param items SRs and their transition details (at most 1000)
+     * @return results (per item, in request order), succeeded and failed counts
+     */
+    @PostMapping("/batch/{transition}")
+    @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
+    public ResponseEntity<?> batchTransition(@PathVariable String transition, @RequestBody List<SrvcRsponsVO> items) {
+        try {
+            Transition t = Transition.of(transition);
+            if (t == null) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("success", false, "error", "Unknown transition: " + transition));
+            }
+            if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("success", false, "error", "Batch must contain 1 to " + MAX_BATCH_SIZE + " items"));
+            }
+            // Finishing is restricted to managers, as on PUT /{id}/finish
+            if (t == Transition.FINISH && !authorizationService.hasAnyRole("MANAGER", "ADMIN")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("success", false, "error", "Finishing SRs requires MANAGER or ADMIN"));
+            }
+            
+            CustomUserPrincipal user = authorizationService.getCurrentUser();
+            java.util.Date now = new java.util.Date();
+            for (SrvcRsponsVO vo : items) {
+                if (vo == null) {
+                    continue;
+                }
+                if (vo.getUpdtId() == null || vo.getUpdtId().isEmpty()) {
+                    vo.setUpdtId(user.getUsername());
+                }
+                // Same defaults as the single-SR verify/finish endpoints
+                if (t == Transition.VERIFY) {
+                    if (vo.getVerifyDt() == null) {
+                        vo.setVerifyDt(now);
+                    }
+                    if (vo.getVerifyId() == null || vo.getVerifyId().isEmpty()) {
+                        vo.setVerifyId(vo.getUpdtId());
+                    }
+                    if (vo.getVerifyYn() == null || vo.getVerifyYn().isEmpty()) {
+                        vo.setVerifyYn("Y");
+                    }
+                } else if (t == Transition.FINISH) {
+                    if (vo.getFinishDt() == null) {
+                        vo.setFinishDt(now);
+                    }
+                    if (vo.getFinishId() == null || vo.getFinishId().isEmpty()) {
+                        vo.setFinishId(vo.getUpdtId());
+                    }
+                }
+            }
+            
+            List<ItemResult> results = srvcRsponsBatchService.execute(t, items);
+            long succeeded = results.stream().filter(ItemResult::success).count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", succeeded == results.size());
+            response.put("succeeded", succeeded);
+            response.put("failed", results.size() - succeeded);
+            response.put("results", results);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error in SR batch {}: ", transition, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
     /**
      * Update SR request details
      * 
@@ -197,7 +453,6 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/request")
-    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> updateRequest(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -254,7 +509,7 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/receive")
-    @PreAuthorize("hasRole('HANDLER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
     public ResponseEntity<?> updateReceive(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -295,7 +550,7 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/response-1st")
-    @PreAuthorize("hasRole('HANDLER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
     public ResponseEntity<?> updateRspons1st(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -327,7 +582,7 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/process")
-    @PreAuthorize("hasRole('HANDLER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
     public ResponseEntity<?> updateProcess(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -359,7 +614,7 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/sr-process")
-    @PreAuthorize("hasRole('HANDLER') or hasRole('ADMIN') or hasRole('MANAGER')")
+    @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
     public ResponseEntity<?> updateSrProcess(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -392,7 +647,6 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/verify")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN') or isAuthenticated()")
     public ResponseEntity<?> updateSrVerify(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -436,7 +690,7 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/finish")
-    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @RequireRole({"MANAGER", "ADMIN"})
     public ResponseEntity<?> updateSrFinish(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -475,7 +729,6 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PutMapping("/{id}/evaluate")
-    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> updateSrEv(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -507,7 +760,6 @@ public class SrvcRsponsController {
      * @return Update result
      */
     @PostMapping("/{id}/re-evaluate")
-    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> updateSrEvReRequest(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -539,7 +791,6 @@ public class SrvcRsponsController {
      * @return Created SR with new ID
      */
     @PostMapping("/{id}/re-request")
-    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> createSrReRequest(@PathVariable String id, @RequestBody SrvcRsponsVO vo) {
         try {
             vo.setSrvcRsponsNo(id);
@@ -577,7 +828,7 @@ public class SrvcRsponsController {
      * @return Delete result
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @RequireRole({"ADMIN", "MANAGER"})
     public ResponseEntity<?> deleteSr(@PathVariable String id) {
         try {
             SrvcRsponsVO vo = new SrvcRsponsVO();
@@ -1,7 +1,11 @@
 package com.example.itsm_api.mapper;
 
+import com.example.itsm_api.vo.SrStageCntVO;
 import com.example.itsm_api.vo.SrvcRsponsVO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 import java.util.List;
 
 /**
@@ -17,7 +21,7 @@ public interface SrvcRsponsMapper {
     
     /**
      * Create new Service Request
-     * Auto-generates SR number with format: SR-YYMM-NNN
+     * SR number (SR-YYMM-NNN) must already be set by SrNoAllocator
      * @param vo Service Request VO with all required fields
      * @return Number of rows inserted (1 if successful)
      */
@@ -32,6 +36,32 @@ public interface SrvcRsponsMapper {
     int createSrReRequest(SrvcRsponsVO vo);
 
     
+    // ==================== SR NUMBER SEQUENCE ====================
+
+    /**
+     * Lock the monthly SR number sequence row (TB_SRVC_RSPONS_SEQ)
+     * @param seqMt Sequence month (YYMM)
+     * @return Next unreserved sequence value, or null if the month has no row yet
+     */
+    Long retrieveSrNoSeqForUpdate(@Param("seqMt") String seqMt);
+
+    /**
+     * Create the monthly sequence row, seeded from the highest existing SR number of that month
+     * Ignored if another node created the row first
+     * @param seqMt Sequence month (YYMM)
+     * @return Number of rows inserted
+     */
+    int createSrNoSeq(@Param("seqMt") String seqMt);
+
+    /**
+     * Advance the monthly sequence past a reserved block
+     * @param seqMt Sequence month (YYMM)
+     * @param nextVal First value of the next block
+     * @return Number of rows updated
+     */
+    int updateSrNoSeq(@Param("seqMt") String seqMt, @Param("nextVal") long nextVal);
+
+    
     // ==================== READ OPERATIONS ====================
     
     /**
@@ -151,6 +181,20 @@ public interface SrvcRsponsMapper {
      */
     List<SrvcRsponsVO> retrieveAllwdtbList(SrvcRsponsVO vo);
 
+    /**
+     * Stream all SRs (export); same filter and order as retrieveAllList
+     * @param vo Filter parameters
+     * @return Cursor over matching SRs, must be closed by the caller
+     */
+    Cursor<SrvcRsponsVO> retrieveAllCursor(SrvcRsponsVO vo);
+
+    /**
+     * Stream all SRs with WDTB confirmation (export); same filter and order as retrieveAllwdtbList
+     * @param vo Filter parameters
+     * @return Cursor over matching SRs, must be closed by the caller
+     */
+    Cursor<SrvcRsponsVO> retrieveAllwdtbCursor(SrvcRsponsVO vo);
+
     /**
      * Retrieve unique requester names for autocomplete
      * @param vo Contains rqesterNm search term
@@ -174,6 +218,78 @@ public interface SrvcRsponsMapper {
     List<SrvcRsponsVO> retrieveRqester1stNmList(SrvcRsponsVO vo);
 
     
+    // ==================== REFERENCE USERS (TB_SRVC_RSPONS_REF) ====================
+
+    /**
+     * Retrieve RQESTER_ID / REF_IDS of SRs (source of the reference-user relation)
+     * @param srvcRsponsNos SR numbers
+     * @return SRs with srvcRsponsNo, rqesterId, refIds
+     */
+    List<SrvcRsponsVO> retrieveRefSourceList(@Param("srvcRsponsNos") List<String> srvcRsponsNos);
+
+    /**
+     * Retrieve the next keyset batch of SR numbers for the reference-user backfill
+     * @param afterSrvcRsponsNo Last SR number of the previous batch (null for the first batch)
+     * @param batchSize Batch size
+     * @return SR numbers in ascending order
+     */
+    List<String> retrieveRefBackfillNoList(@Param("afterSrvcRsponsNo") String afterSrvcRsponsNo,
+                                           @Param("batchSize") int batchSize);
+
+    /**
+     * Delete reference-user rows of SRs
+     * @param srvcRsponsNos SR numbers
+     * @return Number of rows deleted
+     */
+    int deleteSrRefList(@Param("srvcRsponsNos") List<String> srvcRsponsNos);
+
+    /**
+     * Insert reference-user rows
+     * @param refs SRs with srvcRsponsNo and userId
+     * @return Number of rows inserted
+     */
+    int createSrRefList(@Param("refs") List<SrvcRsponsVO> refs);
+
+    
+    // ==================== STAGE COUNTERS ====================
+
+    /**
+     * Lock a live SR and read the columns that decide its workflow stage
+     * @param srvcRsponsNo SR number
+     * @return SR with trgetSrvcCode, chargerId and the stage dates (null if missing or deleted)
+     */
+    SrvcRsponsVO retrieveStageRowForUpdate(@Param("srvcRsponsNo") String srvcRsponsNo);
+
+    /**
+     * Lock several live SRs and read their stage columns (batch transitions)
+     * @param srvcRsponsNos SR numbers
+     * @return Live SRs among them, ordered by SR number
+     */
+    List<SrvcRsponsVO> retrieveStageRowListForUpdate(@Param("srvcRsponsNos") List<String> srvcRsponsNos);
+
+    /**
+     * Count live SRs grouped by target service, charger and stage dates (counter reconciliation)
+     * @return Grouped counts
+     */
+    List<SrStageCntVO> retrieveStageCntList();
+
+    
+    // ==================== FULL-TEXT SEARCH INDEX ====================
+
+    /**
+     * Retrieve the indexed text fields (subject, content, process details) of one live SR
+     * @param srvcRsponsNo SR number
+     * @return SR with srvcRsponsNo, srvcRsponsSj, srvcRsponsCn, srvcProcessDtls (null if missing or deleted)
+     */
+    SrvcRsponsVO retrieveSearchDoc(@Param("srvcRsponsNo") String srvcRsponsNo);
+
+    /**
+     * Stream the indexed text fields of all live SRs (SrSearchIndex rebuild)
+     * @param handler Receives one SR per row
+     */
+    void retrieveSearchDocList(ResultHandler<SrvcRsponsVO> handler);
+
+    
     // ==================== UPDATE OPERATIONS ====================
     
     /**
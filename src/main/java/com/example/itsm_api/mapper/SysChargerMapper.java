@@ -0,0 +1,26 @@
+package com.example.itsm_api.mapper;
+
+import com.example.itsm_api.vo.SysChargerVO;
+import org.apache.ibatis.annotations.Mapper;
+import java.util.List;
+
+/**
+ * MyBatis Mapper Interface for handler to system assignments (TB_SYS_CHARGER)
+ * 
+ * SQL Queries are defined in: src/main/resources/mapper/SysChargerMapper.xml
+ */
+@Mapper
+public interface SysChargerMapper {
+
+    /**
+     * Retrieve all handler to system assignments
+     * @return USER_ID / SYS_CODE rows
+     */
+    List<SysChargerVO> retrieveSysChargerList();
+
+    /**
+     * Retrieve a signature of the table contents (row count and checksum), used to detect changes
+     * @return Signature that changes whenever an assignment is added, removed or changed
+     */
+    String retrieveSysChargerSignature();
+}
@@ -0,0 +1,49 @@
+package com.example.itsm_api.mapper;
+
+import com.example.itsm_api.vo.LoginInfoVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * MyBatis Mapper Interface for the user directory (TB_LOGIN_INFO display names)
+ * 
+ * SQL Queries are defined in: src/main/resources/mapper/UserDirectoryMapper.xml
+ */
+@Mapper
+public interface UserDirectoryMapper {
+
+    /**
+     * Retrieve USER_ID / USER_NM of all users (startup load)
+     * @return All users
+     */
+    List<LoginInfoVO> retrieveUserNmList();
+
+    /**
+     * Retrieve users created or updated since the given time (incremental refresh)
+     * @param since Last change time already loaded
+     * @return Changed users
+     */
+    List<LoginInfoVO> retrieveChangedUserNmList(@Param("since") Date since);
+
+    /**
+     * Retrieve users by ID (cache misses)
+     * @param userIds User IDs
+     * @return Matching users
+     */
+    List<LoginInfoVO> retrieveUserNmListByIds(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * Retrieve all user IDs (drops deleted users from the cache)
+     * @return All user IDs
+     */
+    List<String> retrieveUserIdList();
+
+    /**
+     * Retrieve a signature of the user IDs (row count and checksum), used to detect deleted users
+     * @return Signature that changes whenever a user is added or removed
+     */
+    String retrieveUserIdSignature();
+}
@@ -0,0 +1,112 @@
+package com.example.itsm_api.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Authorization requirements of one handler method, compiled from @RequireRole, @RequireUserTyCode
+ * and @RequireUserSttusCode (method annotation, else the controller's) into CodeBits masks.
+ *
+ * Each annotation present must be satisfied (any of its values); a method without annotations only
+ * requires what the security filter chain already enforces. Checking is an AND per annotation.
+ */
+public final class AccessRule {
+
+    /** Rule of handlers without any of the annotations */
+    static final AccessRule NONE = new AccessRule(null, null, null);
+
+    private final String[] roles;
+    private final String[] roleAuthorities;
+    private final String[] userTyCodes;
+    private final String[] userSttusCodes;
+    private final long roleMask;
+    private final long userTyMask;
+    private final long userSttusMask;
+    private final String description;
+
+    private AccessRule(String[] roles, String[] userTyCodes, String[] userSttusCodes) {
+        this.roles = roles;
+        this.roleAuthorities = roles == null ? null : Arrays.stream(roles).map(r -> "ROLE_" + r).toArray(String[]::new);
+        this.userTyCodes = userTyCodes;
+        this.userSttusCodes = userSttusCodes;
+        // Register the codes now so the masks are complete even before a user with them has logged in
+        this.roleMask = roles == null ? 0L : CodeBits.AUTHORITY.register(List.of(roleAuthorities));
+        this.userTyMask = userTyCodes == null ? 0L : CodeBits.USER_TY.register(List.of(userTyCodes));
+        this.userSttusMask = userSttusCodes == null ? 0L : CodeBits.USER_STTUS.register(List.of(userSttusCodes));
+
+        List<String> parts = new ArrayList<>();
+        if (roles != null) {
+            parts.add("role in " + Arrays.toString(roles));
+        }
+        if (userTyCodes != null) {
+            parts.add("userTyCode in " + Arrays.toString(userTyCodes));
+        }
+        if (userSttusCodes != null) {
+            parts.add("userSttusCode in " + Arrays.toString(userSttusCodes));
+        }
+        this.description = parts.isEmpty() ? "authenticated" : String.join(" and ", parts);
+    }
+
+    /**
+     * Compile the rule from the annotations found on a handler method (each may be null)
+     */
+    static AccessRule of(RequireRole role, RequireUserTyCode userTyCode, RequireUserSttusCode userSttusCode) {
+        if (role == null && userTyCode == null && userSttusCode == null) {
+            return NONE;
+        }
+        return new AccessRule(role == null ? null : role.value(),
+                userTyCode == null ? null : userTyCode.value(),
+                userSttusCode == null ? null : userSttusCode.value());
+    }
+
+    /**
+     * @return null if user satisfies the rule, otherwise the reason it does not
+     */
+    public String check(CustomUserPrincipal user) {
+        if (roles != null && !matches(CodeBits.AUTHORITY, user.getAuthorityMask(), roleMask, authorityNames(user), roleAuthorities)) {
+            return "Access denied. Required role: " + Arrays.toString(roles);
+        }
+        if (userTyCodes != null && !matches(CodeBits.USER_TY, user.getUserTyMask(), userTyMask, user.getUserTyCode(), userTyCodes)) {
+            return "Access denied. Required user type code: " + Arrays.toString(userTyCodes);
+        }
+        if (userSttusCodes != null && !matches(CodeBits.USER_STTUS, user.getUserSttusMask(), userSttusMask, user.getUserSttusCode(), userSttusCodes)) {
+            return "Access denied. Required user status code: " + Arrays.toString(userSttusCodes);
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the rule has no requirement beyond authentication
+     */
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * Bit test, or a list comparison if the kind has more codes than bits
+     */
+    private static boolean matches(CodeBits bits, long have, long required, List<String> values, String[] codes) {
+        if (!bits.isOverflowed()) {
+            return (have & required) != 0L;
+        }
+        for (String code : codes) {
+            if (values.contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> authorityNames(CustomUserPrincipal user) {
+        if (!CodeBits.AUTHORITY.isOverflowed()) {
+            return List.of();
+        }
+        return user.getAuthorities().stream().map(a -> a.getAuthority()).toList();
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -4,7 +4,6 @@ import java.util.Arrays;
 import java.util.List;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
@@ -16,13 +15,16 @@ public class AuthorizationService {
 
     /**
      * Get the current authenticated user principal
+     * The principal is built once by CustomJwtAuthenticationConverter; a plain JwtAuthenticationToken
+     * (e.g. created by a test or another converter) is converted on the fly.
      */
     public CustomUserPrincipal getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth instanceof JwtAuthenticationToken) {
-            JwtAuthenticationToken jwtAuth = (JwtAuthenticationToken) auth;
-            Jwt jwt = jwtAuth.getToken();
-            return new CustomUserPrincipal(jwt);
+        if (auth != null && auth.getPrincipal() instanceof CustomUserPrincipal principal) {
+            return principal;
+        }
+        if (auth instanceof JwtAuthenticationToken jwtAuth) {
+            return new CustomUserPrincipal(jwtAuth.getToken());
         }
         throw new IllegalStateException("No authenticated JWT user found");
     }
@@ -39,8 +41,11 @@ public class AuthorizationService {
      */
     public boolean hasUserTyCode(String... codes) {
         CustomUserPrincipal user = getCurrentUser();
-        return user.getUserTyCode().stream()
-                .anyMatch(code -> Arrays.asList(codes).contains(code));
+        if (CodeBits.USER_TY.isOverflowed()) {
+            return user.getUserTyCode().stream()
+                    .anyMatch(code -> Arrays.asList(codes).contains(code));
+        }
+        return CodeBits.USER_TY.hasAny(user.getUserTyMask(), codes);
     }
 
     /**
@@ -48,8 +53,11 @@ public class AuthorizationService {
      */
     public boolean hasUserSttusCode(String... codes) {
         CustomUserPrincipal user = getCurrentUser();
-        return user.getUserSttusCode().stream()
-                .anyMatch(code -> Arrays.asList(codes).contains(code));
+        if (CodeBits.USER_STTUS.isOverflowed()) {
+            return user.getUserSttusCode().stream()
+                    .anyMatch(code -> Arrays.asList(codes).contains(code));
+        }
+        return CodeBits.USER_STTUS.hasAny(user.getUserSttusMask(), codes);
     }
 
     /**
@@ -57,8 +65,11 @@ public class AuthorizationService {
      */
     public boolean hasAllUserTyCodes(String... codes) {
         CustomUserPrincipal user = getCurrentUser();
-        return Arrays.stream(codes)
-                .allMatch(code -> user.getUserTyCode().contains(code));
+        if (CodeBits.USER_TY.isOverflowed()) {
+            return Arrays.stream(codes)
+                    .allMatch(code -> user.getUserTyCode().contains(code));
+        }
+        return CodeBits.USER_TY.hasAll(user.getUserTyMask(), codes);
     }
 
     /**
@@ -66,8 +77,11 @@ public class AuthorizationService {
      */
     public boolean hasAllUserSttusCodeS(String... codes) {
         CustomUserPrincipal user = getCurrentUser();
-        return Arrays.stream(codes)
-                .allMatch(code -> user.getUserSttusCode().contains(code));
+        if (CodeBits.USER_STTUS.isOverflowed()) {
+            return Arrays.stream(codes)
+                    .allMatch(code -> user.getUserSttusCode().contains(code));
+        }
+        return CodeBits.USER_STTUS.hasAll(user.getUserSttusMask(), codes);
     }
 
     /**
@@ -83,25 +97,36 @@ public class AuthorizationService {
      * Check if user has specific role
      */
     public boolean hasRole(String role) {
-        return SecurityContextHolder.getContext().getAuthentication()
-                .getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_" + role.toUpperCase()));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth.getPrincipal() instanceof CustomUserPrincipal user && !CodeBits.AUTHORITY.isOverflowed()) {
+            return (user.getAuthorityMask() & CodeBits.AUTHORITY.roleBit(role)) != 0L;
+        }
+        return auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_" + role.toUpperCase()));
     }
 
     /**
      * Check if user has any of the specified roles
      */
     public boolean hasAnyRole(String... roles) {
-        return Arrays.stream(roles)
-                .anyMatch(this::hasRole);
+        for (String role : roles) {
+            if (hasRole(role)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Check if user has all specified roles
      */
     public boolean hasAllRoles(String... roles) {
-        return Arrays.stream(roles)
-                .allMatch(this::hasRole);
+        for (String role : roles) {
+            if (!hasRole(role)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -109,8 +134,10 @@ public class AuthorizationService {
      */
     public boolean canAccess(String requiredUserTyCode, List<String> allowedUserSttusCode, String requiredRole) {
         CustomUserPrincipal user = getCurrentUser();
-        
-        boolean hasTyCode = user.getUserTyCode().contains(requiredUserTyCode);
+
+        boolean hasTyCode = CodeBits.USER_TY.isOverflowed()
+                ? user.getUserTyCode().contains(requiredUserTyCode)
+                : (user.getUserTyMask() & CodeBits.USER_TY.bit(requiredUserTyCode)) != 0L;
         boolean hasStatus = user.getUserSttusCode().stream()
                 .anyMatch(allowedUserSttusCode::contains);
         boolean hasRequiredRole = hasRole(requiredRole);
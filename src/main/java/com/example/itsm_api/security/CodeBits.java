@@ -0,0 +1,142 @@
+package com.example.itsm_api.security;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns one bit of a long to each distinct code of a kind (user type codes, user status codes,
+ * granted authorities), so a user's codes can be held as a single mask and checked with a bit test.
+ *
+ * Bits are assigned the first time a code is seen in a token and never change. The well-known codes
+ * are registered up front so their bits are stable constants. A kind can hold 64 codes; if more
+ * distinct codes ever appear the kind is marked overflowed and callers fall back to scanning lists.
+ */
+public final class CodeBits {
+
+    /** User type codes (userTyCode claim) */
+    public static final CodeBits USER_TY = new CodeBits("R000", "R001", "R002", "R003", "R004", "R005");
+    /** User status codes (userSttusCode claim) */
+    public static final CodeBits USER_STTUS = new CodeBits();
+    /** Granted authorities (ROLE_*) */
+    public static final CodeBits AUTHORITY = new CodeBits("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_HANDLER", "ROLE_REQUESTER");
+
+    private final ConcurrentHashMap<String, Long> bits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> roleBits = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile boolean overflowed;
+
+    private CodeBits(String... wellKnown) {
+        for (String code : wellKnown) {
+            register(code);
+        }
+    }
+
+    /**
+     * @return the bit of code, or 0 if the code has never been seen
+     */
+    public long bit(String code) {
+        if (code == null) {
+            return 0L;
+        }
+        Long bit = bits.get(code);
+        return bit == null ? 0L : bit;
+    }
+
+    /**
+     * Bit of the authority "ROLE_" + role.toUpperCase(), cached per role string so the check does not build the name
+     */
+    public long roleBit(String role) {
+        if (role == null) {
+            return 0L;
+        }
+        Long bit = roleBits.get(role);
+        if (bit != null) {
+            return bit;
+        }
+        long b = bit("ROLE_" + role.toUpperCase());
+        if (b != 0L) {
+            roleBits.put(role, b);
+        }
+        return b;
+    }
+
+    /**
+     * @return OR of the bits of codes (codes never seen contribute nothing)
+     */
+    public long maskOf(String... codes) {
+        long mask = 0L;
+        for (String code : codes) {
+            mask |= bit(code);
+        }
+        return mask;
+    }
+
+    /**
+     * Register codes (if new) and return their mask
+     */
+    long register(Collection<String> codes) {
+        long mask = 0L;
+        for (String code : codes) {
+            mask |= register(code);
+        }
+        return mask;
+    }
+
+    private long register(String code) {
+        if (code == null) {
+            return 0L;
+        }
+        Long bit = bits.get(code);
+        if (bit != null) {
+            return bit;
+        }
+        synchronized (this) {
+            bit = bits.get(code);
+            if (bit != null) {
+                return bit;
+            }
+            int index = next.get();
+            if (index >= Long.SIZE) {
+                overflowed = true;
+                return 0L;
+            }
+            next.incrementAndGet();
+            long b = 1L << index;
+            bits.put(code, b);
+            return b;
+        }
+    }
+
+    /**
+     * @return true if more than 64 distinct codes were seen (masks are incomplete, scan lists instead)
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * @return true if mask has at least one of codes
+     */
+    public boolean hasAny(long mask, String... codes) {
+        for (String code : codes) {
+            if ((mask & bit(code)) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if mask has every one of codes
+     */
+    public boolean hasAll(long mask, String... codes) {
+        for (String code : codes) {
+            long b = bit(code);
+            if (b == 0L || (mask & b) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
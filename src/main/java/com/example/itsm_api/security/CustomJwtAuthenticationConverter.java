@@ -0,0 +1,17 @@
+package com.example.itsm_api.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Converts a validated Jwt into a {@link CustomUserAuthenticationToken}.
+ * Claims and authorities are extracted here, once per request; later lookups read fields of the principal.
+ */
+public class CustomJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        return new CustomUserAuthenticationToken(new CustomUserPrincipal(jwt));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.itsm_api.security;
+
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * JWT authentication whose principal is the {@link CustomUserPrincipal} built once when the token is converted.
+ * getToken() still returns the raw Jwt, so code that needs claims directly keeps working.
+ */
+public class CustomUserAuthenticationToken extends JwtAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CustomUserPrincipal principal;
+
+    public CustomUserAuthenticationToken(CustomUserPrincipal principal) {
+        super(principal.getJwt(), principal.getAuthorities(), principal.getJwt().getSubject());
+        this.principal = principal;
+    }
+
+    @Override
+    public CustomUserPrincipal getPrincipal() {
+        return principal;
+    }
+}
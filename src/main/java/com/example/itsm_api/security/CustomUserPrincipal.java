@@ -12,6 +12,11 @@ import org.springframework.security.oauth2.jwt.Jwt;
 
 /**
  * Custom UserPrincipal that extracts user attributes from Keycloak JWT token
+ * 
+ * Built once per request by CustomJwtAuthenticationConverter and installed as the authentication principal.
+ * Claims are read once into a UserContext; this is the single place where they are mapped to ROLE_* authorities.
+ * User type codes, status codes and authorities are also compiled into bit masks (see CodeBits)
+ * so authorization checks are a single AND instead of a list scan.
  */
 public class CustomUserPrincipal implements UserDetails {
     private static final Logger log = LoggerFactory.getLogger(CustomUserPrincipal.class);
@@ -27,20 +32,27 @@ public class CustomUserPrincipal implements UserDetails {
     private final List<String> classNm;         // Class Name
     private final Collection<? extends GrantedAuthority> authorities;
     private final Jwt jwt;
+    private final UserContext context;
+    private final long userTyMask;
+    private final long userSttusMask;
+    private final long authorityMask;
 
     public CustomUserPrincipal(Jwt jwt) {
+        this(jwt, UserContext.of(jwt));
+    }
+
+    public CustomUserPrincipal(Jwt jwt, UserContext context) {
         this.jwt = jwt;
-        this.username = jwt.getClaimAsString("preferred_username");
-        this.email = jwt.getClaimAsString("email");
-        this.firstName = jwt.getClaimAsString("given_name");
-        
-        // Extract custom attributes - try direct claims first, then check "attributes" map
-        this.userTyCode = extractClaimAsList(jwt, "userTyCode");
-        this.userSttusCode = extractClaimAsList(jwt, "userSttusCode");
-        this.deptCd = extractClaimAsList(jwt, "deptCd");
-        this.deptNm = extractClaimAsList(jwt, "deptNm");
-        this.position = extractClaimAsList(jwt, "position");
-        this.classNm = extractClaimAsList(jwt, "classNm");
+        this.context = context;
+        this.username = context.username();
+        this.email = context.email();
+        this.firstName = context.firstName();
+        this.userTyCode = context.userTyCodes();
+        this.userSttusCode = context.userSttusCodes();
+        this.deptCd = context.deptCd();
+        this.deptNm = context.deptNm();
+        this.position = context.position();
+        this.classNm = context.classNm();
 
         // Log extracted values for debugging
         log.debug("JWT User Principal created - username: {}, userTyCode: {}, userSttusCode: {}", 
@@ -55,64 +67,30 @@ public class CustomUserPrincipal implements UserDetails {
         // Build authorities: include realm roles and mapped userTyCode roles
         var authoritiesList = new java.util.ArrayList<GrantedAuthority>();
 
-        var realmAccess = jwt.getClaimAsMap("realm_access");
-        if (realmAccess != null && realmAccess.containsKey("roles")) {
-            @SuppressWarnings("unchecked")
-            var roles = (Collection<String>) realmAccess.get("roles");
-            roles.stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
-                    .forEach(authoritiesList::add);
-        }
-
-        // Map userTyCode values (R001,R002,...) into ROLE_* for Spring @PreAuthorize checks
-        if (this.userTyCode != null && !this.userTyCode.isEmpty()) {
-            this.userTyCode.stream().distinct().forEach(code -> {
-                String mapped = switch (code) {
-                    case "R001" -> "ADMIN"; // treat R001 as Admin
-                    case "R002" -> "MANAGER";
-                    case "R003" -> "HANDLER";
-                    case "R005" -> "REQUESTER";
-                    default -> null;
-                };
-                if (mapped != null) {
-                    authoritiesList.add(new SimpleGrantedAuthority("ROLE_" + mapped));
-                }
-            });
-        }
+        context.realmRoles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                .forEach(authoritiesList::add);
+
+        // Map userTyCode values (R001,R002,...) into ROLE_* for @RequireRole checks
+        this.userTyCode.stream().distinct().forEach(code -> {
+            String mapped = switch (code) {
+                case "R001" -> "ADMIN"; // treat R001 as Admin
+                case "R002" -> "MANAGER";
+                case "R003" -> "HANDLER";
+                case "R005" -> "REQUESTER";
+                default -> null;
+            };
+            if (mapped != null) {
+                authoritiesList.add(new SimpleGrantedAuthority("ROLE_" + mapped));
+            }
+        });
 
-        this.authorities = authoritiesList;
-    }
+        this.authorities = Collections.unmodifiableList(authoritiesList);
 
-    /**
-     * Extract a claim from JWT as a List of Strings.
-     * First tries to get the claim directly from the JWT.
-     * If not found, checks inside the "attributes" claim.
-     * Handles both String and List values.
-     */
-    @SuppressWarnings("unchecked")
-    private List<String> extractClaimAsList(Jwt jwt, String claimName) {
-        // Try to get claim directly from JWT
-        Object directClaim = jwt.getClaim(claimName);
-        if (directClaim != null) {
-            if (directClaim instanceof List) {
-                return (List<String>) directClaim;
-            } else if (directClaim instanceof String) {
-                return Collections.singletonList((String) directClaim);
-            }
-        }
-        
-        // Fallback: try to get from "attributes" map
-        var attributes = jwt.getClaimAsMap("attributes");
-        if (attributes != null) {
-            var value = attributes.get(claimName);
-            if (value instanceof List) {
-                return (List<String>) value;
-            } else if (value instanceof String) {
-                return Collections.singletonList((String) value);
-            }
-        }
-        
-        return Collections.emptyList();
+        this.userTyMask = CodeBits.USER_TY.register(userTyCode);
+        this.userSttusMask = CodeBits.USER_STTUS.register(userSttusCode);
+        this.authorityMask = CodeBits.AUTHORITY.register(
+                authoritiesList.stream().map(GrantedAuthority::getAuthority).toList());
     }
 
     @Override
@@ -186,4 +164,32 @@ public class CustomUserPrincipal implements UserDetails {
     public Jwt getJwt() {
         return jwt;
     }
+
+    /**
+     * @return the claims of this user resolved when the token was converted
+     */
+    public UserContext getUserContext() {
+        return context;
+    }
+
+    /**
+     * @return bits (CodeBits.USER_TY) of the user's type codes
+     */
+    public long getUserTyMask() {
+        return userTyMask;
+    }
+
+    /**
+     * @return bits (CodeBits.USER_STTUS) of the user's status codes
+     */
+    public long getUserSttusMask() {
+        return userSttusMask;
+    }
+
+    /**
+     * @return bits (CodeBits.AUTHORITY) of the user's granted authorities
+     */
+    public long getAuthorityMask() {
+        return authorityMask;
+    }
 }
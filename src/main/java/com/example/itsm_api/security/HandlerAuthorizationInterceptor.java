@@ -0,0 +1,100 @@
+package com.example.itsm_api.security;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Enforces @RequireRole, @RequireUserTyCode and @RequireUserSttusCode on controller methods.
+ *
+ * At startup every handler method is compiled into an AccessRule (bit masks, see CodeBits) and the
+ * effective rule of each endpoint is logged. Per request the check is a map lookup by handler method
+ * and a few bit tests; controllers are plain beans (no AOP proxy, no SpEL evaluation).
+ * Denials throw AccessDeniedException, answered with 403 by SecurityExceptionHandler.
+ */
+@Component
+public class HandlerAuthorizationInterceptor implements HandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(HandlerAuthorizationInterceptor.class);
+
+    private final AuthorizationService authorizationService;
+    private final Map<Method, AccessRule> rules = new ConcurrentHashMap<>();
+
+    public HandlerAuthorizationInterceptor(AuthorizationService authorizationService) {
+        this.authorizationService = authorizationService;
+    }
+
+    /**
+     * Compile the rules of all request mappings and log them (one line per endpoint)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void compileRules(ApplicationReadyEvent event) {
+        RequestMappingHandlerMapping mapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        Map<String, String> report = new TreeMap<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+            AccessRule rule = ruleOf(entry.getValue().getMethod());
+            report.put(entry.getKey().toString(), rule.toString());
+        }
+        StringBuilder sb = new StringBuilder("Endpoint authorization rules:");
+        report.forEach((endpoint, rule) -> sb.append("\n  ").append(endpoint).append(" -> ").append(rule));
+        log.info(sb.toString());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        AccessRule rule = ruleOf(handlerMethod.getMethod());
+        if (rule.isEmpty()) {
+            return true;
+        }
+        CustomUserPrincipal user;
+        try {
+            user = authorizationService.getCurrentUser();
+        } catch (IllegalStateException e) {
+            throw new AccessDeniedException("Access denied. Authentication required");
+        }
+        String denied = rule.check(user);
+        if (denied != null) {
+            throw new AccessDeniedException(denied);
+        }
+        return true;
+    }
+
+    /**
+     * @return the compiled rule of a handler method (compiled on first use if not seen at startup)
+     */
+    public AccessRule ruleOf(Method method) {
+        AccessRule rule = rules.get(method);
+        return rule != null ? rule : rules.computeIfAbsent(method, HandlerAuthorizationInterceptor::compile);
+    }
+
+    private static AccessRule compile(Method method) {
+        Class<?> type = method.getDeclaringClass();
+        return AccessRule.of(find(method, type, RequireRole.class),
+                find(method, type, RequireUserTyCode.class),
+                find(method, type, RequireUserSttusCode.class));
+    }
+
+    private static <A extends java.lang.annotation.Annotation> A find(Method method, Class<?> type, Class<A> annotation) {
+        A found = AnnotatedElementUtils.findMergedAnnotation(method, annotation);
+        return found != null ? found : AnnotatedElementUtils.findMergedAnnotation(type, annotation);
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.itsm_api.security;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.JSONObjectUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Signing keys for JWT verification, kept in memory and refreshed in the background.
+ *
+ * On startup the issuer metadata and JWKS are fetched on the "jwks-refresh" thread, retrying with
+ * backoff until they load; afterwards the keys are re-fetched every itsm.jwt.jwks-refresh-ms.
+ * A token whose kid is not in the current set is rejected immediately and triggers an early
+ * refresh (at most once per itsm.jwt.jwks-min-refresh-interval-ms), so request threads never
+ * wait on Keycloak once the first key set is loaded. Only requests arriving before that wait,
+ * for at most itsm.jwt.startup-wait-ms.
+ *
+ * The accepted signature algorithms follow the keys: a key's alg if it is published, otherwise
+ * every algorithm of its key type (RSA: RS and PS, EC: ES, OKP: EdDSA). {@link #keySelector()}
+ * gives the decoder that set, so a realm that switches to e.g. ES256 needs no code change.
+ *
+ * With itsm.jwt.jwks-file set, keys are read from that JWKS file (classpath: or file: location)
+ * instead of Keycloak, so tests and isolated environments start without network access.
+ */
+@Component
+public class JwksKeySource implements JWKSource<SecurityContext> {
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private static final long INITIAL_RETRY_MS = 1000;
+
+    private final String issuerUri;
+    private final String jwksFile;
+    private final long refreshMs;
+    private final long startupWaitMs;
+    private final long minRefreshIntervalNanos;
+    private final ResourceLoader resourceLoader;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final RejectedTokenCache rejectedTokenCache;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private final Map<JWSAlgorithm, JWSKeySelector<SecurityContext>> keySelectors = new ConcurrentHashMap<>();
+
+    private volatile JWKSet jwkSet;
+    private volatile String[] keyIds;
+    private volatile Set<JWSAlgorithm> algorithms = Set.of();
+    private volatile String[] algorithmNames;
+    private volatile String jwkSetUri;
+    private volatile long lastRefreshNanos;
+    private long retryMs = INITIAL_RETRY_MS;
+
+    public JwksKeySource(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:http://localhost:8080/realms/itsm}") String issuerUri,
+                         @Value("${itsm.jwt.jwks-file:}") String jwksFile,
+                         @Value("${itsm.jwt.jwks-refresh-ms:300000}") long refreshMs,
+                         @Value("${itsm.jwt.startup-wait-ms:10000}") long startupWaitMs,
+                         @Value("${itsm.jwt.jwks-min-refresh-interval-ms:30000}") long minRefreshIntervalMs,
+                         ResourceLoader resourceLoader, VerifiedJwtCache verifiedJwtCache,
+                         RejectedTokenCache rejectedTokenCache) {
+        this.issuerUri = issuerUri;
+        this.jwksFile = jwksFile == null || jwksFile.isBlank() ? null : jwksFile;
+        this.refreshMs = refreshMs;
+        this.startupWaitMs = startupWaitMs;
+        this.minRefreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minRefreshIntervalMs);
+        this.lastRefreshNanos = System.nanoTime() - this.minRefreshIntervalNanos;
+        this.resourceLoader = resourceLoader;
+        this.verifiedJwtCache = verifiedJwtCache;
+        this.rejectedTokenCache = rejectedTokenCache;
+    }
+
+    /**
+     * Load a local JWKS file immediately, or start fetching from Keycloak in the background
+     */
+    @PostConstruct
+    public void start() {
+        if (jwksFile != null) {
+            refresh();
+        } else {
+            scheduler.execute(this::refresh);
+        }
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet keys = currentKeys();
+        List<JWK> matches = jwkSelector.select(keys);
+        if (matches.isEmpty()) {
+            // Unknown kid: the keys may have rotated. Reject this token now and refresh in the background
+            requestRefresh();
+        }
+        return matches;
+    }
+
+    /**
+     * @return true once a key set has been loaded
+     */
+    public boolean isReady() {
+        return jwkSet != null;
+    }
+
+    /**
+     * @return kids of the current key set (not to be modified), or null before the first load
+     */
+    String[] keyIds() {
+        return keyIds;
+    }
+
+    /**
+     * @return names of the accepted signature algorithms (not to be modified), or null before the first load
+     */
+    String[] algorithmNames() {
+        return algorithmNames;
+    }
+
+    /**
+     * Key selector for NimbusJwtDecoder: keys matching the token's kid and alg, or none when the alg
+     * is not one the current keys are published for
+     */
+    public JWSKeySelector<SecurityContext> keySelector() {
+        return (header, context) -> {
+            currentKeys();
+            JWSAlgorithm alg = header.getAlgorithm();
+            if (!algorithms.contains(alg)) {
+                return List.of();
+            }
+            return keySelectors.computeIfAbsent(alg, a -> new JWSVerificationKeySelector<>(a, this))
+                    .selectJWSKeys(header, context);
+        };
+    }
+
+    private JWKSet currentKeys() throws KeySourceException {
+        JWKSet keys = jwkSet;
+        if (keys != null) {
+            return keys;
+        }
+        try {
+            loaded.await(startupWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        keys = jwkSet;
+        if (keys == null) {
+            throw new KeySourceException("JWKS not loaded yet - Keycloak may be unavailable (" + issuerUri + ")");
+        }
+        return keys;
+    }
+
+    /**
+     * Refresh the keys in the background soon (unknown kid seen), at most once per min refresh interval
+     */
+    void requestRefresh() {
+        if (System.nanoTime() - lastRefreshNanos < minRefreshIntervalNanos) {
+            return;
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        refreshQueued.set(false);
+        lastRefreshNanos = System.nanoTime();
+        try {
+            publish(jwksFile != null ? loadFile() : fetch());
+            retryMs = INITIAL_RETRY_MS;
+        } catch (Exception e) {
+            if (jwkSet == null) {
+                // Not loaded yet: retry sooner than the regular refresh, backing off up to it
+                log.warn("JWKS load failed, retrying in {}ms: {}", retryMs, e.getMessage());
+                if (!scheduler.isShutdown()) {
+                    scheduler.schedule(this::refresh, retryMs, TimeUnit.MILLISECONDS);
+                }
+                retryMs = Math.min(retryMs * 2, refreshMs);
+            } else {
+                log.warn("JWKS refresh failed, keeping {} cached keys: {}", jwkSet.getKeys().size(), e.getMessage());
+            }
+        }
+    }
+
+    private void publish(JWKSet next) {
+        JWKSet previous = jwkSet;
+        Set<String> kids = keyIds(next);
+        Set<JWSAlgorithm> algs = algorithms(next);
+        algorithms = algs;
+        algorithmNames = algs.stream().map(JWSAlgorithm::getName).toArray(String[]::new);
+        keyIds = kids.toArray(new String[0]);
+        jwkSet = next;
+        loaded.countDown();
+        if (previous == null || !kids.equals(keyIds(previous))) {
+            log.info("JWKS loaded from {}: kids={}, algs={}", jwksFile != null ? jwksFile : jwkSetUri, kids, algs);
+            if (previous != null) {
+                verifiedJwtCache.retainSigningKeys(kids);
+                rejectedTokenCache.clear();
+            }
+        }
+    }
+
+    private JWKSet loadFile() throws Exception {
+        Resource resource = resourceLoader.getResource(jwksFile);
+        try (InputStream in = resource.getInputStream()) {
+            return JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8)).toPublicJWKSet();
+        }
+    }
+
+    private JWKSet fetch() throws Exception {
+        if (jwkSetUri == null) {
+            String metadataUri = issuerUri.replaceAll("/+$", "") + "/.well-known/openid-configuration";
+            jwkSetUri = JSONObjectUtils.getString(JSONObjectUtils.parse(get(metadataUri)), "jwks_uri");
+        }
+        return JWKSet.parse(get(jwkSetUri)).toPublicJWKSet();
+    }
+
+    private String get(String uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Signature algorithms the keys can verify: the published alg, or every algorithm of the key type
+     */
+    static Set<JWSAlgorithm> algorithms(JWKSet keys) {
+        Set<JWSAlgorithm> algs = new HashSet<>();
+        for (JWK key : keys.getKeys()) {
+            if (KeyUse.ENCRYPTION.equals(key.getKeyUse())) {
+                continue;
+            }
+            if (key.getAlgorithm() != null) {
+                JWSAlgorithm alg = JWSAlgorithm.parse(key.getAlgorithm().getName());
+                if (JWSAlgorithm.Family.SIGNATURE.contains(alg)) {
+                    algs.add(alg);
+                }
+            } else if (KeyType.RSA.equals(key.getKeyType())) {
+                algs.addAll(JWSAlgorithm.Family.RSA);
+            } else if (KeyType.EC.equals(key.getKeyType())) {
+                algs.addAll(JWSAlgorithm.Family.EC);
+            } else if (KeyType.OKP.equals(key.getKeyType())) {
+                algs.addAll(JWSAlgorithm.Family.ED);
+            }
+        }
+        return Set.copyOf(algs);
+    }
+
+    private static Set<String> keyIds(JWKSet keys) {
+        return keys.getKeys().stream()
+                .map(JWK::getKeyID)
+                .filter(kid -> kid != null)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.itsm_api.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded negative cache of bearer tokens that recently failed verification, plus rejection counters.
+ *
+ * A token that passes TokenFormatFilter's cheap checks but fails signature or claim validation is
+ * remembered here, so when a broken client or a scanner repeats it, the filter rejects it again
+ * without another signature verification. exp / nbf failures are not remembered, since the same
+ * token may be accepted a moment later when the clocks disagree. Entries are 64-bit hashes of the token in a fixed-size
+ * direct-mapped table (a newer token simply replaces an older one in the same slot), so lookups and
+ * inserts are lock-free and allocate nothing. The table is cleared when the signing keys change,
+ * because a token rejected for an unknown key may be valid under the new key set.
+ */
+@Component
+public class RejectedTokenCache {
+
+    /** Why a bearer token was rejected */
+    public enum Reason {
+        /** Not three non-empty base64url segments */
+        MALFORMED,
+        /** Longer than itsm.jwt.max-token-length */
+        TOO_LONG,
+        /** Header alg is not one the current signing keys are published for */
+        UNSUPPORTED_ALG,
+        /** Header kid is not in the current JWKS */
+        UNKNOWN_KID,
+        /** exp is in the past (beyond the allowed clock skew) */
+        EXPIRED,
+        /** Same token failed verification recently (negative cache hit) */
+        RECENTLY_REJECTED,
+        /** Failed signature or claim validation in the decoder */
+        INVALID
+    }
+
+    private final int mask;
+    private final long ttlMillis;
+    /** slot i: [2i] = token hash (0 = empty), [2i + 1] = expiry (epoch millis) */
+    private final AtomicLongArray slots;
+    private final LongAdder[] rejections = new LongAdder[Reason.values().length];
+
+    public RejectedTokenCache(@Value("${itsm.jwt.rejected-cache-size:4096}") int size,
+                              @Value("${itsm.jwt.rejected-cache-ttl-seconds:300}") long ttlSeconds) {
+        int capacity = Integer.highestOneBit(Math.max(1, size));
+        this.mask = size <= 0 ? -1 : capacity - 1;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.slots = new AtomicLongArray(size <= 0 ? 0 : capacity * 2);
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return true if the token s[from, to) failed verification within the TTL
+     */
+    public boolean contains(CharSequence s, int from, int to) {
+        if (mask < 0) {
+            return false;
+        }
+        long hash = hash(s, from, to);
+        int slot = (int) hash & mask;
+        return slots.get(slot * 2) == hash && System.currentTimeMillis() < slots.get(slot * 2 + 1);
+    }
+
+    /**
+     * Remember a token that failed verification in the decoder
+     */
+    public void add(String token) {
+        rejections[Reason.INVALID.ordinal()].increment();
+        if (mask < 0) {
+            return;
+        }
+        long hash = hash(token, 0, token.length());
+        int slot = (int) hash & mask;
+        slots.set(slot * 2 + 1, System.currentTimeMillis() + ttlMillis);
+        slots.set(slot * 2, hash);
+    }
+
+    /**
+     * Forget all tokens (signing keys changed)
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i += 2) {
+            slots.set(i, 0L);
+        }
+    }
+
+    /**
+     * Count a token rejected before reaching the decoder
+     */
+    public void record(Reason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    public long rejectedCount(Reason reason) {
+        return rejections[reason.ordinal()].sum();
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, with a final mix so the low bits used for the slot are well spread
+     */
+    static long hash(CharSequence s, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == 0L ? 1L : h;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.itsm_api.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Custom annotation to require any of the given role(s) (ROLE_* authorities, without the prefix)
+ * 
+ * Usage:
+ * @RequireRole("ADMIN")
+ * @RequireRole({"HANDLER", "ADMIN", "MANAGER"})
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequireRole {
+    String[] value();
+}
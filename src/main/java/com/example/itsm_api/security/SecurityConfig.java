@@ -1,24 +1,26 @@
 package com.example.itsm_api.security;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtTypeValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -28,26 +30,33 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
-@EnableAspectJAutoProxy
 public class SecurityConfig implements WebMvcConfigurer {
 
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:http://localhost:8080/realms/itsm}")
     private String issuerUri;
 
     @Autowired
-    private JwtUserTypeCodeInterceptor jwtUserTypeCodeInterceptor;
+    private HandlerAuthorizationInterceptor handlerAuthorizationInterceptor;
 
+    /**
+     * TokenFormatFilter runs inside this chain, after CorsFilter and just before the bearer token is decoded,
+     * so its 401s carry the CORS headers and the same WWW-Authenticate header as a decoder failure
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwksKeySource jwksKeySource,
+                                           RejectedTokenCache rejectedTokenCache,
+                                           @Value("${itsm.jwt.max-token-length:8192}") int maxTokenLength) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
+                        .requestMatchers("/actuator/statements").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+                .addFilterBefore(new TokenFormatFilter(jwksKeySource, rejectedTokenCache, maxTokenLength),
+                        BearerTokenAuthenticationFilter.class);
 
         return http.build();
     }
@@ -68,135 +77,108 @@ public CorsConfigurationSource corsConfigurationSource() {
 }
 
     /**
-     * Register JWT user type code interceptor
-     * Extracts userTyCode from JWT token and stores in request attributes
+     * Register the handler authorization interceptor
+     * Enforces @RequireRole / @RequireUserTyCode / @RequireUserSttusCode rules compiled at startup
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(jwtUserTypeCodeInterceptor);
+        registry.addInterceptor(handlerAuthorizationInterceptor);
     }
 
     /**
-     * Custom JWT Authentication Converter that extracts user attributes
+     * Custom JWT Authentication Converter that builds the CustomUserPrincipal once per request
+     * (user attributes and ROLE_* authorities are extracted in CustomUserPrincipal)
      */
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(this::extractAuthorities);
-        return converter;
-    }
-
-    private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
-        var realmAccess = jwt.getClaimAsMap("realm_access");
-        var authorities = new java.util.ArrayList<GrantedAuthority>();
-
-        if (realmAccess != null && realmAccess.containsKey("roles")) {
-            @SuppressWarnings("unchecked")
-            var roles = (Collection<String>) realmAccess.get("roles");
-            roles.stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
-                    .forEach(authorities::add);
-        }
-
-        // Also map userTyCode claim values (e.g. R001 -> MANAGER) into ROLE_* authorities
-        Object userTyClaim = jwt.getClaim("userTyCode");
-        java.util.List<String> userTyCodes = new java.util.ArrayList<>();
-        if (userTyClaim instanceof Collection) {
-            @SuppressWarnings("unchecked")
-            var list = (Collection<String>) userTyClaim;
-            userTyCodes.addAll(list);
-        } else if (userTyClaim instanceof String) {
-            userTyCodes.add((String) userTyClaim);
-        } else {
-            // try attributes map fallback
-            var attrs = jwt.getClaimAsMap("attributes");
-            if (attrs != null && attrs.get("userTyCode") != null) {
-                Object v = attrs.get("userTyCode");
-                if (v instanceof Collection) {
-                    @SuppressWarnings("unchecked")
-                    var list = (Collection<String>) v;
-                    userTyCodes.addAll(list);
-                } else if (v instanceof String) {
-                    userTyCodes.add((String) v);
-                }
-            }
-        }
-
-        for (String code : userTyCodes) {
-            String mapped = switch (code) {
-                case "R001" -> "ADMIN"; // treat R001 as Admin by request
-                case "R002" -> "MANAGER";
-                case "R003" -> "HANDLER";
-                case "R005" -> "REQUESTER";
-                default -> null;
-            };
-            if (mapped != null) {
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + mapped));
-            }
-        }
-
-        return authorities;
+    public CustomJwtAuthenticationConverter jwtAuthenticationConverter() {
+        return new CustomJwtAuthenticationConverter();
     }
 
     /**
      * Configure JWT decoder with Keycloak issuer
-     * Uses lazy initialization to allow app to start even if Keycloak is unavailable
+     * Signing keys come from JwksKeySource, which loads them in the background (or from a local JWKS file),
+     * so building the decoder needs no network access and the app starts even if Keycloak is unavailable.
+     * Tokens that were already verified are served from VerifiedJwtCache; tokens that fail verification
+     * are remembered in RejectedTokenCache so TokenFormatFilter turns away repeats without verifying them again.
+     * The accepted signature algorithms are those of the loaded keys (JwksKeySource.keySelector), not just RS256
+     * exp / nbf are checked by CachingJwtDecoder after the other validators, so a token that is only outside its
+     * validity window (e.g. nbf a little ahead of this server's clock) is not remembered as rejected.
+     * The other validators are Spring's defaults (typ, issuer) without the mTLS certificate-bound token check,
+     * since this API does not take client certificates
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return new LazyJwtDecoder(issuerUri);
+    public JwtDecoder jwtDecoder(JwksKeySource jwksKeySource, VerifiedJwtCache verifiedJwtCache,
+                                 RejectedTokenCache rejectedTokenCache) {
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withJwkSource(jwksKeySource)
+                .jwtProcessorCustomizer(processor -> processor.setJWSKeySelector(jwksKeySource.keySelector()))
+                .build();
+        nimbus.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtTypeValidator.jwt(), new JwtIssuerValidator(issuerUri)));
+        return new CachingJwtDecoder(nimbus, verifiedJwtCache, rejectedTokenCache);
     }
 
     /**
-     * Custom JwtDecoder that defers Keycloak configuration resolution until first use
+     * JwtDecoder that serves already-verified tokens from VerifiedJwtCache and maps decode failures to JwtException
      */
-    private static class LazyJwtDecoder implements JwtDecoder {
-        private final String issuerUri;
-        private JwtDecoder delegate;
-        private boolean initialized = false;
-        private Exception initException;
-
-        LazyJwtDecoder(String issuerUri) {
-            this.issuerUri = issuerUri;
+    private static class CachingJwtDecoder implements JwtDecoder {
+        private final JwtDecoder delegate;
+        private final VerifiedJwtCache verifiedJwtCache;
+        private final RejectedTokenCache rejectedTokenCache;
+        private final OAuth2TokenValidator<Jwt> timestampValidator = new JwtTimestampValidator();
+
+        CachingJwtDecoder(JwtDecoder delegate, VerifiedJwtCache verifiedJwtCache, RejectedTokenCache rejectedTokenCache) {
+            this.delegate = delegate;
+            this.verifiedJwtCache = verifiedJwtCache;
+            this.rejectedTokenCache = rejectedTokenCache;
         }
 
-        private void initializeDelegate() {
-            if (!initialized) {
+        @Override
+        public Jwt decode(String token) {
+            long start = System.nanoTime();
+            Jwt cached = verifiedJwtCache.get(token);
+            if (cached != null) {
+                verifiedJwtCache.recordHit(System.nanoTime() - start);
+                return cached;
+            }
+            try {
+                Jwt jwt;
                 try {
-                    this.delegate = NimbusJwtDecoder.withIssuerLocation(issuerUri).build();
-                } catch (Exception e) {
-                    this.initException = e;
-                    System.err.println("Warning: Failed to initialize JWT decoder - Keycloak may be unavailable: " + e.getMessage());
+                    jwt = verify(token);
+                } catch (BadJwtException e) {
+                    // The token itself is invalid (signature, claims, format); not a key source or network failure
+                    rejectedTokenCache.add(token);
+                    throw e;
+                }
+                Collection<OAuth2Error> errors = timestampValidator.validate(jwt).getErrors();
+                if (!errors.isEmpty()) {
+                    // Counted, but not cached: the same token may be valid a moment later (clock skew)
+                    rejectedTokenCache.record(RejectedTokenCache.Reason.INVALID);
+                    throw new JwtValidationException(errors.iterator().next().getDescription(), errors);
                 }
-                initialized = true;
+                verifiedJwtCache.put(token, jwt);
+                return jwt;
+            } finally {
+                verifiedJwtCache.recordMiss(System.nanoTime() - start);
             }
         }
 
-        @Override
-        public Jwt decode(String token) {
-            initializeDelegate();
-            if (delegate != null) {
-                try {
-                    return delegate.decode(token);
-                } catch (org.springframework.security.oauth2.jwt.JwtException je) {
-                    // already a JwtException -> rethrow so the framework treats it as auth failure
-                    throw je;
-                } catch (Exception e) {
-                    // Unwrap causes to detect parser ParseException (thrown by Nimbus) and map it to JwtException
-                    Throwable cause = e;
-                    while (cause != null) {
-                        if (cause instanceof java.text.ParseException) {
-                            throw new org.springframework.security.oauth2.jwt.JwtException("Malformed JWT: " + cause.getMessage(), e);
-                        }
-                        cause = cause.getCause();
+        private Jwt verify(String token) {
+            try {
+                return delegate.decode(token);
+            } catch (org.springframework.security.oauth2.jwt.JwtException je) {
+                // already a JwtException -> rethrow so the framework treats it as auth failure
+                throw je;
+            } catch (Exception e) {
+                // Unwrap causes to detect parser ParseException (thrown by Nimbus) and map it to JwtException
+                Throwable cause = e;
+                while (cause != null) {
+                    if (cause instanceof java.text.ParseException) {
+                        throw new org.springframework.security.oauth2.jwt.JwtException("Malformed JWT: " + cause.getMessage(), e);
                     }
-                    // wrap other exceptions to JwtException so Spring Security returns 401
-                    throw new org.springframework.security.oauth2.jwt.JwtException("Error decoding JWT: " + e.getMessage(), e);
+                    cause = cause.getCause();
                 }
-            } else if (initException != null) {
-                throw new IllegalStateException("JWT decoder not available - Keycloak configuration could not be resolved", initException);
+                // wrap other exceptions to JwtException so Spring Security returns 401
+                throw new org.springframework.security.oauth2.jwt.JwtException("Error decoding JWT: " + e.getMessage(), e);
             }
-            throw new IllegalStateException("JWT decoder initialization failed");
         }
     }
 }
@@ -18,13 +18,24 @@ public class SrAuthorizationService {
     public static final String ROLE_CONSULTANT = "R004"; // Consultant
     public static final String ROLE_CUSTOM = "R005";    // Custom/Reserved role
 
+    // Allowed user types per action, as CodeBits.USER_TY masks (checked with one AND)
+    private static final long CREATE_SR = CodeBits.USER_TY.maskOf(ROLE_CUSTOMER, ROLE_MANAGER);
+    private static final long MANAGER = CodeBits.USER_TY.maskOf(ROLE_MANAGER);
+    private static final long CHARGER = CodeBits.USER_TY.maskOf(ROLE_CHARGER);
+    private static final long CUSTOMER = CodeBits.USER_TY.maskOf(ROLE_CUSTOMER);
+    private static final long CUSTOM = CodeBits.USER_TY.maskOf(ROLE_CUSTOM);
+
+    private static boolean allowed(String userTyCode, long mask) {
+        return (CodeBits.USER_TY.bit(userTyCode) & mask) != 0L;
+    }
+
     /**
      * Verify user can create SR (Customer or Manager)
      * R002 (Customer): Can create SR
      * R001 (Manager): Can create SR with full parameters via /manager endpoint
      */
     public void verifyCanCreateSr(String userTyCode) {
-        if (userTyCode == null || (!userTyCode.equals(ROLE_CUSTOMER) && !userTyCode.equals(ROLE_MANAGER))) {
+        if (!allowed(userTyCode, CREATE_SR)) {
             throw new AccessDeniedException("User type " + userTyCode + " cannot create Service Requests");
         }
     }
@@ -34,7 +45,7 @@ public class SrAuthorizationService {
      * Manager endpoint requires R001 role
      */
     public void verifyCanCreateSrAsManager(String userTyCode) {
-        if (userTyCode == null || !userTyCode.equals(ROLE_MANAGER)) {
+        if (!allowed(userTyCode, MANAGER)) {
             throw new AccessDeniedException("Only managers (R001) can use the /manager endpoint. Current role: " + userTyCode);
         }
     }
@@ -43,7 +54,7 @@ public class SrAuthorizationService {
      * Verify user can receive/acknowledge SR (Handler R003 only)
      */
     public void verifyCanReceiveSr(String userTyCode) {
-        if (userTyCode == null || !userTyCode.equals(ROLE_CHARGER)) {
+        if (!allowed(userTyCode, CHARGER)) {
             throw new AccessDeniedException("Only service handlers (R003) can receive SRs. Current role: " + userTyCode);
         }
     }
@@ -52,7 +63,7 @@ public class SrAuthorizationService {
      * Verify user can process SR (Handler R003 only)
      */
     public void verifyCanProcessSr(String userTyCode) {
-        if (userTyCode == null || !userTyCode.equals(ROLE_CHARGER)) {
+        if (!allowed(userTyCode, CHARGER)) {
             throw new AccessDeniedException("Only service handlers (R003) can process SRs. Current role: " + userTyCode);
         }
     }
@@ -61,7 +72,7 @@ public class SrAuthorizationService {
      * Verify user can verify SR (Handler R003 only)
      */
     public void verifyCanVerifySr(String userTyCode) {
-        if (userTyCode == null || !userTyCode.equals(ROLE_CHARGER)) {
+        if (!allowed(userTyCode, CHARGER)) {
             throw new AccessDeniedException("Only service handlers (R003) can verify SRs. Current role: " + userTyCode);
         }
     }
@@ -70,7 +81,7 @@ public class SrAuthorizationService {
      * Verify user can finish SR (Handler R003 only)
      */
     public void verifyCanFinishSr(String userTyCode) {
-        if (userTyCode == null || !userTyCode.equals(ROLE_CHARGER)) {
+        if (!allowed(userTyCode, CHARGER)) {
             throw new AccessDeniedException("Only service handlers (R003) can finish SRs. Current role: " + userTyCode);
         }
     }
@@ -79,7 +90,7 @@ public class SrAuthorizationService {
      * Verify user can evaluate/re-request SR (Customer R002 only)
      */
     public void verifyCanEvaluateSr(String userTyCode) {
-        if (userTyCode == null || !userTyCode.equals(ROLE_CUSTOMER)) {
+        if (!allowed(userTyCode, CUSTOMER)) {
             throw new AccessDeniedException("Only customers (R002) can evaluate SRs. Current role: " + userTyCode);
         }
     }
@@ -98,35 +109,35 @@ public class SrAuthorizationService {
      * Check if user is Manager
      */
     public boolean isManager(String userTyCode) {
-        return ROLE_MANAGER.equals(userTyCode);
+        return allowed(userTyCode, MANAGER);
     }
 
     /**
      * Check if user is Customer
      */
     public boolean isCustomer(String userTyCode) {
-        return ROLE_CUSTOMER.equals(userTyCode);
+        return allowed(userTyCode, CUSTOMER);
     }
 
     /**
      * Check if user is Handler/Charger
      */
     public boolean isHandler(String userTyCode) {
-        return ROLE_CHARGER.equals(userTyCode);
+        return allowed(userTyCode, CHARGER);
     }
 
     /**
      * Check if user is Custom role (R005)
      */
     public boolean isCustomRole(String userTyCode) {
-        return ROLE_CUSTOM.equals(userTyCode);
+        return allowed(userTyCode, CUSTOM);
     }
 
     /**
      * Check if user has admin privileges (Manager only)
      */
     public boolean hasAdminPrivileges(String userTyCode) {
-        return ROLE_MANAGER.equals(userTyCode);
+        return allowed(userTyCode, MANAGER);
     }
 
     /**
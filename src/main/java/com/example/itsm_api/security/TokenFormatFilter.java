@@ -4,31 +4,261 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
-import org.springframework.stereotype.Component;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.itsm_api.security.RejectedTokenCache.Reason;
+
 import java.io.IOException;
 
-@Component
-@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+/**
+ * Cheap triage of bearer tokens before they reach the JWT decoder.
+ *
+ * Rejects with 401, without any signature verification, tokens that are too long, are not three
+ * base64url segments, use an algorithm none of the current signing keys is published for, name a
+ * kid that is not in the current JWKS, have an exp in the past, or failed verification recently
+ * (RejectedTokenCache).
+ * The header and payload are read in place from the Authorization header string (base64url bytes are
+ * decoded on the fly and the JSON is scanned for the top-level alg / kid / exp keys), so the checks
+ * allocate nothing. Anything the scan cannot interpret is left to the decoder.
+ * Rejections are counted per reason (itsm.jwt.rejected metric).
+ *
+ * Not a bean: SecurityConfig adds it to the security filter chain just before
+ * BearerTokenAuthenticationFilter, so it runs after CorsFilter, and a rejection goes through
+ * BearerTokenAuthenticationEntryPoint like a decoder failure (401 with
+ * WWW-Authenticate: Bearer error="invalid_token").
+ */
 public class TokenFormatFilter extends OncePerRequestFilter {
 
+    private static final String BEARER = "Bearer ";
+    /** Same clock skew as Spring Security's JwtTimestampValidator */
+    private static final long CLOCK_SKEW_SECONDS = 60;
+
+    private final JwksKeySource jwksKeySource;
+    private final RejectedTokenCache rejectedTokenCache;
+    private final int maxTokenLength;
+    private final AuthenticationEntryPoint authenticationEntryPoint = new BearerTokenAuthenticationEntryPoint();
+
+    public TokenFormatFilter(JwksKeySource jwksKeySource, RejectedTokenCache rejectedTokenCache, int maxTokenLength) {
+        this.jwksKeySource = jwksKeySource;
+        this.rejectedTokenCache = rejectedTokenCache;
+        this.maxTokenLength = maxTokenLength;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String auth = request.getHeader("Authorization");
-        if (auth != null && auth.startsWith("Bearer ")) {
-            String token = auth.substring(7).trim();
-            long dotCount = token.chars().filter(ch -> ch == '.').count();
-            if (dotCount < 2) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json;charset=UTF-8");
-                response.getWriter().write("{\"error\":\"invalid_token\",\"error_description\":\"Malformed JWT\"}");
+        if (auth != null && auth.startsWith(BEARER)) {
+            Reason reason = triage(auth, BEARER.length(), auth.length());
+            if (reason != null) {
+                rejectedTokenCache.record(reason);
+                authenticationEntryPoint.commence(request, response, new InvalidBearerTokenException(describe(reason)));
                 return;
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * @return why the token s[from, to) must be rejected, or null to pass it to the decoder
+     */
+    Reason triage(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && s.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (to - from > maxTokenLength) {
+            return Reason.TOO_LONG;
+        }
+
+        // header.payload.signature, each a non-empty base64url segment
+        int dot1 = -1;
+        int dot2 = -1;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (dot1 < 0) {
+                    dot1 = i;
+                } else if (dot2 < 0) {
+                    dot2 = i;
+                } else {
+                    return Reason.MALFORMED;
+                }
+            } else if (b64(c) < 0) {
+                return Reason.MALFORMED;
+            }
+        }
+        if (dot2 < 0 || dot1 == from || dot2 == dot1 + 1 || dot2 == to - 1
+                || (dot1 - from) % 4 == 1 || (dot2 - dot1 - 1) % 4 == 1) {
+            return Reason.MALFORMED;
+        }
+
+        if (rejectedTokenCache.contains(s, from, to)) {
+            return Reason.RECENTLY_REJECTED;
+        }
+
+        int headerLen = decodedLength(dot1 - from);
+        int alg = valueOf(s, from, headerLen, "alg");
+        if (alg < 0) {
+            return Reason.MALFORMED;
+        }
+        String[] algs = jwksKeySource.algorithmNames();
+        if (algs != null && !stringEqualsAny(s, from, headerLen, alg, algs)) {
+            return Reason.UNSUPPORTED_ALG;
+        }
+        String[] kids = jwksKeySource.keyIds();
+        int kid = kids == null ? -1 : valueOf(s, from, headerLen, "kid");
+        if (kid >= 0 && !stringEqualsAny(s, from, headerLen, kid, kids)) {
+            // The keys may have rotated: refresh in the background, as the decoder would
+            jwksKeySource.requestRefresh();
+            return Reason.UNKNOWN_KID;
+        }
+
+        int payload = dot1 + 1;
+        int payloadLen = decodedLength(dot2 - payload);
+        long exp = number(s, payload, payloadLen, valueOf(s, payload, payloadLen, "exp"));
+        if (exp >= 0 && exp + CLOCK_SKEW_SECONDS < System.currentTimeMillis() / 1000) {
+            return Reason.EXPIRED;
+        }
+        return null;
+    }
+
+    private static String describe(Reason reason) {
+        return switch (reason) {
+            case TOO_LONG -> "JWT too long";
+            case UNSUPPORTED_ALG -> "Unsupported JWT algorithm";
+            case UNKNOWN_KID -> "Unknown JWT signing key";
+            case EXPIRED -> "Jwt expired";
+            case RECENTLY_REJECTED, INVALID -> "Invalid JWT";
+            default -> "Malformed JWT";
+        };
+    }
+
+    // ==== base64url segment read as a byte array ====
+
+    private static int b64(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+
+    private static int decodedLength(int chars) {
+        return chars * 6 / 8;
+    }
+
+    /**
+     * Byte k of the base64url segment starting at from (k < decodedLength, characters already validated)
+     */
+    private static int byteAt(String s, int from, int k) {
+        int bit = k * 8;
+        int c = from + bit / 6;
+        int window = (b64(s.charAt(c)) << 6) | b64(s.charAt(c + 1));
+        return (window >> (4 - bit % 6)) & 0xFF;
+    }
+
+    // ==== minimal JSON scan over the decoded segment ====
+
+    /**
+     * @return byte index of the value of the top-level key in the JSON object of length n bytes, or -1
+     */
+    private static int valueOf(String s, int from, int n, String key) {
+        int depth = 0;
+        boolean inString = false;
+        for (int i = 0; i < n; i++) {
+            int b = byteAt(s, from, i);
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            } else if (b == '"') {
+                if (depth == 1 && stringEquals(s, from, n, i, key)) {
+                    int j = skipWhitespace(s, from, n, i + key.length() + 2);
+                    if (j < n && byteAt(s, from, j) == ':') {
+                        return skipWhitespace(s, from, n, j + 1);
+                    }
+                }
+                inString = true;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String s, int from, int n, int i) {
+        while (i < n) {
+            int b = byteAt(s, from, i);
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return true if the JSON string starting at byte i (the opening quote) is exactly expected
+     */
+    private static boolean stringEquals(String s, int from, int n, int i, String expected) {
+        int len = expected.length();
+        if (i < 0 || i + len + 1 >= n || byteAt(s, from, i) != '"') {
+            return false;
+        }
+        for (int k = 0; k < len; k++) {
+            if (byteAt(s, from, i + 1 + k) != expected.charAt(k)) {
+                return false;
+            }
+        }
+        return byteAt(s, from, i + len + 1) == '"';
+    }
+
+    private static boolean stringEqualsAny(String s, int from, int n, int i, String[] candidates) {
+        for (String candidate : candidates) {
+            if (stringEquals(s, from, n, i, candidate)) {
+                return true;
+            }
+        }
+        // A value with escapes or non-ASCII characters cannot be compared here; let the decoder decide
+        for (int k = i + 1; k < n; k++) {
+            int b = byteAt(s, from, k);
+            if (b == '"') {
+                return false;
+            }
+            if (b == '\\' || b >= 0x80) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the integer part of the JSON number at byte i, or -1 if there is none
+     */
+    private static long number(String s, int from, int n, int i) {
+        if (i < 0) {
+            return -1;
+        }
+        long value = 0;
+        int digits = 0;
+        for (; i < n && digits < 18; i++, digits++) {
+            int b = byteAt(s, from, i);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return digits == 0 ? -1 : value;
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.itsm_api.security;
+
+import org.springframework.stereotype.Component;
+
+import com.example.itsm_api.security.RejectedTokenCache.Reason;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes bearer token rejections by reason (GET /actuator/metrics/itsm.jwt.rejected?tag=reason:EXPIRED etc.)
+ *
+ * Every reason except INVALID was decided by TokenFormatFilter without a signature verification;
+ * INVALID counts tokens that reached the decoder and failed there.
+ */
+@Component
+public class TokenTriageMetrics implements MeterBinder {
+
+    private final RejectedTokenCache rejectedTokenCache;
+
+    public TokenTriageMetrics(RejectedTokenCache rejectedTokenCache) {
+        this.rejectedTokenCache = rejectedTokenCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Reason reason : Reason.values()) {
+            FunctionCounter.builder("itsm.jwt.rejected", rejectedTokenCache, cache -> cache.rejectedCount(reason))
+                    .tag("reason", reason.name())
+                    .description("Bearer tokens rejected")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.itsm_api.security;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Immutable view of the user attributes carried in the JWT, resolved in a single pass over the claims
+ * when the token is converted (see CustomJwtAuthenticationConverter) and shared by everything that
+ * needs them for the rest of the request (CustomUserPrincipal, AuthorizationService, controllers).
+ *
+ * The user type code is resolved with a fixed plan, in priority order:
+ * 1. "userTyCode" (string, or first element of a list), directly or inside the "attributes" claim
+ * 2. "user_type_code" - underscore format
+ * 3. "custom:userTyCode" - custom namespace (AWS Cognito style)
+ * 4. "roles" - first role starting with R000-R005
+ * 5. "resource_access" -> client -> "roles" - first role starting with R000-R005
+ */
+public record UserContext(
+        String userId,
+        String username,
+        String email,
+        String firstName,
+        String userTyCode,
+        List<String> userTyCodes,
+        List<String> userSttusCodes,
+        List<String> deptCd,
+        List<String> deptNm,
+        List<String> position,
+        List<String> classNm,
+        List<String> realmRoles) {
+
+    private static final String[] USER_TY_CODE_ALIASES = {"user_type_code", "custom:userTyCode"};
+
+    /**
+     * Resolve the user attributes from the claims of jwt
+     */
+    public static UserContext of(Jwt jwt) {
+        Map<String, Object> claims = jwt.getClaims();
+        Map<?, ?> attributes = claims.get("attributes") instanceof Map<?, ?> m ? m : Map.of();
+
+        List<String> userTyCodes = listClaim(claims, attributes, "userTyCode");
+        return new UserContext(
+                jwt.getSubject(),
+                stringClaim(claims.get("preferred_username")),
+                stringClaim(claims.get("email")),
+                stringClaim(claims.get("given_name")),
+                resolveUserTyCode(claims, userTyCodes),
+                userTyCodes,
+                listClaim(claims, attributes, "userSttusCode"),
+                listClaim(claims, attributes, "deptCd"),
+                listClaim(claims, attributes, "deptNm"),
+                listClaim(claims, attributes, "position"),
+                listClaim(claims, attributes, "classNm"),
+                realmRoles(claims));
+    }
+
+    /**
+     * @return the context of the authenticated user of the current request, or null if there is none
+     */
+    public static UserContext current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserPrincipal principal) {
+            return principal.getUserContext();
+        }
+        return null;
+    }
+
+    private static String resolveUserTyCode(Map<String, Object> claims, List<String> userTyCodes) {
+        if (!userTyCodes.isEmpty()) {
+            return userTyCodes.get(0);
+        }
+        for (String alias : USER_TY_CODE_ALIASES) {
+            if (claims.get(alias) instanceof String code) {
+                return code;
+            }
+        }
+        String fromRoles = userTyCodeFromRoles(claims.get("roles"));
+        if (fromRoles != null) {
+            return fromRoles;
+        }
+        if (claims.get("resource_access") instanceof Map<?, ?> resources) {
+            for (Object client : resources.values()) {
+                if (client instanceof Map<?, ?> clientAccess) {
+                    fromRoles = userTyCodeFromRoles(clientAccess.get("roles"));
+                    if (fromRoles != null) {
+                        return fromRoles;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * First role encoded as a user type code (R000-R005 followed by anything), trimmed to the code
+     */
+    private static String userTyCodeFromRoles(Object roles) {
+        if (roles instanceof Collection<?> list) {
+            for (Object role : list) {
+                if (role instanceof String r && r.length() >= 4 && r.startsWith("R00")
+                        && r.charAt(3) >= '0' && r.charAt(3) <= '5') {
+                    return r.substring(0, 4);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Claim as a list of strings, taken from the claim itself or else from the "attributes" claim
+     */
+    private static List<String> listClaim(Map<String, Object> claims, Map<?, ?> attributes, String name) {
+        List<String> direct = toList(claims.get(name));
+        return direct != null ? direct : Objects.requireNonNullElse(toList(attributes.get(name)), List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> toList(Object value) {
+        if (value instanceof List<?> list) {
+            return Collections.unmodifiableList((List<String>) list);
+        }
+        if (value instanceof String s) {
+            return List.of(s);
+        }
+        return null;
+    }
+
+    private static String stringClaim(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> realmRoles(Map<String, Object> claims) {
+        if (claims.get("realm_access") instanceof Map<?, ?> realmAccess
+                && realmAccess.get("roles") instanceof Collection<?> roles) {
+            return List.copyOf((Collection<String>) roles);
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.itsm_api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.JoseHeaderNames;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of Jwts that already passed signature and claim validation.
+ *
+ * The SPA sends the same bearer token on every request until it is refreshed, so most decodes
+ * can skip the parse and RSA verification. Entries are keyed by the SHA-256 of the token (raw
+ * tokens are never kept as keys), expire at the token's exp or after the configured TTL, whichever
+ * comes first. Lookups and inserts are lock-free (ConcurrentHashMap); when an insert takes the cache
+ * past max-entries, a few consecutive entries from a random position are inspected and expired ones,
+ * or else the least recently used of them, are dropped, so the bound holds without keeping a global
+ * access order.
+ * When JwksKeySource sees the signing keys change, entries signed with a key that is no longer
+ * published are discarded so that those tokens are verified again (and rejected) on next use.
+ */
+@Component
+public class VerifiedJwtCache {
+
+    /** Entries inspected per eviction */
+    private static final int EVICTION_SAMPLE = 8;
+
+    private static final class Entry {
+        private final Jwt jwt;
+        private final String kid;
+        private final long expiresAtMillis;
+        private volatile long lastUsedNanos;
+
+        Entry(Jwt jwt, String kid, long expiresAtMillis) {
+            this.jwt = jwt;
+            this.kid = kid;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder hitNanos = new LongAdder();
+    private final LongAdder missNanos = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public VerifiedJwtCache(@Value("${itsm.jwt-cache.max-entries:10000}") int maxEntries,
+                            @Value("${itsm.jwt-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    /**
+     * Return the verified Jwt for token, or null if it is not cached or has expired
+     */
+    public Jwt get(String token) {
+        if (maxEntries == 0) {
+            return null;
+        }
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAtMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastUsedNanos = System.nanoTime();
+        return entry.jwt;
+    }
+
+    /**
+     * Cache a Jwt that was just decoded and validated from token
+     */
+    public void put(String token, Jwt jwt) {
+        if (maxEntries == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        Instant exp = jwt.getExpiresAt();
+        if (exp != null) {
+            expiresAt = Math.min(expiresAt, exp.toEpochMilli());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        Object kid = jwt.getHeaders().get(JoseHeaderNames.KID);
+        entries.put(digest(token), new Entry(jwt, kid == null ? null : kid.toString(), expiresAt));
+        if (entries.size() > maxEntries) {
+            evict(now);
+        }
+    }
+
+    /**
+     * Discard tokens signed with a key that is no longer published (and tokens without a kid)
+     * @param kids Key ids of the current JWKS
+     */
+    public void retainSigningKeys(Set<String> kids) {
+        invalidations.increment();
+        entries.values().removeIf(entry -> entry.kid == null || !kids.contains(entry.kid));
+    }
+
+    void recordHit(long nanos) {
+        hits.increment();
+        hitNanos.add(nanos);
+    }
+
+    void recordMiss(long nanos) {
+        misses.increment();
+        missNanos.add(nanos);
+    }
+
+    public long hitCount() { return hits.sum(); }
+    public long missCount() { return misses.sum(); }
+    public double hitSeconds() { return hitNanos.sum() / 1e9; }
+    public double missSeconds() { return missNanos.sum() / 1e9; }
+    public long invalidationCount() { return invalidations.sum(); }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove entries until the cache is back within max-entries. Each round walks to a random position
+     * in the map, skipping ThreadLocalRandom.nextInt(size) entries and wrapping around at the end, and
+     * inspects the next EVICTION_SAMPLE entries: expired ones are removed, otherwise the least recently
+     * used of them. Starting at a random position gives every entry the same chance to be inspected;
+     * always starting at the first bucket would churn the same few buckets and never reach the rest.
+     * The skip walks half the map on average, which is cheap next to the RSA verification that
+     * preceded the insert.
+     */
+    private void evict(long now) {
+        while (entries.size() > maxEntries) {
+            int size = entries.size();
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            for (int skip = ThreadLocalRandom.current().nextInt(size); skip > 0 && it.hasNext(); skip--) {
+                it.next();
+            }
+            Map.Entry<String, Entry> victim = null;
+            boolean removed = false;
+            boolean wrapped = false;
+            for (int i = 0; i < EVICTION_SAMPLE; i++) {
+                if (!it.hasNext()) {
+                    if (wrapped) {
+                        break;
+                    }
+                    it = entries.entrySet().iterator();
+                    wrapped = true;
+                    if (!it.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<String, Entry> candidate = it.next();
+                if (now >= candidate.getValue().expiresAtMillis) {
+                    removed |= entries.remove(candidate.getKey(), candidate.getValue());
+                } else if (victim == null || candidate.getValue().lastUsedNanos - victim.getValue().lastUsedNanos < 0) {
+                    victim = candidate;
+                }
+            }
+            if (!removed) {
+                if (victim == null) {
+                    return;
+                }
+                entries.remove(victim.getKey(), victim.getValue());
+            }
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().withoutPadding()
+                    .encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
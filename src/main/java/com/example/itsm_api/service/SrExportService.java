@@ -0,0 +1,325 @@
+package com.example.itsm_api.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * SR 목록 내보내기 (NDJSON / CSV).
+ *
+ * MyBatis Cursor 로 한 행씩 읽어 바로 응답에 쓰므로 건수와 관계없이 메모리 사용량이 일정하다.
+ * 조회는 읽기 전용 트랜잭션에서 실행하므로 읽기 복제본이 설정되어 있으면 복제본으로 간다.
+ * 사용자명은 HYDRATE_BATCH 건씩 모아서 채운다. 스트리밍 조회 중인 커넥션에서는 다른 쿼리를 실행할 수 없으므로
+ * 캐시에 없는 사용자는 별도의 읽기 전용 트랜잭션(REQUIRES_NEW, 다른 커넥션)에서 조회한다.
+ * 클라이언트 연결이 끊겨 쓰기가 실패하면 커넥션을 abort 하여 남은 결과를 읽지 않고 쿼리를 중단한다.
+ */
+@Service("srExportService")
+public class SrExportService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SrExportService.class);
+
+	private static final int HYDRATE_BATCH = 500;
+
+	/** 내보내기 형식 */
+	public enum Format {
+		NDJSON("application/x-ndjson", "ndjson"),
+		CSV("text/csv;charset=UTF-8", "csv");
+
+		private final String contentType;
+		private final String extension;
+
+		Format(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String getContentType() { return contentType; }
+		public String getExtension() { return extension; }
+
+		/**
+		 * @param value ndjson, csv (null 이면 ndjson)
+		 * @throws IllegalArgumentException 지원하지 않는 형식
+		 */
+		public static Format of(String value) {
+			if (value == null || value.isEmpty()) {
+				return NDJSON;
+			}
+			for (Format f : values()) {
+				if (f.extension.equalsIgnoreCase(value)) {
+					return f;
+				}
+			}
+			throw new IllegalArgumentException("Unsupported format: " + value);
+		}
+	}
+
+	private record Column(String name, Function<SrvcRsponsVO, Object> value) {}
+
+	/** CSV 컬럼 (머리행은 JSON 필드명과 같다) */
+	private static final List<Column> CSV_COLUMNS = List.of(
+			new Column("srvcRsponsNo", SrvcRsponsVO::getSrvcRsponsNo),
+			new Column("requstDt", SrvcRsponsVO::getRequstDt),
+			new Column("trgetSrvcCodeNm", SrvcRsponsVO::getTrgetSrvcCodeNm),
+			new Column("srvcRsponsClCodeNm", SrvcRsponsVO::getSrvcRsponsClCodeNm),
+			new Column("srvcRsponsSj", SrvcRsponsVO::getSrvcRsponsSj),
+			new Column("rqesterNm", SrvcRsponsVO::getRqesterNm),
+			new Column("rqesterDept", SrvcRsponsVO::getRqesterDept),
+			new Column("chargerUserNm", SrvcRsponsVO::getChargerUserNm),
+			new Column("processStdrCodeNm", SrvcRsponsVO::getProcessStdrCodeNm),
+			new Column("changeDfflyCodeNm", SrvcRsponsVO::getChangeDfflyCodeNm),
+			new Column("rspons1stDt", SrvcRsponsVO::getRspons1stDt),
+			new Column("processDt", SrvcRsponsVO::getProcessDt),
+			new Column("verifyDt", SrvcRsponsVO::getVerifyDt),
+			new Column("finishDt", SrvcRsponsVO::getFinishDt),
+			new Column("fnctImprvmNo", SrvcRsponsVO::getFnctImprvmNo),
+			new Column("wdtbCnfirmNo", SrvcRsponsVO::getWdtbCnfirmNo),
+			new Column("srvcWdtbDt", SrvcRsponsVO::getSrvcWdtbDt),
+			new Column("infraOpertNo", SrvcRsponsVO::getInfraOpertNo));
+
+	private final SqlSessionFactory sqlSessionFactory;
+	private final SrvcRsponsService srvcRsponsService;
+	private final UserDirectoryService userDirectoryService;
+	private final ObjectWriter jsonWriter;
+	private final TransactionTemplate readOnlyTransaction;
+	private final TransactionTemplate hydrateTransaction;
+
+	public SrExportService(SqlSessionFactory sqlSessionFactory, SrvcRsponsService srvcRsponsService,
+			UserDirectoryService userDirectoryService, ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager) {
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.srvcRsponsService = srvcRsponsService;
+		this.userDirectoryService = userDirectoryService;
+		this.jsonWriter = objectMapper.writer();
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.hydrateTransaction = new TransactionTemplate(transactionManager);
+		this.hydrateTransaction.setReadOnly(true);
+		this.hydrateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * SR 목록을 내보낸다. 조건과 순서는 retrieveAllList (wdtb 이면 retrieveAllwdtbList) 와 같다.
+	 * @param vo 조회 조건 (userTyCode, userId 로 요청자 범위 제한)
+	 * @param wdtb 배포확인서가 있는 SR 만
+	 * @param format 형식
+	 * @param out 응답 스트림 (닫지 않는다)
+	 * @return 내보낸 건수
+	 * @throws IOException 응답 쓰기 실패 (클라이언트 연결 끊김 등). 이 경우 쿼리는 중단된다
+	 */
+	public long export(SrvcRsponsVO vo, boolean wdtb, Format format, OutputStream out) throws IOException {
+		srvcRsponsService.applySearchIndex(vo);
+		RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+
+		IOException[] failure = new IOException[1];
+		Long rows;
+		try {
+			rows = readOnlyTransaction.execute(status -> {
+				try {
+					return stream(vo, wdtb, writer);
+				} catch (IOException e) {
+					// abort 된 커넥션은 롤백할 수 없으므로 예외 대신 rollback-only 로 끝내고 아래에서 다시 던진다
+					failure[0] = e;
+					status.setRollbackOnly();
+					return null;
+				}
+			});
+		} catch (TransactionException e) {
+			if (failure[0] == null) {
+				throw e;
+			}
+			LOGGER.debug("SR 내보내기 트랜잭션 종료 실패: {}", e.getMessage());
+			throw failure[0];
+		}
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+		return rows;
+	}
+
+	/**
+	 * 현재(읽기 전용) 트랜잭션의 커넥션에서 cursor 로 읽어 writer 로 쓴다
+	 */
+	private long stream(SrvcRsponsVO vo, boolean wdtb, RowWriter writer) throws IOException {
+		long rows = 0;
+		boolean aborted = false;
+		// 트랜잭션에 묶인 커넥션을 사용한다 (close 해도 커넥션은 트랜잭션 종료 시 반납)
+		SqlSession session = sqlSessionFactory.openSession();
+		Cursor<SrvcRsponsVO> cursor = null;
+		try {
+			SrvcRsponsMapper mapper = session.getMapper(SrvcRsponsMapper.class);
+			cursor = wdtb ? mapper.retrieveAllwdtbCursor(vo) : mapper.retrieveAllCursor(vo);
+			writer.begin();
+			List<SrvcRsponsVO> buffer = new ArrayList<>(HYDRATE_BATCH);
+			for (SrvcRsponsVO row : cursor) {
+				buffer.add(row);
+				if (buffer.size() == HYDRATE_BATCH) {
+					rows += writeRows(writer, buffer);
+				}
+			}
+			rows += writeRows(writer, buffer);
+			writer.end();
+		} catch (IOException e) {
+			aborted = true;
+			abort(session, rows);
+			throw e;
+		} finally {
+			// abort 된 경우 cursor 를 닫으면 남은 행을 읽으려 하므로 닫지 않는다
+			if (cursor != null && !aborted) {
+				cursor.close();
+			}
+			try {
+				session.close();
+			} catch (RuntimeException e) {
+				LOGGER.debug("SR 내보내기 세션 종료 실패: {}", e.getMessage());
+			}
+		}
+		return rows;
+	}
+
+	private long writeRows(RowWriter writer, List<SrvcRsponsVO> buffer) throws IOException {
+		int n = buffer.size();
+		for (SrvcRsponsVO row : hydrateTransaction.execute(status -> userDirectoryService.hydrate(buffer))) {
+			writer.write(row);
+		}
+		buffer.clear();
+		return n;
+	}
+
+	/**
+	 * 스트리밍 조회 중인 ResultSet 을 닫으면 남은 행을 모두 읽으므로, 커넥션을 abort 하여 서버의 쿼리도 함께 끝낸다.
+	 * abort 된 커넥션은 이후 세션 종료 시 오류가 나면서 풀에서 폐기된다.
+	 */
+	private void abort(SqlSession session, long rows) {
+		try {
+			Connection connection = session.getConnection();
+			connection.abort(Runnable::run);
+		} catch (SQLException | RuntimeException e) {
+			LOGGER.debug("SR 내보내기 커넥션 abort 실패: {}", e.getMessage());
+		}
+		LOGGER.info("SR 내보내기 중단 ({}건 전송 후 클라이언트 연결 끊김)", rows);
+	}
+
+	private interface RowWriter {
+		void begin() throws IOException;
+		void write(SrvcRsponsVO row) throws IOException;
+		void end() throws IOException;
+	}
+
+	/** 한 줄에 SR 하나의 JSON */
+	private final class NdjsonRowWriter implements RowWriter {
+		private final OutputStream out;
+
+		NdjsonRowWriter(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void begin() {
+		}
+
+		@Override
+		public void write(SrvcRsponsVO row) throws IOException {
+			out.write(jsonWriter.writeValueAsBytes(row));
+			out.write('\n');
+		}
+
+		@Override
+		public void end() throws IOException {
+			out.flush();
+		}
+	}
+
+	/** RFC 4180 CSV. Excel 에서 한글이 깨지지 않도록 UTF-8 BOM 을 붙인다 */
+	static final class CsvRowWriter implements RowWriter {
+		private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+		private final Writer out;
+		private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+		CsvRowWriter(OutputStream out) {
+			this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void begin() throws IOException {
+			out.write('\uFEFF');
+			for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				out.write(CSV_COLUMNS.get(i).name());
+			}
+			out.write("\r\n");
+		}
+
+		@Override
+		public void write(SrvcRsponsVO row) throws IOException {
+			for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				Object value = CSV_COLUMNS.get(i).value().apply(row);
+				if (value instanceof Date date) {
+					out.write(dateFormat.format(date));
+				} else if (value != null) {
+					writeField(value.toString());
+				}
+			}
+			out.write("\r\n");
+		}
+
+		/**
+		 * RFC 4180 필드. =, +, -, @, 탭, CR 로 시작하는 값은 Excel 이 수식으로 실행하므로(CSV injection)
+		 * 앞에 ' 를 붙여 문자열로 만들고 따옴표로 감싼다.
+		 */
+		private void writeField(String value) throws IOException {
+			boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+			boolean quote = formula;
+			for (int i = 0; i < value.length() && !quote; i++) {
+				char c = value.charAt(i);
+				quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+			}
+			if (!quote) {
+				out.write(value);
+				return;
+			}
+			out.write('"');
+			if (formula) {
+				out.write('\'');
+			}
+			out.write(value.replace("\"", "\"\""));
+			out.write('"');
+		}
+
+		@Override
+		public void end() throws IOException {
+			out.flush();
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.example.itsm_api.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+
+/**
+ * SR번호(SR-YYMM-NNN) 채번기.
+ *
+ * TB_SRVC_RSPONS_SEQ 테이블에서 월별로 blockSize 만큼의 번호 구간을 한 번에 예약(hi/lo)하고,
+ * 예약된 구간 안에서는 DB 접근 없이 메모리에서 lock-free 로 번호를 발급한다.
+ * 구간이 소진되었거나 월이 바뀐 경우에만 별도 트랜잭션으로 다음 구간을 예약한다.
+ *
+ * 예약 후 사용되지 않은 번호(서버 재기동 등)는 결번으로 남는다.
+ *
+ * 번호는 월별 999건까지다. SR번호는 문자열로 정렬·비교되므로(ORDER BY SRVC_RSPONS_NO, keyset 조건
+ * SRVC_RSPONS_NO < ?) 자릿수가 늘어난 SR-YYMM-1000 은 SR-YYMM-999 보다 앞에 정렬된다.
+ * 그래서 한도를 넘으면 번호를 만들지 않고 IllegalStateException 으로 실패한다.
+ */
+@Service("srNoAllocator")
+public class SrNoAllocator {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SrNoAllocator.class);
+
+	private static final DateTimeFormatter SEQ_MT_FORMAT = DateTimeFormatter.ofPattern("yyMM");
+
+	/** 월별 최대 순번 (SR-YYMM-NNN 의 세 자리) */
+	static final long MAX_SEQ = 999;
+
+	private final SrvcRsponsMapper srvcRsponsMapper;
+	private final TransactionTemplate requiresNewTx;
+	private final int blockSize;
+
+	private final AtomicReference<Block> current = new AtomicReference<>();
+	private final Object refillLock = new Object();
+
+	public SrNoAllocator(SrvcRsponsMapper srvcRsponsMapper,
+			PlatformTransactionManager transactionManager,
+			@Value("${itsm.sr-no.block-size:20}") int blockSize) {
+		this.srvcRsponsMapper = srvcRsponsMapper;
+		this.blockSize = blockSize;
+		this.requiresNewTx = new TransactionTemplate(transactionManager);
+		this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * 다음 SR번호를 발급한다.
+	 * @return SR-YYMM-NNN 형식의 SR번호
+	 * @throws IllegalStateException 이번 달 번호(999건)를 모두 발급한 경우
+	 */
+	public String nextSrvcRsponsNo() {
+		while (true) {
+			String seqMt = currentSeqMt();
+			Block block = current.get();
+			if (block != null && block.seqMt.equals(seqMt)) {
+				long seq = block.next.getAndIncrement();
+				if (seq < block.limit) {
+					return format(seqMt, seq);
+				}
+			}
+			refill(block, seqMt);
+		}
+	}
+
+	/**
+	 * 현재 구간이 소진된 스레드 중 하나만 다음 구간을 예약한다.
+	 * 나머지 스레드는 교체된 구간을 보고 다시 발급을 시도한다.
+	 */
+	private void refill(Block exhausted, String seqMt) {
+		synchronized (refillLock) {
+			if (current.get() != exhausted) {
+				return;
+			}
+			long start = reserveBlock(seqMt, blockSize);
+			current.set(new Block(seqMt, start, start + blockSize));
+			LOGGER.debug("SR번호 구간 예약: {} [{} ~ {}]", seqMt, start, start + blockSize - 1);
+		}
+	}
+
+	/**
+	 * TB_SRVC_RSPONS_SEQ 에서 size 만큼의 번호 구간을 예약하고 구간의 시작 번호를 반환한다.
+	 * 해당 월의 시퀀스 행이 없으면 기존 SR번호의 최대값으로 초기화한다.
+	 */
+	long reserveBlock(String seqMt, int size) {
+		Long start = requiresNewTx.execute(status -> {
+			Long nextVal = srvcRsponsMapper.retrieveSrNoSeqForUpdate(seqMt);
+			if (nextVal == null) {
+				srvcRsponsMapper.createSrNoSeq(seqMt);
+				nextVal = srvcRsponsMapper.retrieveSrNoSeqForUpdate(seqMt);
+			}
+			srvcRsponsMapper.updateSrNoSeq(seqMt, nextVal + size);
+			return nextVal;
+		});
+		if (start == null) {
+			throw new IllegalStateException("SR번호 구간 예약 실패: " + seqMt);
+		}
+		return start;
+	}
+
+	String currentSeqMt() {
+		return LocalDate.now().format(SEQ_MT_FORMAT);
+	}
+
+	static String format(String seqMt, long seq) {
+		if (seq > MAX_SEQ) {
+			throw new IllegalStateException("SR번호 월 한도 초과: SR-" + seqMt + " 는 " + MAX_SEQ + "건까지 발급할 수 있습니다");
+		}
+		return String.format("SR-%s-%03d", seqMt, seq);
+	}
+
+	private static final class Block {
+		private final String seqMt;
+		private final AtomicLong next;
+		private final long limit;
+
+		private Block(String seqMt, long start, long limit) {
+			this.seqMt = seqMt;
+			this.next = new AtomicLong(start);
+			this.limit = limit;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.itsm_api.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+
+/**
+ * SR 요청자/참조자 관계(TB_SRVC_RSPONS_REF) 일괄 재동기화.
+ *
+ * 기존 SR 의 관계는 마이그레이션(db/migration/V3__sr_ref_backfill.sql)이 채운다.
+ * 이 작업은 DB 를 직접 수정하는 등으로 관계가 어긋났을 때 다시 맞추는 용도다.
+ * itsm.sr-ref.backfill.enabled=true 로 기동하면 SR번호 순(keyset)으로 batchSize 건씩
+ * 별도 트랜잭션에서 관계를 교체한다. 같은 SR 을 다시 처리해도 결과가 같으므로 중단 후 재실행해도 된다.
+ * 실행 후 설정을 다시 끈다.
+ */
+@Component
+@ConditionalOnProperty(name = "itsm.sr-ref.backfill.enabled", havingValue = "true")
+public class SrRefBackfillJob {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SrRefBackfillJob.class);
+
+	private final SrvcRsponsMapper srvcRsponsMapper;
+	private final SrRefService srRefService;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	public SrRefBackfillJob(SrvcRsponsMapper srvcRsponsMapper, SrRefService srRefService,
+			PlatformTransactionManager transactionManager,
+			@Value("${itsm.sr-ref.backfill.batch-size:1000}") int batchSize) {
+		this.srvcRsponsMapper = srvcRsponsMapper;
+		this.srRefService = srRefService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void run() {
+		long start = System.currentTimeMillis();
+		String after = null;
+		int srCount = 0;
+		int refCount = 0;
+		while (true) {
+			List<String> srvcRsponsNos = srvcRsponsMapper.retrieveRefBackfillNoList(after, batchSize);
+			if (srvcRsponsNos.isEmpty()) {
+				break;
+			}
+			Integer inserted = transactionTemplate.execute(status -> srRefService.sync(srvcRsponsNos));
+			srCount += srvcRsponsNos.size();
+			refCount += inserted == null ? 0 : inserted;
+			after = srvcRsponsNos.get(srvcRsponsNos.size() - 1);
+			LOGGER.debug("SR 참조자 관계 backfill 진행: {}건 (마지막 {})", srCount, after);
+		}
+		LOGGER.info("SR 참조자 관계 backfill 완료: SR {}건, 관계 {}건, {}ms",
+				srCount, refCount, System.currentTimeMillis() - start);
+	}
+}
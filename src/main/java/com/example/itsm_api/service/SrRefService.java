@@ -0,0 +1,81 @@
+package com.example.itsm_api.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SR 요청자/참조자 관계(TB_SRVC_RSPONS_REF) 동기화.
+ *
+ * R005 목록 조회는 REF_IDS 문자열 검색(LOCATE) 대신 이 관계 테이블을 semi-join 한다.
+ * 관계는 RQESTER_ID 와 REF_IDS(쉼표 구분)의 각 사용자마다 한 행이며,
+ * 항상 TB_SRVC_RSPONS 의 현재 값을 다시 읽어 전체를 교체한다.
+ */
+@Service("srRefService")
+public class SrRefService {
+
+	private final SrvcRsponsMapper srvcRsponsMapper;
+
+	public SrRefService(SrvcRsponsMapper srvcRsponsMapper) {
+		this.srvcRsponsMapper = srvcRsponsMapper;
+	}
+
+	/**
+	 * SR 한 건의 요청자/참조자 관계를 현재 값으로 교체한다. 호출자의 트랜잭션 안에서 실행한다.
+	 * @param srvcRsponsNo SR번호
+	 */
+	public void sync(String srvcRsponsNo) {
+		if (srvcRsponsNo != null) {
+			sync(List.of(srvcRsponsNo));
+		}
+	}
+
+	/**
+	 * 여러 SR 의 요청자/참조자 관계를 현재 값으로 교체한다.
+	 * @param srvcRsponsNos SR번호 목록
+	 * @return 등록된 관계 행 수
+	 */
+	public int sync(List<String> srvcRsponsNos) {
+		if (srvcRsponsNos.isEmpty()) {
+			return 0;
+		}
+		List<SrvcRsponsVO> refs = new ArrayList<>();
+		for (SrvcRsponsVO sr : srvcRsponsMapper.retrieveRefSourceList(srvcRsponsNos)) {
+			for (String userId : refUserIds(sr.getRqesterId(), sr.getRefIds())) {
+				SrvcRsponsVO ref = new SrvcRsponsVO();
+				ref.setSrvcRsponsNo(sr.getSrvcRsponsNo());
+				ref.setUserId(userId);
+				refs.add(ref);
+			}
+		}
+		srvcRsponsMapper.deleteSrRefList(srvcRsponsNos);
+		return refs.isEmpty() ? 0 : srvcRsponsMapper.createSrRefList(refs);
+	}
+
+	/**
+	 * 요청자ID 와 REF_IDS 를 중복 없는 사용자ID 목록으로 분리한다.
+	 * @param rqesterId 요청자ID
+	 * @param refIds 쉼표로 구분된 참조자ID
+	 * @return 사용자ID 목록
+	 */
+	static Set<String> refUserIds(String rqesterId, String refIds) {
+		Set<String> userIds = new LinkedHashSet<>();
+		if (rqesterId != null && !rqesterId.isBlank()) {
+			userIds.add(rqesterId.trim());
+		}
+		if (refIds != null) {
+			for (String refId : refIds.split(",")) {
+				if (!refId.isBlank()) {
+					userIds.add(refId.trim());
+				}
+			}
+		}
+		return userIds;
+	}
+}
@@ -0,0 +1,448 @@
+package com.example.itsm_api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.text.Normalizer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SR 제목/내용/처리내역 전문검색용 메모리 역색인.
+ *
+ * 텍스트를 DB 콜레이션(utf8mb4_0900_ai_ci)처럼 접고(normalize) 2-gram(bigram) 으로 분해하여
+ * 필드별 posting 목록(문서번호 오름차순)에 저장한다.
+ * 한글은 형태소 분석 없이도 2글자 단위로 부분일치 검색이 가능하다.
+ * 검색어의 모든 bigram 을 포함하는 문서가 후보가 되며, 후보는 LIKE '%x%' 결과의 상위집합이므로
+ * 목록 쿼리는 후보 SR번호만 PK 로 읽고 기존 LIKE 조건으로 최종 확인한다.
+ *
+ * - 기동 시(ApplicationReadyEvent) 테이블 전체를 스트리밍으로 읽어 색인을 만든다. 완료 전에는 LIKE 로 조회한다.
+ * - 등록/수정 시(트랜잭션 커밋 후) 해당 SR 을 다시 읽어 새 문서번호로 색인하고 이전 문서번호는 삭제 표시한다.
+ * - 구축과 변경 반영은 전용 스레드 하나에서 순서대로 실행한다.
+ * - 삭제 표시된 문서가 많아지면 재구축한다.
+ * - maxIndexedChars 를 넘는 필드는 앞부분만 색인하고, 해당 문서는 항상 후보에 포함한다.
+ */
+@Service("srSearchIndex")
+public class SrSearchIndex {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SrSearchIndex.class);
+
+	static final int FIELD_SJ = 0;
+	static final int FIELD_CN = 1;
+	static final int FIELD_DTLS = 2;
+
+	/** utf8mb4_0900_ai_ci 에서 1차 가중치가 두 글자(또는 기본 글자)와 같은 라틴 문자 (NFKD 로 분해되지 않는 것) */
+	private static final Map<Character, String> LATIN_EXPANSIONS = Map.of(
+			'ß', "ss", 'æ', "ae", 'œ', "oe", 'ø', "o", 'đ', "d", 'ł', "l", 'ħ', "h", 'ŧ', "t");
+
+	private final SrvcRsponsMapper srvcRsponsMapper;
+	private final int maxIndexedChars;
+	private final int maxCandidates;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+	private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "sr-search-index");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private volatile Segment segment;
+
+	public SrSearchIndex(SrvcRsponsMapper srvcRsponsMapper,
+			@Value("${itsm.sr-search.max-indexed-chars:20000}") int maxIndexedChars,
+			@Value("${itsm.sr-search.max-candidates:5000}") int maxCandidates) {
+		this.srvcRsponsMapper = srvcRsponsMapper;
+		this.maxIndexedChars = maxIndexedChars;
+		this.maxCandidates = maxCandidates;
+	}
+
+	/**
+	 * 기동 완료 후 색인 스레드에서 색인을 구축한다.
+	 * 구축 중 들어온 변경은 구축이 끝난 뒤 순서대로 반영된다.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildAsync() {
+		if (rebuildQueued.compareAndSet(false, true)) {
+			worker.execute(this::rebuild);
+		}
+	}
+
+	void rebuild() {
+		rebuildQueued.set(false);
+		long start = System.currentTimeMillis();
+		try {
+			Segment next = new Segment();
+			srvcRsponsMapper.retrieveSearchDocList(ctx -> next.add(ctx.getResultObject(), maxIndexedChars));
+			lock.writeLock().lock();
+			try {
+				segment = next;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			LOGGER.info("SR 검색 색인 구축: {}건, {}ms", next.liveCount, System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			LOGGER.error("SR 검색 색인 구축 실패, LIKE 검색으로 동작: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * SR 한 건을 DB 에서 다시 읽어 색인한다. (삭제되었거나 없으면 색인에서 제거)
+	 * 트랜잭션 안에서 호출되면 커밋 후에 반영한다. (롤백된 내용이 색인에 남지 않도록)
+	 * @param srvcRsponsNo SR번호
+	 */
+	public void reindex(String srvcRsponsNo) {
+		if (srvcRsponsNo == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					worker.execute(() -> reindexNow(srvcRsponsNo));
+				}
+			});
+			return;
+		}
+		worker.execute(() -> reindexNow(srvcRsponsNo));
+	}
+
+	void reindexNow(String srvcRsponsNo) {
+		Segment current = segment;
+		if (current == null) {
+			return;
+		}
+		SrvcRsponsVO doc;
+		try {
+			doc = srvcRsponsMapper.retrieveSearchDoc(srvcRsponsNo);
+		} catch (Exception e) {
+			LOGGER.error("SR 검색 색인 반영 실패 {}: {}", srvcRsponsNo, e.getMessage());
+			// 내용을 알 수 없으므로 다음 재구축 전까지 항상 후보에 포함한다.
+			lock.writeLock().lock();
+			try {
+				current.markUnknown(srvcRsponsNo);
+			} finally {
+				lock.writeLock().unlock();
+			}
+			return;
+		}
+		boolean compact;
+		lock.writeLock().lock();
+		try {
+			current.remove(srvcRsponsNo);
+			if (doc != null) {
+				current.add(doc, maxIndexedChars);
+			}
+			compact = current.deadCount > 10_000 && current.deadCount > current.liveCount;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		if (compact) {
+			rebuildAsync();
+		}
+	}
+
+	/**
+	 * 검색조건(제목/내용/통합검색어)에 대한 후보 SR번호를 반환한다.
+	 * 색인이 준비되지 않았거나, 검색어로 후보를 좁힐 수 없거나, 후보가 maxCandidates 를 넘으면 null 을 반환한다.
+	 * (null 이면 후보 조건 없이 LIKE 로 조회)
+	 * @param srvcRsponsSj 제목 검색어
+	 * @param srvcRsponsCn 내용 검색어
+	 * @param searchKeyword 제목/내용/처리내역 통합 검색어
+	 * @return 후보 SR번호 목록 또는 null
+	 */
+	public List<String> searchCandidates(String srvcRsponsSj, String srvcRsponsCn, String searchKeyword) {
+		Segment current = segment;
+		if (current == null) {
+			return null;
+		}
+		lock.readLock().lock();
+		try {
+			int[] result = null;
+			result = and(result, current.search(srvcRsponsSj, FIELD_SJ));
+			result = and(result, current.search(srvcRsponsCn, FIELD_CN));
+			result = and(result, current.searchAny(searchKeyword));
+			if (result == null || result.length > maxCandidates) {
+				return null;
+			}
+			List<String> srvcRsponsNos = new ArrayList<>(result.length);
+			for (int docId : result) {
+				srvcRsponsNos.add(current.srvcRsponsNos[docId]);
+			}
+			return srvcRsponsNos;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static int[] and(int[] a, int[] b) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+		return intersect(a, b);
+	}
+
+	/**
+	 * 본문과 검색어를 같은 방식으로 접는다. LIKE 가 utf8mb4_0900_ai_ci 로 같다고 보는 문자는 같은 문자로 접어야
+	 * 후보가 LIKE 결과의 상위집합으로 유지된다.
+	 * - 대소문자: 소문자로
+	 * - 악센트: NFKD 분해 후 결합 문자 제거 (é -> e)
+	 * - 전각/반각, 합자: NFKD 호환 분해 (Ａ -> a, ﬁ -> fi)
+	 * - 콜레이션이 확장으로 비교하는 라틴 문자: ß -> ss, æ -> ae 등 (LATIN_EXPANSIONS)
+	 * - 연속 공백은 공백 한 개로 (LIKE 결과를 줄이지 않고 후보만 넓힌다)
+	 * 한글 음절/자모와 ASCII 는 분해 없이 그대로(소문자화만) 처리한다.
+	 * maxChars 는 원문 기준 글자 수다.
+	 */
+	static String normalize(String text, int maxChars) {
+		int len = Math.min(text.length(), maxChars);
+		StringBuilder sb = new StringBuilder(len);
+		boolean space = false;
+		for (int i = 0; i < len; i++) {
+			char c = text.charAt(i);
+			if (c < 0x80 || isHangul(c)) {
+				space = appendFolded(sb, Character.toLowerCase(c), space);
+				continue;
+			}
+			String folded = fold(c);
+			for (int j = 0; j < folded.length(); j++) {
+				space = appendFolded(sb, folded.charAt(j), space);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static boolean appendFolded(StringBuilder sb, char c, boolean space) {
+		if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+			if (!space) {
+				sb.append(' ');
+			}
+			return true;
+		}
+		sb.append(c);
+		return false;
+	}
+
+	private static String fold(char c) {
+		String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD);
+		StringBuilder sb = new StringBuilder(decomposed.length());
+		for (int i = 0; i < decomposed.length(); i++) {
+			char d = decomposed.charAt(i);
+			int type = Character.getType(d);
+			if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK) {
+				continue;
+			}
+			d = Character.toLowerCase(d);
+			String expansion = LATIN_EXPANSIONS.get(d);
+			if (expansion != null) {
+				sb.append(expansion);
+			} else {
+				sb.append(d);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static boolean isHangul(char c) {
+		return (c >= 0xAC00 && c <= 0xD7A3) || (c >= 0x1100 && c <= 0x11FF) || (c >= 0x3130 && c <= 0x318F);
+	}
+
+	static int bigram(char c1, char c2) {
+		return (c1 << 16) | c2;
+	}
+
+	private static long key(int field, int bigram) {
+		return ((long) field << 32) | (bigram & 0xFFFFFFFFL);
+	}
+
+	static int[] intersect(int[] a, int[] b) {
+		int[] out = new int[Math.min(a.length, b.length)];
+		int i = 0, j = 0, n = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				out[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(out, n);
+	}
+
+	static int[] union(int[] a, int[] b) {
+		int[] out = new int[a.length + b.length];
+		int i = 0, j = 0, n = 0;
+		while (i < a.length || j < b.length) {
+			if (j >= b.length || (i < a.length && a[i] < b[j])) {
+				out[n++] = a[i++];
+			} else if (i >= a.length || b[j] < a[i]) {
+				out[n++] = b[j++];
+			} else {
+				out[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(out, n);
+	}
+
+	/**
+	 * 색인 한 벌. 문서번호는 추가 순서대로 증가하므로 posting 은 append 만으로 정렬 상태가 유지된다.
+	 */
+	private static final class Segment {
+		private final Map<Long, IntList> postings = new HashMap<>();
+		private final Map<String, Integer> docIds = new HashMap<>();
+		private final BitSet live = new BitSet();
+		private final BitSet[] partial = { new BitSet(), new BitSet(), new BitSet() };
+		private String[] srvcRsponsNos = new String[1024];
+		private int nextDocId;
+		private int liveCount;
+		private int deadCount;
+
+		void add(SrvcRsponsVO doc, int maxChars) {
+			int docId = nextDocId++;
+			if (docId == srvcRsponsNos.length) {
+				srvcRsponsNos = Arrays.copyOf(srvcRsponsNos, docId * 2);
+			}
+			srvcRsponsNos[docId] = doc.getSrvcRsponsNo();
+			docIds.put(doc.getSrvcRsponsNo(), docId);
+			live.set(docId);
+			liveCount++;
+			addField(docId, FIELD_SJ, doc.getSrvcRsponsSj(), maxChars);
+			addField(docId, FIELD_CN, doc.getSrvcRsponsCn(), maxChars);
+			addField(docId, FIELD_DTLS, doc.getSrvcProcessDtls(), maxChars);
+		}
+
+		private void addField(int docId, int field, String text, int maxChars) {
+			if (text == null || text.isEmpty()) {
+				return;
+			}
+			if (text.length() > maxChars) {
+				partial[field].set(docId);
+			}
+			String norm = normalize(text, maxChars);
+			for (int i = 1; i < norm.length(); i++) {
+				long k = key(field, bigram(norm.charAt(i - 1), norm.charAt(i)));
+				postings.computeIfAbsent(k, x -> new IntList()).addOnce(docId);
+			}
+		}
+
+		void markUnknown(String srvcRsponsNo) {
+			Integer docId = docIds.get(srvcRsponsNo);
+			if (docId != null) {
+				for (BitSet p : partial) {
+					p.set(docId);
+				}
+			}
+		}
+
+		void remove(String srvcRsponsNo) {
+			Integer docId = docIds.remove(srvcRsponsNo);
+			if (docId != null) {
+				live.clear(docId);
+				for (BitSet p : partial) {
+					p.clear(docId);
+				}
+				liveCount--;
+				deadCount++;
+			}
+		}
+
+		/**
+		 * 한 필드에서 검색어의 모든 bigram 을 포함하는 살아있는 문서번호 (검색어로 좁힐 수 없으면 null)
+		 */
+		int[] search(String query, int field) {
+			if (query == null || query.indexOf('%') >= 0 || query.indexOf('_') >= 0) {
+				return null;
+			}
+			String norm = normalize(query, Integer.MAX_VALUE);
+			if (norm.length() < 2) {
+				return null;
+			}
+			List<IntList> lists = new ArrayList<>();
+			for (int i = 1; i < norm.length(); i++) {
+				IntList list = postings.get(key(field, bigram(norm.charAt(i - 1), norm.charAt(i))));
+				if (list == null) {
+					lists.clear();
+					break;
+				}
+				lists.add(list);
+			}
+			int[] result;
+			if (lists.isEmpty()) {
+				result = new int[0];
+			} else {
+				lists.sort((x, y) -> Integer.compare(x.size, y.size));
+				result = lists.get(0).toArray();
+				for (int i = 1; i < lists.size() && result.length > 0; i++) {
+					result = intersect(result, lists.get(i).toArray());
+				}
+			}
+			int n = 0;
+			for (int docId : result) {
+				if (live.get(docId)) {
+					result[n++] = docId;
+				}
+			}
+			result = Arrays.copyOf(result, n);
+			if (!partial[field].isEmpty()) {
+				result = union(result, partial[field].stream().toArray());
+			}
+			return result;
+		}
+
+		/**
+		 * 제목/내용/처리내역 중 하나라도 검색어를 포함할 수 있는 문서번호
+		 */
+		int[] searchAny(String query) {
+			int[] sj = search(query, FIELD_SJ);
+			if (sj == null) {
+				return null;
+			}
+			return union(union(sj, search(query, FIELD_CN)), search(query, FIELD_DTLS));
+		}
+	}
+
+	/**
+	 * 정렬된 int 목록 (append 전용)
+	 */
+	private static final class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		void addOnce(int value) {
+			if (size > 0 && values[size - 1] == value) {
+				return;
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package com.example.itsm_api.service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrStage;
+import com.example.itsm_api.vo.SrStageCntVO;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SR 단계별 건수 메모리 카운터.
+ *
+ * 단계 판정은 단계별 목록 쿼리의 날짜 조건과 같다. (REQUEST/RECEIVE 는 같은 조건, EVALUATE 는 VERIFY/FINISH 와 겹친다)
+ * 전체, 대상서비스(TRGET_SRVC_CODE)별, 담당자(CHARGER_ID)별 건수를 LongAdder 로 유지하고,
+ * SrvcRsponsService 의 상태 변경마다 변경 전/후 단계의 차이를 커밋 후 반영한다.
+ * 주기적으로 DB 의 GROUP BY 결과로 전체를 다시 계산하여 누적 오차를 바로잡는다.
+ */
+@Service("srStageCounter")
+public class SrStageCounter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SrStageCounter.class);
+
+	private static final SrStage[] STAGES = SrStage.values();
+
+	private final SrvcRsponsMapper srvcRsponsMapper;
+	private volatile Counts counts;
+
+	public SrStageCounter(SrvcRsponsMapper srvcRsponsMapper) {
+		this.srvcRsponsMapper = srvcRsponsMapper;
+	}
+
+	/**
+	 * 기동 시, 그리고 itsm.sr-stats.reconcile-ms 주기로 DB 에서 건수를 다시 계산한다.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${itsm.sr-stats.reconcile-ms:600000}",
+			fixedDelayString = "${itsm.sr-stats.reconcile-ms:600000}")
+	public void reconcile() {
+		try {
+			Counts fresh = new Counts();
+			List<SrStageCntVO> rows = srvcRsponsMapper.retrieveStageCntList();
+			for (SrStageCntVO row : rows) {
+				EnumSet<SrStage> stages = stagesOf("Y".equals(row.getRspons1stYn()), "Y".equals(row.getProcessYn()),
+						"Y".equals(row.getVerifyYn()), "Y".equals(row.getFinishYn()));
+				fresh.add(stages, row.getTrgetSrvcCode(), row.getChargerId(), row.getCnt());
+			}
+			Counts old = counts;
+			counts = fresh;
+			if (old != null) {
+				for (SrStage stage : STAGES) {
+					long drift = old.total[stage.ordinal()].sum() - fresh.total[stage.ordinal()].sum();
+					if (drift != 0) {
+						LOGGER.info("SR 단계별 건수 보정: {} {}", stage, drift > 0 ? "-" + drift : "+" + (-drift));
+					}
+				}
+			}
+		} catch (Exception e) {
+			LOGGER.warn("SR 단계별 건수 재계산 실패: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 상태 변경 전 SR 의 단계 판정 컬럼을 잠그고 읽는다. (같은 SR 의 동시 변경은 순서대로 반영된다)
+	 * @param srvcRsponsNo SR번호
+	 * @return 변경 전 SR, 없거나 삭제되었으면 null
+	 */
+	public SrvcRsponsVO snapshot(String srvcRsponsNo) {
+		return srvcRsponsNo == null ? null : srvcRsponsMapper.retrieveStageRowForUpdate(srvcRsponsNo);
+	}
+
+	/**
+	 * 변경 전/후 SR 의 단계 차이를 카운터에 반영한다. 트랜잭션 안이면 커밋 후에 반영한다.
+	 * @param before 변경 전 (신규 등록이면 null)
+	 * @param after 변경 후 (삭제되었으면 null)
+	 */
+	public void transition(SrvcRsponsVO before, SrvcRsponsVO after) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(before, after);
+				}
+			});
+		} else {
+			apply(before, after);
+		}
+	}
+
+	private void apply(SrvcRsponsVO before, SrvcRsponsVO after) {
+		Counts current = counts;
+		if (current == null) {
+			return;
+		}
+		if (before != null) {
+			current.add(stagesOf(before), before.getTrgetSrvcCode(), before.getChargerId(), -1);
+		}
+		if (after != null) {
+			current.add(stagesOf(after), after.getTrgetSrvcCode(), after.getChargerId(), 1);
+		}
+	}
+
+	/**
+	 * 단계별 건수
+	 * @return 단계별 건수, 아직 집계 전이면 null
+	 */
+	public Map<SrStage, Long> stageCounts() {
+		Counts current = counts;
+		return current == null ? null : toMap(current.total);
+	}
+
+	/**
+	 * 대상서비스별 단계별 건수
+	 */
+	public Map<String, Map<SrStage, Long>> stageCountsByTrgetSrvcCode() {
+		Counts current = counts;
+		return current == null ? null : toMap(current.byTrgetSrvcCode);
+	}
+
+	/**
+	 * 담당자 한 명의 단계별 건수
+	 * @param chargerId 담당자ID
+	 */
+	public Map<SrStage, Long> stageCountsByChargerId(String chargerId) {
+		Counts current = counts;
+		if (current == null) {
+			return null;
+		}
+		LongAdder[] adders = current.byChargerId.get(chargerId);
+		return adders == null ? toMap(newAdders()) : toMap(adders);
+	}
+
+	static EnumSet<SrStage> stagesOf(SrvcRsponsVO sr) {
+		return stagesOf(sr.getRspons1stDt() != null, sr.getProcessDt() != null,
+				sr.getVerifyDt() != null, sr.getFinishDt() != null);
+	}
+
+	/**
+	 * 단계별 목록 쿼리의 날짜 조건과 같은 기준으로 SR 이 속한 단계를 판정한다.
+	 */
+	static EnumSet<SrStage> stagesOf(boolean rspons1st, boolean process, boolean verify, boolean finish) {
+		EnumSet<SrStage> stages = EnumSet.of(SrStage.ALL);
+		if (!rspons1st) {
+			stages.add(SrStage.REQUEST);
+			stages.add(SrStage.RECEIVE);
+		} else if (!process) {
+			stages.add(SrStage.PROCESS);
+		} else if (!verify) {
+			stages.add(SrStage.VERIFY);
+		} else if (!finish) {
+			stages.add(SrStage.FINISH);
+		}
+		if (process || finish) {
+			stages.add(SrStage.EVALUATE);
+		}
+		return stages;
+	}
+
+	private static Map<SrStage, Long> toMap(LongAdder[] adders) {
+		Map<SrStage, Long> map = new EnumMap<>(SrStage.class);
+		for (SrStage stage : STAGES) {
+			map.put(stage, adders[stage.ordinal()].sum());
+		}
+		return map;
+	}
+
+	private static Map<String, Map<SrStage, Long>> toMap(Map<String, LongAdder[]> byKey) {
+		Map<String, Map<SrStage, Long>> map = new TreeMap<>();
+		byKey.forEach((key, adders) -> map.put(key, toMap(adders)));
+		return map;
+	}
+
+	private static LongAdder[] newAdders() {
+		LongAdder[] adders = new LongAdder[STAGES.length];
+		for (int i = 0; i < adders.length; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	private static final class Counts {
+		private final LongAdder[] total = newAdders();
+		private final ConcurrentHashMap<String, LongAdder[]> byTrgetSrvcCode = new ConcurrentHashMap<>();
+		private final ConcurrentHashMap<String, LongAdder[]> byChargerId = new ConcurrentHashMap<>();
+
+		void add(EnumSet<SrStage> stages, String trgetSrvcCode, String chargerId, long delta) {
+			LongAdder[] byTrget = trgetSrvcCode == null ? null : byTrgetSrvcCode.computeIfAbsent(trgetSrvcCode, k -> newAdders());
+			LongAdder[] byCharger = chargerId == null ? null : byChargerId.computeIfAbsent(chargerId, k -> newAdders());
+			for (SrStage stage : stages) {
+				int i = stage.ordinal();
+				total[i].add(delta);
+				if (byTrget != null) {
+					byTrget[i].add(delta);
+				}
+				if (byCharger != null) {
+					byCharger[i].add(delta);
+				}
+			}
+		}
+	}
+}
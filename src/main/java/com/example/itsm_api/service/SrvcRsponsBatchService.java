@@ -0,0 +1,194 @@
+package com.example.itsm_api.service;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SR 상태 일괄 변경.
+ *
+ * 항목을 itsm.sr-batch.chunk-size 건씩 나누어 청크마다 트랜잭션 하나로 처리한다.
+ * 청크 안의 UPDATE 는 MyBatis BATCH 실행기로 모아 JDBC batch 한 번으로 보내고,
+ * 변경 전/후 단계 조회도 IN 조회 한 번씩으로 끝낸다. (한 트랜잭션에 실행기 종류를 섞을 수 없으므로 모두 BATCH 세션으로 실행)
+ * 청크가 실패하면 그 청크만 롤백되고 항목마다 실패로 표시된 뒤 다음 청크를 계속 처리한다.
+ */
+@Service("srvcRsponsBatchService")
+public class SrvcRsponsBatchService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SrvcRsponsBatchService.class);
+
+	/**
+	 * 일괄 변경을 지원하는 상태 변경. path 는 단건 API 의 경로(/api/sr/{id}/{path})와 같다.
+	 */
+	public enum Transition {
+		RECEIVE("receive", SrvcRsponsMapper::updateReceive, false),
+		RESPONSE_1ST("response-1st", SrvcRsponsMapper::updateRspons1st, false),
+		PROCESS("process", SrvcRsponsMapper::updateProcess, true),
+		SR_PROCESS("sr-process", SrvcRsponsMapper::updateSrProcess, true),
+		VERIFY("verify", SrvcRsponsMapper::updateSrVerify, false),
+		FINISH("finish", SrvcRsponsMapper::updateSrFinish, false);
+
+		private final String path;
+		private final BiConsumer<SrvcRsponsMapper, SrvcRsponsVO> statement;
+		private final boolean reindex;
+
+		Transition(String path, BiConsumer<SrvcRsponsMapper, SrvcRsponsVO> statement, boolean reindex) {
+			this.path = path;
+			this.statement = statement;
+			this.reindex = reindex;
+		}
+
+		public String getPath() { return path; }
+
+		/**
+		 * @param path 경로 값 (receive, response-1st, process, sr-process, verify, finish)
+		 * @return 해당 상태 변경, 없으면 null
+		 */
+		public static Transition of(String path) {
+			for (Transition t : values()) {
+				if (t.path.equalsIgnoreCase(path)) {
+					return t;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * 항목별 처리 결과
+	 * @param srvcRsponsNo SR번호
+	 * @param success 반영 여부 (대상 SR 이 없거나 삭제되었으면 false)
+	 * @param updated 변경된 행 수
+	 * @param error 실패 사유
+	 */
+	public record ItemResult(String srvcRsponsNo, boolean success, int updated, String error) {
+		static ItemResult failed(String srvcRsponsNo, String error) {
+			return new ItemResult(srvcRsponsNo, false, 0, error);
+		}
+	}
+
+	private final SqlSessionTemplate batchSession;
+	private final TransactionTemplate transactionTemplate;
+	private final SrStageCounter srStageCounter;
+	private final SrSearchIndex srSearchIndex;
+	private final int chunkSize;
+
+	public SrvcRsponsBatchService(SqlSessionFactory sqlSessionFactory, PlatformTransactionManager transactionManager,
+			SrStageCounter srStageCounter, SrSearchIndex srSearchIndex,
+			@Value("${itsm.sr-batch.chunk-size:100}") int chunkSize) {
+		this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.srStageCounter = srStageCounter;
+		this.srSearchIndex = srSearchIndex;
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * 여러 SR 에 같은 상태 변경을 적용한다.
+	 * @param transition 상태 변경
+	 * @param items 항목별 변경 내용 (srvcRsponsNo 필수)
+	 * @return 요청 순서대로의 항목별 결과
+	 */
+	public List<ItemResult> execute(Transition transition, List<SrvcRsponsVO> items) {
+		ItemResult[] results = new ItemResult[items.size()];
+		List<Integer> pending = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < items.size(); i++) {
+			SrvcRsponsVO item = items.get(i);
+			String no = item == null ? null : item.getSrvcRsponsNo();
+			if (no == null || no.isEmpty()) {
+				results[i] = ItemResult.failed(no, "srvcRsponsNo is required");
+			} else if (!seen.add(no)) {
+				results[i] = ItemResult.failed(no, "Duplicate srvcRsponsNo in batch");
+			} else {
+				pending.add(i);
+			}
+		}
+
+		for (int from = 0; from < pending.size(); from += chunkSize) {
+			List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+			List<SrvcRsponsVO> chunkItems = new ArrayList<>(chunk.size());
+			for (int i : chunk) {
+				chunkItems.add(items.get(i));
+			}
+			try {
+				List<ItemResult> chunkResults = transactionTemplate.execute(status -> executeChunk(transition, chunkItems));
+				for (int k = 0; k < chunk.size(); k++) {
+					results[chunk.get(k)] = chunkResults.get(k);
+				}
+			} catch (RuntimeException e) {
+				LOGGER.warn("SR 일괄 {} 청크 실패 ({}건 롤백): {}", transition.path, chunk.size(), e.getMessage());
+				for (int i : chunk) {
+					results[i] = ItemResult.failed(items.get(i).getSrvcRsponsNo(), e.getMessage());
+				}
+			}
+		}
+		return List.of(results);
+	}
+
+	List<ItemResult> executeChunk(Transition transition, List<SrvcRsponsVO> chunkItems) {
+		SrvcRsponsMapper mapper = batchSession.getMapper(SrvcRsponsMapper.class);
+		List<String> nos = new ArrayList<>(chunkItems.size());
+		for (SrvcRsponsVO item : chunkItems) {
+			nos.add(item.getSrvcRsponsNo());
+		}
+
+		Map<String, SrvcRsponsVO> before = byNo(mapper.retrieveStageRowListForUpdate(nos));
+		for (SrvcRsponsVO item : chunkItems) {
+			transition.statement.accept(mapper, item);
+		}
+		// 파라미터 객체 기준으로 JDBC batch 결과를 항목에 대응시킨다
+		Map<Object, Integer> updateCounts = new IdentityHashMap<>();
+		for (BatchResult batchResult : batchSession.flushStatements()) {
+			List<Object> params = batchResult.getParameterObjects();
+			int[] counts = batchResult.getUpdateCounts();
+			for (int i = 0; i < params.size() && i < counts.length; i++) {
+				updateCounts.put(params.get(i), counts[i]);
+			}
+		}
+		Map<String, SrvcRsponsVO> after = byNo(mapper.retrieveStageRowListForUpdate(nos));
+
+		List<ItemResult> chunkResults = new ArrayList<>(chunkItems.size());
+		for (SrvcRsponsVO item : chunkItems) {
+			String no = item.getSrvcRsponsNo();
+			int updated = updateCounts.getOrDefault(item, 0);
+			// 드라이버가 건수를 돌려주지 않으면(SUCCESS_NO_INFO) 대상 SR 이 있었는지로 판단한다
+			boolean success = updated > 0 || (updated == Statement.SUCCESS_NO_INFO && before.containsKey(no));
+			if (success) {
+				srStageCounter.transition(before.get(no), after.get(no));
+				if (transition.reindex) {
+					srSearchIndex.reindex(no);
+				}
+			}
+			chunkResults.add(new ItemResult(no, success, Math.max(updated, 0), success ? null : "No records updated"));
+		}
+		return chunkResults;
+	}
+
+	private static Map<String, SrvcRsponsVO> byNo(List<SrvcRsponsVO> rows) {
+		Map<String, SrvcRsponsVO> map = new HashMap<>();
+		for (SrvcRsponsVO row : rows) {
+			map.put(row.getSrvcRsponsNo(), row);
+		}
+		return map;
+	}
+}
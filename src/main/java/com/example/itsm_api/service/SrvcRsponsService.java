@@ -1,12 +1,24 @@
 package com.example.itsm_api.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.PagedResult;
+import com.example.itsm_api.vo.PagedResult.CountMode;
+import com.example.itsm_api.vo.SrListCursor;
+import com.example.itsm_api.vo.SrStage;
 import com.example.itsm_api.vo.SrvcRsponsVO;
 
 @Service("srvcRsponsService")
@@ -14,9 +26,35 @@ public class SrvcRsponsService {
 	private static final Logger LOGGER = LoggerFactory.getLogger(SrvcRsponsService.class);
 	
 	private final SrvcRsponsMapper srvcRsponsMapper;
+	private final SrNoAllocator srNoAllocator;
+	private final UserDirectoryService userDirectoryService;
+	private final SysChargerDirectoryService sysChargerDirectoryService;
+	private final SrSearchIndex srSearchIndex;
+	private final SrRefService srRefService;
+	private final SrStageCounter srStageCounter;
+	private final Executor countExecutor;
+	private final TransactionTemplate readOnlyTransaction;
+	private final int estimateCountLimit;
 
-	public SrvcRsponsService(SrvcRsponsMapper srvcRsponsMapper) {
+	public SrvcRsponsService(SrvcRsponsMapper srvcRsponsMapper, SrNoAllocator srNoAllocator,
+			UserDirectoryService userDirectoryService, SysChargerDirectoryService sysChargerDirectoryService,
+			SrSearchIndex srSearchIndex, SrRefService srRefService,
+			SrStageCounter srStageCounter,
+			@Qualifier("srCountExecutor") Executor countExecutor,
+			PlatformTransactionManager transactionManager,
+			@Value("${itsm.sr-list.estimate-count-limit:10000}") int estimateCountLimit) {
 		this.srvcRsponsMapper = srvcRsponsMapper;
+		this.srNoAllocator = srNoAllocator;
+		this.userDirectoryService = userDirectoryService;
+		this.sysChargerDirectoryService = sysChargerDirectoryService;
+		this.srSearchIndex = srSearchIndex;
+		this.srRefService = srRefService;
+		this.srStageCounter = srStageCounter;
+		this.countExecutor = countExecutor;
+		// 병렬 count 쿼리도 목록 조회와 같이 읽기 전용 트랜잭션으로 (읽기 복제본 라우팅 대상)
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.estimateCountLimit = estimateCountLimit;
 	}
 	
 	/**
@@ -25,8 +63,13 @@ public class SrvcRsponsService {
 	 * @return 등록 결과
 	 * @exception Exception
 	 */
+	@Transactional(rollbackFor = Exception.class)
 	public void create(SrvcRsponsVO vo) throws Exception{
+		vo.setSrvcRsponsNo(srNoAllocator.nextSrvcRsponsNo());
 		srvcRsponsMapper.create(vo);
+		srStageCounter.transition(null, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srRefService.sync(vo.getSrvcRsponsNo());
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
 	}
 	
 	/**
@@ -35,15 +78,27 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(rollbackFor = Exception.class)
 	public int updateRequst(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateRequst(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateRequst(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srRefService.sync(vo.getSrvcRsponsNo());
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
+		return cnt;
 	}
 	
+	@Transactional(rollbackFor = Exception.class)
 	public int updateReceive(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateReceive(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateReceive(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		return cnt;
 	}
 	
+	@Transactional(rollbackFor = Exception.class)
 	public void createForMngr(SrvcRsponsVO vo) throws Exception{
+		vo.setSrvcRsponsNo(srNoAllocator.nextSrvcRsponsNo());
 		srvcRsponsMapper.create(vo);
 		
 		LOGGER.debug("srvcRsponsNo: "+vo.getSrvcRsponsNo());		
@@ -51,6 +106,9 @@ public class SrvcRsponsService {
 		
 		int cnt = srvcRsponsMapper.update(vo);
 		LOGGER.debug("update cnt: "+cnt);
+		srStageCounter.transition(null, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srRefService.sync(vo.getSrvcRsponsNo());
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
 	}	
 		
 	/**
@@ -59,8 +117,12 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(rollbackFor = Exception.class)
 	public int updateRspons1st(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateRspons1st(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateRspons1st(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		return cnt;
 	}
 	
 	/**
@@ -69,20 +131,38 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(rollbackFor = Exception.class)
 	public int updateProcess(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateProcess(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateProcess(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
+		return cnt;
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public int updateSrProcess(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateSrProcess(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateSrProcess(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
+		return cnt;
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public int updateSrVerify(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateSrVerify(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateSrVerify(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		return cnt;
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public int updateSrFinish(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.updateSrFinish(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.updateSrFinish(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		return cnt;
 	}
 
 	public int updateSrEv(SrvcRsponsVO vo) throws Exception{
@@ -93,8 +173,14 @@ public class SrvcRsponsService {
 		return srvcRsponsMapper.updateSrEvReRequest(vo);
 	}
 
+	@Transactional(rollbackFor = Exception.class)
 	public int createSrReRequest(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.createSrReRequest(vo);
+		vo.setSrvcRsponsNo(srNoAllocator.nextSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.createSrReRequest(vo);
+		srStageCounter.transition(null, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srRefService.sync(vo.getSrvcRsponsNo());
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
+		return cnt;
 	}
 
 	/**
@@ -165,8 +251,14 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(rollbackFor = Exception.class)
 	public int update(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.update(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.update(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srRefService.sync(vo.getSrvcRsponsNo());
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
+		return cnt;
 	}
 	
 	/**
@@ -175,8 +267,13 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(rollbackFor = Exception.class)
 	public int delete(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.delete(vo);
+		SrvcRsponsVO before = srStageCounter.snapshot(vo.getSrvcRsponsNo());
+		int cnt = srvcRsponsMapper.delete(vo);
+		srStageCounter.transition(before, srStageCounter.snapshot(vo.getSrvcRsponsNo()));
+		srSearchIndex.reindex(vo.getSrvcRsponsNo());
+		return cnt;
 	}
 	
 	/**
@@ -185,8 +282,9 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public SrvcRsponsVO retrieve(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieve(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieve(vo));
 	}
 	
 	/**
@@ -195,31 +293,45 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrievePagingList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrievePagingList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrievePagingList(vo));
 	}
 	
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrReqList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveSrReqList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrReqList(vo));
 	}
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrRcvList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveSrRcvList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrRcvList(vo));
 	}
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrProcList(SrvcRsponsVO vo) throws Exception{
 		//R001 모두 보기, R003 해당 서비스만 보기, R005 자신거만
-		return srvcRsponsMapper.retrieveSrProcList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrProcList(vo));
 	}
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrVrList(SrvcRsponsVO vo) throws Exception{
 		//처리결과 검증 CMMN_CODE_SUB_NM1 trgetSrvcCodeSubNm1 = 'Z1' 
-		return srvcRsponsMapper.retrieveSrVrList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrVrList(vo));
 	}
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrFnList(SrvcRsponsVO vo) throws Exception{
 		//검증결과 완료처리 CMMN_CODE_SUB_NM1 trgetSrvcCodeSubNm1 = 'Z1' 
-		return srvcRsponsMapper.retrieveSrFnList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrFnList(vo));
 	}
 
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrEvList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveSrEvList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrEvList(vo));
 	}
 	
 	
@@ -229,8 +341,10 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveWdtbPagingList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveWdtbPagingList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveWdtbPagingList(vo));
 	}
 	
 	/**
@@ -239,8 +353,10 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveInfraOpertPagingList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveInfraOpertPagingList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveInfraOpertPagingList(vo));
 	}
 	
 	/**
@@ -249,8 +365,10 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrievefnctImprvmPagingList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrievefnctImprvmPagingList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrievefnctImprvmPagingList(vo));
 	}
 	
 	/**
@@ -259,36 +377,165 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public int retrievePagingListCnt(SrvcRsponsVO vo) throws Exception{
+		applySearchIndex(vo);
 		return srvcRsponsMapper.retrievePagingListCnt(vo);
 	}
+	@Transactional(readOnly = true)
 	public int retrieveSrReqPagingListCnt(SrvcRsponsVO vo) throws Exception{
+		applySearchIndex(vo);
 		return srvcRsponsMapper.retrieveSrReqPagingListCnt(vo);
 	}
+	@Transactional(readOnly = true)
 	public int retrieveSrRcvPagingListCnt(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveSrReqPagingListCnt(vo);
+		applySearchIndex(vo);
+		return srvcRsponsMapper.retrieveSrRcvPagingListCnt(vo);
 	}
+	@Transactional(readOnly = true)
 	public int retrieveSrProcPagingListCnt(SrvcRsponsVO vo) throws Exception{
+		applySearchIndex(vo);
 		return srvcRsponsMapper.retrieveSrProcPagingListCnt(vo);
 	}
+	@Transactional(readOnly = true)
 	public int retrieveSrVrPagingListCnt(SrvcRsponsVO vo) throws Exception{
+		applySearchIndex(vo);
 		return srvcRsponsMapper.retrieveSrVrPagingListCnt(vo);
 	}
+	@Transactional(readOnly = true)
 	public int retrieveSrFnPagingListCnt(SrvcRsponsVO vo) throws Exception{
+		applySearchIndex(vo);
 		return srvcRsponsMapper.retrieveSrFnPagingListCnt(vo);
 	}
+	@Transactional(readOnly = true)
 	public int retrieveSrEvPagingListCnt(SrvcRsponsVO vo) throws Exception{
+		applySearchIndex(vo);
 		return srvcRsponsMapper.retrieveSrEvPagingListCnt(vo);
 	}
 	
+	/**
+	 * 단계별 SR정보 페이징 목록과 총 갯수를 함께 조회한다.
+	 * 
+	 * - offset 페이징 + EXACT: 목록 쿼리에 COUNT(*) OVER() 를 붙여 한 번의 조회로 총 갯수를 함께 가져온다.
+	 *   (범위를 벗어난 빈 페이지인 경우에만 count 쿼리를 별도로 실행)
+	 * - cursor 페이징 또는 ESTIMATED: count 쿼리를 별도 커넥션에서 목록 조회와 병렬로 실행한다.
+	 *   ESTIMATED 는 estimateCountLimit 건까지만 세고, 상한에 도달하면 totalEstimated=true 로 반환한다.
+	 * - NONE: 총 갯수를 조회하지 않는다.
+	 * 
+	 * 다음 페이지 여부 판단을 위해 recordCountPerPage + 1 건을 조회한다.
+	 * @param stage - 조회할 SR 단계
+	 * @param vo - 검색조건과 페이징 정보가 담긴 SrvcRsponsVO
+	 * @param countMode - 총 갯수 조회 방식
+	 * @return 목록, 총 갯수, 다음 페이지 cursor
+	 * @throws Exception
+	 */
+	@Transactional(readOnly = true)
+	public PagedResult<SrvcRsponsVO> retrievePagedResult(SrStage stage, SrvcRsponsVO vo, CountMode countMode) throws Exception{
+		int pageSize = vo.getRecordCountPerPage();
+		boolean cursorMode = vo.getAfterSrvcRsponsNo() != null && !vo.getAfterSrvcRsponsNo().isEmpty();
+		boolean windowed = countMode == CountMode.EXACT && !cursorMode;
+
+		applySearchIndex(vo);
+		vo.setCntLimit(countMode == CountMode.ESTIMATED ? estimateCountLimit : null);
+		vo.setTotalCntYn(windowed ? "Y" : null);
+
+		// count 쿼리는 seek 조건/LIMIT 를 사용하지 않으므로 같은 vo 를 읽기 전용으로 공유한다.
+		CompletableFuture<Integer> countFuture = null;
+		if (countMode != CountMode.NONE && !windowed) {
+			countFuture = CompletableFuture.supplyAsync(
+					() -> readOnlyTransaction.execute(status -> retrieveStageCnt(stage, vo)), countExecutor);
+		}
+
+		List<SrvcRsponsVO> rows;
+		vo.setRecordCountPerPage(pageSize + 1);
+		try {
+			rows = retrieveStageList(stage, vo);
+		} finally {
+			vo.setRecordCountPerPage(pageSize);
+		}
+
+		boolean hasNext = rows.size() > pageSize;
+		if (hasNext) {
+			rows = rows.subList(0, pageSize);
+		}
+		userDirectoryService.hydrate(rows);
+		String nextCursor = hasNext ? SrListCursor.encode(rows.get(rows.size() - 1).getSrvcRsponsNo()) : null;
+
+		Long total = null;
+		boolean totalEstimated = false;
+		if (windowed) {
+			if (!rows.isEmpty()) {
+				total = rows.get(0).getTotalCnt();
+			} else {
+				total = vo.getFirstIndex() > 0 ? (long) retrieveStageCnt(stage, vo) : 0L;
+			}
+		} else if (countFuture != null) {
+			try {
+				total = (long) countFuture.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+			}
+			totalEstimated = countMode == CountMode.ESTIMATED && total >= estimateCountLimit;
+		}
+		vo.setTotalCntYn(null);
+		vo.setCntLimit(null);
+
+		return new PagedResult<>(rows, total, totalEstimated, hasNext, nextCursor);
+	}
+
+	/**
+	 * 제목/내용/통합 검색어가 있으면 SrSearchIndex 의 후보 SR번호를 검색조건에 추가한다.
+	 * 색인을 사용할 수 없으면 후보 없이 LIKE 로만 조회한다.
+	 */
+	void applySearchIndex(SrvcRsponsVO vo) {
+		if (vo.getSearchCandidateNos() != null) {
+			return;
+		}
+		if (isEmpty(vo.getSrvcRsponsSj()) && isEmpty(vo.getSrvcRsponsCn()) && isEmpty(vo.getSearchKeyword())) {
+			return;
+		}
+		vo.setSearchCandidateNos(srSearchIndex.searchCandidates(
+				vo.getSrvcRsponsSj(), vo.getSrvcRsponsCn(), vo.getSearchKeyword()));
+	}
+
+	private static boolean isEmpty(String value) {
+		return value == null || value.isEmpty();
+	}
+
+	private List<SrvcRsponsVO> retrieveStageList(SrStage stage, SrvcRsponsVO vo) {
+		switch (stage) {
+		case REQUEST:  return srvcRsponsMapper.retrieveSrReqList(vo);
+		case RECEIVE:  return srvcRsponsMapper.retrieveSrRcvList(vo);
+		case PROCESS:  return srvcRsponsMapper.retrieveSrProcList(vo);
+		case VERIFY:   return srvcRsponsMapper.retrieveSrVrList(vo);
+		case FINISH:   return srvcRsponsMapper.retrieveSrFnList(vo);
+		case EVALUATE: return srvcRsponsMapper.retrieveSrEvList(vo);
+		default:       return srvcRsponsMapper.retrievePagingList(vo);
+		}
+	}
+
+	private int retrieveStageCnt(SrStage stage, SrvcRsponsVO vo) {
+		switch (stage) {
+		case REQUEST:  return srvcRsponsMapper.retrieveSrReqPagingListCnt(vo);
+		case RECEIVE:  return srvcRsponsMapper.retrieveSrRcvPagingListCnt(vo);
+		case PROCESS:  return srvcRsponsMapper.retrieveSrProcPagingListCnt(vo);
+		case VERIFY:   return srvcRsponsMapper.retrieveSrVrPagingListCnt(vo);
+		case FINISH:   return srvcRsponsMapper.retrieveSrFnPagingListCnt(vo);
+		case EVALUATE: return srvcRsponsMapper.retrieveSrEvPagingListCnt(vo);
+		default:       return srvcRsponsMapper.retrievePagingListCnt(vo);
+		}
+	}
+	
 	/**
 	 * SR정보 목록을 조회한다.
 	 * @param vo
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveList(vo));
 	}
 	
 	/**
@@ -297,8 +544,10 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveAllList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveAllList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveAllList(vo));
 	}
 	
 	/**
@@ -307,8 +556,10 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveAllwdtbList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveAllwdtbList(vo);
+		applySearchIndex(vo);
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveAllwdtbList(vo));
 	}
 	
 	/**
@@ -317,6 +568,7 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveRqesterNmList(SrvcRsponsVO vo) throws Exception{
 		return srvcRsponsMapper.retrieveRqesterNmList(vo);
 	}
@@ -327,17 +579,20 @@ public class SrvcRsponsService {
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveRqester1stNmList(SrvcRsponsVO vo) throws Exception{
 		return srvcRsponsMapper.retrieveRqester1stNmList(vo);
 	}
 	
 	/**
-	 * SR 번호 정보 목록을 조회한다.
+	 * SR 번호 정보 목록을 조회한다. 담당 시스템은 SysChargerDirectoryService 캐시에서 넘긴다
 	 * @param vo
 	 * @return
 	 * @throws Exception
 	 */
+	@Transactional(readOnly = true)
 	public List<SrvcRsponsVO> retrieveSrvcRsponsNoList(SrvcRsponsVO vo) throws Exception{
-		return srvcRsponsMapper.retrieveSrvcRsponsNoList(vo);
+		vo.setChargerSysCodes(sysChargerDirectoryService.getSysCodes(vo.getChargerId()));
+		return userDirectoryService.hydrate(srvcRsponsMapper.retrieveSrvcRsponsNoList(vo));
 	}
 }
@@ -0,0 +1,103 @@
+package com.example.itsm_api.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.itsm_api.mapper.SysChargerMapper;
+import com.example.itsm_api.vo.SysChargerVO;
+
+/**
+ * 담당자별 담당 시스템(TB_SYS_CHARGER) 메모리 캐시.
+ *
+ * 담당자(R003) 조회마다 TB_SYS_CHARGER 를 서브쿼리로 읽는 대신, 기동 시 전체 배정을 적재하여
+ * 쿼리에는 담당 시스템 코드를 IN 목록으로 넘긴다.
+ * 주기적으로 테이블 서명(건수 + CRC32 합)만 조회하고, 달라졌을 때 전체를 다시 적재하므로 배정 변경은 재기동 없이 반영된다.
+ * 적재 전(또는 적재 실패 시)에는 null 을 반환하고, 쿼리는 기존 서브쿼리로 조회한다.
+ */
+@Service("sysChargerDirectoryService")
+public class SysChargerDirectoryService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SysChargerDirectoryService.class);
+
+	private final SysChargerMapper sysChargerMapper;
+
+	private volatile Map<String, List<String>> sysCodesByUser;
+	private volatile String signature;
+
+	public SysChargerDirectoryService(SysChargerMapper sysChargerMapper) {
+		this.sysChargerMapper = sysChargerMapper;
+	}
+
+	/**
+	 * 기동 시 전체 배정을 적재한다.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		try {
+			reload(sysChargerMapper.retrieveSysChargerSignature());
+		} catch (Exception e) {
+			LOGGER.warn("담당 시스템 배정 적재 실패, 다음 갱신 주기에 재시도: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 테이블 서명이 바뀌었으면 전체를 다시 적재한다.
+	 */
+	@Scheduled(initialDelayString = "${itsm.sys-charger.refresh-ms:30000}",
+			fixedDelayString = "${itsm.sys-charger.refresh-ms:30000}")
+	public void refresh() {
+		try {
+			String current = sysChargerMapper.retrieveSysChargerSignature();
+			if (sysCodesByUser == null || !current.equals(signature)) {
+				reload(current);
+			}
+		} catch (Exception e) {
+			LOGGER.warn("담당 시스템 배정 갱신 실패: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 담당자의 담당 시스템 코드 목록을 반환한다.
+	 * @param userId 담당자ID
+	 * @return 담당 시스템 코드 (배정이 없으면 빈 목록), 아직 적재되지 않았으면 null
+	 */
+	public List<String> getSysCodes(String userId) {
+		Map<String, List<String>> map = sysCodesByUser;
+		if (map == null) {
+			return null;
+		}
+		return userId == null ? List.of() : map.getOrDefault(userId, List.of());
+	}
+
+	/**
+	 * 담당자가 해당 시스템에 배정되어 있는지 확인한다.
+	 * @param userId 담당자ID
+	 * @param sysCode 시스템 코드 (SR 의 TRGET_SRVC_CODE)
+	 * @return 배정 여부, 아직 적재되지 않았으면 false
+	 */
+	public boolean isAssigned(String userId, String sysCode) {
+		List<String> sysCodes = getSysCodes(userId);
+		return sysCodes != null && sysCodes.contains(sysCode);
+	}
+
+	private void reload(String newSignature) {
+		Map<String, List<String>> map = new HashMap<>();
+		for (SysChargerVO row : sysChargerMapper.retrieveSysChargerList()) {
+			if (row.getUserId() != null && row.getSysCode() != null) {
+				map.computeIfAbsent(row.getUserId(), k -> new ArrayList<>()).add(row.getSysCode());
+			}
+		}
+		map.replaceAll((userId, sysCodes) -> List.copyOf(sysCodes));
+		sysCodesByUser = map;
+		signature = newSignature;
+		LOGGER.info("담당 시스템 배정 적재: 담당자 {}명", map.size());
+	}
+}
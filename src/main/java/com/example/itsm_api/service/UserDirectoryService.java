@@ -0,0 +1,223 @@
+package com.example.itsm_api.service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.itsm_api.mapper.UserDirectoryMapper;
+import com.example.itsm_api.vo.LoginInfoVO;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * 사용자 디렉터리(USER_ID -> USER_NM) 메모리 캐시.
+ *
+ * SR 조회 SQL 에서 TB_LOGIN_INFO 를 여러 번 조인하는 대신, 기동 시 전체 사용자명을 적재하고
+ * 주기적으로 변경분(UPDT_DT/CREAT_DT 기준)만 반영한다.
+ * 조회 결과의 사용자명은 hydrate 에서 결과 목록을 한 번 순회하며 채운다.
+ * 캐시에 없는 사용자는 한 번의 IN 조회로 적재하고, DB 에도 없는 사용자는 다음 갱신 전까지 다시 조회하지 않는다
+ * (최대 max-unknown-ids 개, 넘치면 비운다).
+ * 삭제된 사용자는 변경분 조회에 나타나지 않으므로, 갱신 시 USER_ID 서명(건수 + CRC32 합)이 바뀌었으면
+ * 전체 USER_ID 를 조회해 DB 에 없는 항목을 캐시에서 뺀다.
+ */
+@Service("userDirectoryService")
+public class UserDirectoryService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserDirectoryService.class);
+
+	private final UserDirectoryMapper userDirectoryMapper;
+	private final int maxUnknownIds;
+
+	private final Map<String, String> userNms = new ConcurrentHashMap<>();
+	private final Set<String> unknownIds = ConcurrentHashMap.newKeySet();
+	private volatile Date lastChangeDt;
+	private volatile String idSignature;
+	private volatile boolean loaded;
+
+	public UserDirectoryService(UserDirectoryMapper userDirectoryMapper,
+			@Value("${itsm.user-directory.max-unknown-ids:10000}") int maxUnknownIds) {
+		this.userDirectoryMapper = userDirectoryMapper;
+		this.maxUnknownIds = maxUnknownIds;
+	}
+
+	/**
+	 * 기동 시 전체 사용자명을 적재한다.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		try {
+			String signature = userDirectoryMapper.retrieveUserIdSignature();
+			List<LoginInfoVO> users = userDirectoryMapper.retrieveUserNmList();
+			put(users);
+			idSignature = signature;
+			if (lastChangeDt == null) {
+				lastChangeDt = new Date(0L);
+			}
+			loaded = true;
+			LOGGER.info("사용자 디렉터리 적재: {}명", userNms.size());
+		} catch (Exception e) {
+			LOGGER.warn("사용자 디렉터리 적재 실패, 다음 갱신 주기에 재시도: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 마지막 적재 이후 생성/수정된 사용자만 반영하고, 사용자가 삭제되었으면 캐시에서 뺀다.
+	 */
+	@Scheduled(initialDelayString = "${itsm.user-directory.refresh-ms:60000}",
+			fixedDelayString = "${itsm.user-directory.refresh-ms:60000}")
+	public void refresh() {
+		if (!loaded) {
+			load();
+			return;
+		}
+		try {
+			List<LoginInfoVO> changed = userDirectoryMapper.retrieveChangedUserNmList(lastChangeDt);
+			put(changed);
+			removeDeleted();
+			unknownIds.clear();
+			if (!changed.isEmpty()) {
+				LOGGER.debug("사용자 디렉터리 갱신: {}명", changed.size());
+			}
+		} catch (Exception e) {
+			LOGGER.warn("사용자 디렉터리 갱신 실패: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 사용자명을 반환한다. 캐시에 없으면 DB 에서 적재한다.
+	 * @param userId 사용자ID
+	 * @return 사용자명, 없으면 null
+	 */
+	public String getUserNm(String userId) {
+		if (userId == null || userId.isEmpty()) {
+			return null;
+		}
+		String userNm = userNms.get(userId);
+		if (userNm == null && !unknownIds.contains(userId)) {
+			loadMissing(Set.of(userId));
+			userNm = userNms.get(userId);
+		}
+		return userNm;
+	}
+
+	/**
+	 * SR 정보의 사용자명 필드를 채운다.
+	 * @param vo SR 정보
+	 * @return vo
+	 */
+	public SrvcRsponsVO hydrate(SrvcRsponsVO vo) {
+		if (vo != null) {
+			hydrate(List.of(vo));
+		}
+		return vo;
+	}
+
+	/**
+	 * SR 목록의 사용자명 필드(담당자/확인자/등록자/수정자/검증자/완료자, 요청자명 미입력 시 요청자)를 채운다.
+	 * 캐시에 없는 사용자ID 는 모아서 한 번만 조회한다.
+	 * @param list SR 목록
+	 * @return list
+	 */
+	public List<SrvcRsponsVO> hydrate(List<SrvcRsponsVO> list) {
+		if (list == null || list.isEmpty()) {
+			return list;
+		}
+		Set<String> missing = null;
+		for (SrvcRsponsVO vo : list) {
+			missing = collectMissing(missing, vo.getChargerId(), vo.getCnfrmrId(), vo.getCreatId(),
+					vo.getUpdtId(), vo.getVerifyId(), vo.getFinishId(),
+					vo.getRqesterNm() == null ? vo.getRqesterId() : null);
+		}
+		if (missing != null) {
+			loadMissing(missing);
+		}
+		for (SrvcRsponsVO vo : list) {
+			vo.setChargerUserNm(lookup(vo.getChargerId()));
+			vo.setCnfrmrUserNm(lookup(vo.getCnfrmrId()));
+			vo.setCreatUserNm(lookup(vo.getCreatId()));
+			vo.setUpdtUserNm(lookup(vo.getUpdtId()));
+			vo.setVerifyUserNm(lookup(vo.getVerifyId()));
+			vo.setFinishUserNm(lookup(vo.getFinishId()));
+			if (vo.getRqesterNm() == null) {
+				vo.setRqesterNm(lookup(vo.getRqesterId()));
+			}
+		}
+		return list;
+	}
+
+	private Set<String> collectMissing(Set<String> missing, String... userIds) {
+		for (String userId : userIds) {
+			if (userId != null && !userId.isEmpty() && !userNms.containsKey(userId) && !unknownIds.contains(userId)) {
+				if (missing == null) {
+					missing = new HashSet<>();
+				}
+				missing.add(userId);
+			}
+		}
+		return missing;
+	}
+
+	private String lookup(String userId) {
+		return userId == null ? null : userNms.get(userId);
+	}
+
+	private void loadMissing(Collection<String> userIds) {
+		List<LoginInfoVO> users = userDirectoryMapper.retrieveUserNmListByIds(userIds);
+		for (LoginInfoVO user : users) {
+			if (user.getUserNm() != null) {
+				userNms.put(user.getUserId(), user.getUserNm());
+			}
+		}
+		for (String userId : userIds) {
+			if (!userNms.containsKey(userId)) {
+				if (unknownIds.size() >= maxUnknownIds) {
+					unknownIds.clear();
+				}
+				unknownIds.add(userId);
+			}
+		}
+	}
+
+	/**
+	 * USER_ID 서명이 바뀌었으면 DB 에 없는 사용자를 캐시에서 뺀다.
+	 * 서명은 추가만으로도 바뀌므로 실제 삭제가 없으면 지우는 항목도 없다.
+	 */
+	private void removeDeleted() {
+		String signature = userDirectoryMapper.retrieveUserIdSignature();
+		if (signature.equals(idSignature)) {
+			return;
+		}
+		Set<String> userIds = new HashSet<>(userDirectoryMapper.retrieveUserIdList());
+		int before = userNms.size();
+		userNms.keySet().retainAll(userIds);
+		idSignature = signature;
+		if (userNms.size() < before) {
+			LOGGER.debug("사용자 디렉터리 삭제 반영: {}명", before - userNms.size());
+		}
+	}
+
+	private void put(List<LoginInfoVO> users) {
+		Date maxDt = lastChangeDt;
+		for (LoginInfoVO user : users) {
+			if (user.getUserNm() != null) {
+				userNms.put(user.getUserId(), user.getUserNm());
+			} else {
+				userNms.remove(user.getUserId());
+			}
+			if (user.getUpdtDt() != null && (maxDt == null || user.getUpdtDt().after(maxDt))) {
+				maxDt = user.getUpdtDt();
+			}
+		}
+		lastChangeDt = maxDt;
+	}
+}
@@ -0,0 +1,19 @@
+package com.example.itsm_api.vo;
+
+import java.util.Date;
+
+/**
+ * TB_LOGIN_INFO display-name projection used by the user directory cache
+ */
+public class LoginInfoVO {
+    private String userId;
+    private String userNm;
+    private Date updtDt;
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getUserNm() { return userNm; }
+    public void setUserNm(String userNm) { this.userNm = userNm; }
+    public Date getUpdtDt() { return updtDt; }
+    public void setUpdtDt(Date updtDt) { this.updtDt = updtDt; }
+}
@@ -0,0 +1,68 @@
+package com.example.itsm_api.vo;
+
+import java.util.List;
+
+/**
+ * One page of rows together with the total row count of the same filter
+ *
+ * @param <T> Row type
+ */
+public class PagedResult<T> {
+
+    /**
+     * How the total count is produced
+     * - EXACT: exact COUNT(*) of the filter
+     * - ESTIMATED: count capped at a configured limit; totalEstimated is true when the cap was reached
+     * - NONE: no count (total is null)
+     */
+    public enum CountMode {
+        EXACT,
+        ESTIMATED,
+        NONE;
+
+        public static CountMode of(String name) {
+            if (name == null || name.isEmpty()) {
+                return EXACT;
+            }
+            try {
+                return valueOf(name.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown count mode: " + name);
+            }
+        }
+    }
+
+    private final List<T> rows;
+    private final Long total;
+    private final boolean totalEstimated;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public PagedResult(List<T> rows, Long total, boolean totalEstimated, boolean hasNext, String nextCursor) {
+        this.rows = rows;
+        this.total = total;
+        this.totalEstimated = totalEstimated;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.itsm_api.vo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque "after" cursor for SR list keyset pagination.
+ *
+ * The token wraps the last SRVC_RSPONS_NO of the previous page so the next page
+ * can seek on the primary key (SRVC_RSPONS_NO &lt; after) instead of skipping rows
+ * with LIMIT offset. Clients must treat the token as opaque.
+ */
+public final class SrListCursor {
+    private static final String PREFIX = "sr1:";
+    private static final int MAX_TOKEN_LENGTH = 128;
+
+    private SrListCursor() {
+    }
+
+    /**
+     * Encode the last SR number of a page as a cursor token
+     */
+    public static String encode(String srvcRsponsNo) {
+        if (srvcRsponsNo == null || srvcRsponsNo.isEmpty()) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + srvcRsponsNo).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token back to the SR number to seek after
+     *
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode(String)}
+     */
+    public static String decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!decoded.startsWith(PREFIX) || decoded.length() == PREFIX.length()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded.substring(PREFIX.length());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.itsm_api.vo;
+
+/**
+ * SR workflow stage used to pick the matching list/count statements
+ * 
+ * Stage predicates (see SrvcRsponsMapper.xml):
+ * - REQUEST / RECEIVE: RSPONS_1ST_DT IS NULL
+ * - PROCESS: RSPONS_1ST_DT IS NOT NULL AND PROCESS_DT IS NULL
+ * - VERIFY: PROCESS_DT IS NOT NULL AND VERIFY_DT IS NULL
+ * - FINISH: VERIFY_DT IS NOT NULL AND FINISH_DT IS NULL
+ * - EVALUATE: PROCESS_DT IS NOT NULL OR FINISH_DT IS NOT NULL
+ */
+public enum SrStage {
+    ALL,
+    REQUEST,
+    RECEIVE,
+    PROCESS,
+    VERIFY,
+    FINISH,
+    EVALUATE;
+
+    /**
+     * Parse a stage name from a request parameter (case-insensitive, null means ALL)
+     */
+    public static SrStage of(String name) {
+        if (name == null || name.isEmpty()) {
+            return ALL;
+        }
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown SR stage: " + name);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.itsm_api.vo;
+
+/**
+ * Live SR count grouped by target service, charger and the workflow date columns that are set
+ * (source of SrStageCounter reconciliation)
+ */
+public class SrStageCntVO {
+    private String trgetSrvcCode;
+    private String chargerId;
+    private String rspons1stYn;
+    private String processYn;
+    private String verifyYn;
+    private String finishYn;
+    private long cnt;
+
+    public String getTrgetSrvcCode() { return trgetSrvcCode; }
+    public void setTrgetSrvcCode(String trgetSrvcCode) { this.trgetSrvcCode = trgetSrvcCode; }
+    public String getChargerId() { return chargerId; }
+    public void setChargerId(String chargerId) { this.chargerId = chargerId; }
+    public String getRspons1stYn() { return rspons1stYn; }
+    public void setRspons1stYn(String rspons1stYn) { this.rspons1stYn = rspons1stYn; }
+    public String getProcessYn() { return processYn; }
+    public void setProcessYn(String processYn) { this.processYn = processYn; }
+    public String getVerifyYn() { return verifyYn; }
+    public void setVerifyYn(String verifyYn) { this.verifyYn = verifyYn; }
+    public String getFinishYn() { return finishYn; }
+    public void setFinishYn(String finishYn) { this.finishYn = finishYn; }
+    public long getCnt() { return cnt; }
+    public void setCnt(long cnt) { this.cnt = cnt; }
+}
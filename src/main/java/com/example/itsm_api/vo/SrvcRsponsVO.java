@@ -3,6 +3,7 @@ package com.example.itsm_api.vo;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 public class SrvcRsponsVO {
     // Security context properties
@@ -13,6 +14,17 @@ public class SrvcRsponsVO {
     private Integer pageIndex = 1;
     private Integer recordCountPerPage = 15;
     private Integer firstIndex = 0;
+    // Keyset pagination: seek after this SR number (decoded from SrListCursor)
+    private String afterSrvcRsponsNo;
+    // Paged total count: totalCntYn='Y' adds COUNT(*) OVER() to the list rows, cntLimit caps count queries
+    private String totalCntYn;
+    private Long totalCnt;
+    private Integer cntLimit;
+    // Full-text search: keyword over subject/content/process details, candidates from SrSearchIndex
+    private String searchKeyword;
+    private List<String> searchCandidateNos;
+    // Handler's assigned system codes (TB_SYS_CHARGER), from SysChargerDirectoryService; null = use the subquery
+    private List<String> chargerSysCodes;
 
     // Audit fields
     private Date creatDt;
@@ -126,6 +138,20 @@ public class SrvcRsponsVO {
     public void setRecordCountPerPage(Integer recordCountPerPage) { this.recordCountPerPage = recordCountPerPage; }
     public Integer getFirstIndex() { return firstIndex; }
     public void setFirstIndex(Integer firstIndex) { this.firstIndex = firstIndex; }
+    public String getAfterSrvcRsponsNo() { return afterSrvcRsponsNo; }
+    public void setAfterSrvcRsponsNo(String afterSrvcRsponsNo) { this.afterSrvcRsponsNo = afterSrvcRsponsNo; }
+    public String getTotalCntYn() { return totalCntYn; }
+    public void setTotalCntYn(String totalCntYn) { this.totalCntYn = totalCntYn; }
+    public Long getTotalCnt() { return totalCnt; }
+    public void setTotalCnt(Long totalCnt) { this.totalCnt = totalCnt; }
+    public Integer getCntLimit() { return cntLimit; }
+    public void setCntLimit(Integer cntLimit) { this.cntLimit = cntLimit; }
+    public String getSearchKeyword() { return searchKeyword; }
+    public void setSearchKeyword(String searchKeyword) { this.searchKeyword = searchKeyword; }
+    public List<String> getSearchCandidateNos() { return searchCandidateNos; }
+    public void setSearchCandidateNos(List<String> searchCandidateNos) { this.searchCandidateNos = searchCandidateNos; }
+    public List<String> getChargerSysCodes() { return chargerSysCodes; }
+    public void setChargerSysCodes(List<String> chargerSysCodes) { this.chargerSysCodes = chargerSysCodes; }
 
     // compatibility aliases used by older controller code
     public void setPageSize(int size) { this.setRecordCountPerPage(size); }
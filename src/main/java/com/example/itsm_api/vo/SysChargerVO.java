@@ -0,0 +1,14 @@
+package com.example.itsm_api.vo;
+
+/**
+ * TB_SYS_CHARGER row (handler to target system assignment) used by the assignment cache
+ */
+public class SysChargerVO {
+    private String userId;
+    private String sysCode;
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getSysCode() { return sysCode; }
+    public void setSysCode(String sysCode) { this.sysCode = sysCode; }
+}
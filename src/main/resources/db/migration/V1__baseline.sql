@@ -0,0 +1,128 @@
+-- 기준 스키마: 매퍼가 사용하는 테이블과 컬럼, 기본키만 (목록 조회용 인덱스는 V2).
+-- 모두 IF NOT EXISTS 이므로 수작업으로 만든 기존 DB 에서는 없는 테이블만 생성된다
+-- (spring.flyway.baseline-version=0 으로 기준선을 잡은 뒤 V1 부터 적용).
+
+-- SR 본 테이블. 단계는 일시 컬럼으로 판단한다 (SrStage 참고)
+CREATE TABLE IF NOT EXISTS TB_SRVC_RSPONS (
+    SRVC_RSPONS_NO         VARCHAR(20)  NOT NULL COMMENT 'SR번호 (SR-YYMM-NNN)',
+    REQUST_DT              DATETIME     NULL COMMENT '요청일시',
+    PROCESS_MT             VARCHAR(6)   NULL COMMENT '처리월 (YYYYMM)',
+    RQESTER_1ST_NM         VARCHAR(100) NULL COMMENT '최초 요청자명',
+    RQESTER_1ST_PSITN      VARCHAR(100) NULL COMMENT '최초 요청자 소속',
+    RQESTER_1ST_CTTPC      VARCHAR(20)  NULL COMMENT '최초 요청자 연락처',
+    RQESTER_1ST_EMAIL      VARCHAR(100) NULL COMMENT '최초 요청자 이메일',
+    RQESTER_ID             VARCHAR(50)  NULL COMMENT '요청자 ID',
+    RQESTER_NM             VARCHAR(100) NULL COMMENT '요청자명',
+    RQESTER_PSITN          VARCHAR(100) NULL COMMENT '요청자 소속',
+    RQESTER_CTTPC          VARCHAR(20)  NULL COMMENT '요청자 연락처',
+    RQESTER_EMAIL          VARCHAR(100) NULL COMMENT '요청자 이메일',
+    TRGET_SRVC_CODE        VARCHAR(20)  NULL COMMENT '대상 서비스 코드 (A0)',
+    TRGET_SRVC_DETAIL_CODE VARCHAR(20)  NULL COMMENT '대상 서비스 상세 코드 (A2)',
+    SRVC_RSPONS_BASIS_CODE VARCHAR(20)  NULL COMMENT '요청 경로 코드 (S3)',
+    SRVC_RSPONS_SJ         VARCHAR(255) NULL COMMENT '제목',
+    SRVC_RSPONS_CN         LONGTEXT     NULL COMMENT '내용',
+    ETC                    TEXT         NULL COMMENT '비고',
+    REQUST_ATCHMNFL_ID     VARCHAR(50)  NULL COMMENT '요청 첨부파일 ID',
+    RSPONS_1ST_DT          DATETIME     NULL COMMENT '1차 응답일시 (접수)',
+    CHANGE_DFFLY_CODE      VARCHAR(20)  NULL COMMENT '변경 난이도 코드 (S0)',
+    SRVC_RSPONS_CL_CODE    VARCHAR(20)  NULL COMMENT 'SR 분류 코드 (S1)',
+    PROCESS_STDR_CODE      VARCHAR(20)  NULL COMMENT '처리 기준 코드 (S2)',
+    PROCESS_TERM           VARCHAR(50)  NULL COMMENT '처리 기간',
+    SRVC_PROCESS_DTLS      LONGTEXT     NULL COMMENT '처리 내역',
+    RSPONS_ATCHMNFL_ID     VARCHAR(50)  NULL COMMENT '응답 첨부파일 ID',
+    PROCESS_DT             DATETIME     NULL COMMENT '처리일시',
+    DATA_UPDT_YN           CHAR(1)      NULL COMMENT '데이터 변경 여부',
+    PROGRM_UPDT_YN         CHAR(1)      NULL COMMENT '프로그램 변경 여부',
+    STOP_INSTL_YN          CHAR(1)      NULL COMMENT '중단 설치 여부',
+    NONE_STOP_INSTL_YN     CHAR(1)      NULL COMMENT '무중단 설치 여부',
+    INSTL_YN               CHAR(1)      NULL COMMENT '설치 여부',
+    INFRA_OPERT_YN         CHAR(1)      NULL COMMENT '인프라 작업 여부',
+    CHARGER_ID             VARCHAR(50)  NULL COMMENT '담당자 ID',
+    CNFRMR_ID              VARCHAR(50)  NULL COMMENT '확인자 ID',
+    FNCT_IMPRVM_NO         VARCHAR(50)  NULL COMMENT '기능개선 번호',
+    WDTB_CNFIRM_NO         VARCHAR(50)  NULL COMMENT '배포확인 번호',
+    INFRA_OPERT_NO         VARCHAR(50)  NULL COMMENT '인프라 작업 번호',
+    SMS_CHK                CHAR(1)      NULL COMMENT 'SMS 발송 여부',
+    RE_SRVC_RSPONS_NO      VARCHAR(20)  NULL COMMENT '재요청 원 SR번호',
+    RE_REQUEST_DT          DATETIME     NULL COMMENT '재요청일시',
+    VERIFY_YN              CHAR(1)      NULL COMMENT '검증 대상 여부',
+    VERIFY_DT              DATETIME     NULL COMMENT '검증일시',
+    VERIFY_ID              VARCHAR(50)  NULL COMMENT '검증자 ID',
+    SRVC_VERIFY_DTLS       LONGTEXT     NULL COMMENT '검증 내역',
+    FINISH_DT              DATETIME     NULL COMMENT '완료일시',
+    FINISH_ID              VARCHAR(50)  NULL COMMENT '완료자 ID',
+    SRVC_FIN_DTLS          LONGTEXT     NULL COMMENT '완료 내역',
+    REF_IDS                VARCHAR(500) NULL COMMENT '참조자 ID (쉼표 구분)',
+    DELETE_YN              CHAR(1)      NOT NULL DEFAULT 'N' COMMENT '삭제 여부',
+    CREAT_DT               DATETIME     NULL COMMENT '등록일시',
+    CREAT_ID               VARCHAR(50)  NULL COMMENT '등록자 ID',
+    UPDT_DT                DATETIME     NULL COMMENT '수정일시',
+    UPDT_ID                VARCHAR(50)  NULL COMMENT '수정자 ID',
+    PRIMARY KEY (SRVC_RSPONS_NO)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- SR 요청자/참조자 조회권한 관계 (R005 목록 조회용)
+-- RQESTER_ID 와 REF_IDS(쉼표 구분)의 각 사용자마다 한 행. SrRefService 가 등록/수정 시 동기화하고,
+-- 기존 데이터는 V3__sr_ref_backfill.sql 이 한 번 채운다. SrRefBackfillJob(itsm.sr-ref.backfill.enabled=true) 은
+-- 이후 관계가 어긋났을 때 다시 맞추는 용도다.
+CREATE TABLE IF NOT EXISTS TB_SRVC_RSPONS_REF (
+    USER_ID        VARCHAR(50) NOT NULL COMMENT '요청자 또는 참조자 ID',
+    SRVC_RSPONS_NO VARCHAR(20) NOT NULL COMMENT 'SR번호',
+    PRIMARY KEY (USER_ID, SRVC_RSPONS_NO),
+    KEY IX_SRVC_RSPONS_REF_01 (SRVC_RSPONS_NO)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- SR번호 채번용 월별 시퀀스 (SrNoAllocator)
+-- NEXT_VAL: 아직 예약되지 않은 다음 일련번호. 최초 행은 createSrNoSeq 가 기존 SR번호 최대값으로 초기화한다.
+CREATE TABLE IF NOT EXISTS TB_SRVC_RSPONS_SEQ (
+    SEQ_MT   CHAR(4) NOT NULL COMMENT '채번 월(YYMM)',
+    NEXT_VAL INT UNSIGNED NOT NULL COMMENT '다음 예약 시작 번호',
+    PRIMARY KEY (SEQ_MT)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 공통코드 유형
+CREATE TABLE IF NOT EXISTS TB_CMMN_CODE_TY (
+    CMMN_CODE_TY    VARCHAR(20)  NOT NULL COMMENT '공통코드 유형',
+    CMMN_CODE_TY_NM VARCHAR(100) NULL COMMENT '유형명',
+    CMMN_CODE_TY_DC VARCHAR(500) NULL COMMENT '유형 설명',
+    CREAT_DT        DATETIME     NULL COMMENT '등록일시',
+    CREAT_ID        VARCHAR(50)  NULL COMMENT '등록자 ID',
+    UPDT_DT         DATETIME     NULL COMMENT '수정일시',
+    UPDT_ID         VARCHAR(50)  NULL COMMENT '수정자 ID',
+    DELETE_YN       CHAR(1)      NOT NULL DEFAULT 'N' COMMENT '삭제 여부',
+    PRIMARY KEY (CMMN_CODE_TY)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 공통코드 (대상 서비스 A0 의 CMMN_CODE_SUB_NM1 = 'Z1' 이면 검증 단계를 거친다)
+CREATE TABLE IF NOT EXISTS TB_CMMN_CODE (
+    CMMN_CODE         VARCHAR(20)  NOT NULL COMMENT '공통코드',
+    CMMN_CODE_TY      VARCHAR(20)  NOT NULL COMMENT '공통코드 유형',
+    CMMN_CODE_NM      VARCHAR(100) NULL COMMENT '코드명',
+    CMMN_CODE_DC      VARCHAR(500) NULL COMMENT '코드 설명',
+    CMMN_CODE_SUB_NM1 VARCHAR(100) NULL COMMENT '보조명 1',
+    CMMN_CODE_SUB_NM2 VARCHAR(100) NULL COMMENT '보조명 2',
+    CMMN_CODE_SUB_NM3 VARCHAR(100) NULL COMMENT '보조명 3',
+    SORT_NO           INT          NULL COMMENT '정렬순서',
+    CREAT_DT          DATETIME     NULL COMMENT '등록일시',
+    CREAT_ID          VARCHAR(50)  NULL COMMENT '등록자 ID',
+    UPDT_DT           DATETIME     NULL COMMENT '수정일시',
+    UPDT_ID           VARCHAR(50)  NULL COMMENT '수정자 ID',
+    DELETE_YN         CHAR(1)      NOT NULL DEFAULT 'N' COMMENT '삭제 여부',
+    PRIMARY KEY (CMMN_CODE)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 사용자 (UserDirectoryService 가 이름을 캐시)
+CREATE TABLE IF NOT EXISTS TB_LOGIN_INFO (
+    USER_ID  VARCHAR(50)  NOT NULL COMMENT '사용자 ID',
+    USER_NM  VARCHAR(100) NULL COMMENT '사용자명',
+    CREAT_DT DATETIME     NULL COMMENT '등록일시',
+    UPDT_DT  DATETIME     NULL COMMENT '수정일시',
+    PRIMARY KEY (USER_ID)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 서비스별 담당자 (SysChargerDirectoryService 가 캐시)
+CREATE TABLE IF NOT EXISTS TB_SYS_CHARGER (
+    USER_ID  VARCHAR(50) NOT NULL COMMENT '담당자 ID',
+    SYS_CODE VARCHAR(20) NOT NULL COMMENT '대상 서비스 코드',
+    PRIMARY KEY (USER_ID, SYS_CODE)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,28 @@
+-- SR 목록/건수 조회 (SrvcRsponsMapper 의 retrieve*List, retrieve*PagingListCnt, retrieveStageCntList) 용 인덱스.
+-- InnoDB 보조 인덱스는 끝에 PK(SRVC_RSPONS_NO)를 포함하므로, 인덱스의 모든 컬럼이 등가 조건일 때만 행이 SR번호 순이다.
+-- 그래서 단계 인덱스(_01~_04)는 DELETE_YN 과 그 단계에서 IS NULL 인 일시 컬럼 하나만 둔다. 뒤에 다른 일시 컬럼
+-- (IS NOT NULL 범위 조건)을 두면 그 컬럼 순으로 정렬되어 ORDER BY SRVC_RSPONS_NO 에 filesort 가 생긴다.
+-- 나머지 일시 조건은 읽은 행에서 확인한다 (미처리/미완료 SR 만 읽으므로 적다). 정렬 없이 LIMIT 에서 멈추고,
+-- keyset 조건(SRVC_RSPONS_NO < ?)과 R005 semi-join(SRVC_RSPONS_NO IN ...)도 인덱스 안에서 처리된다.
+-- 확인: SrListPlanTest (시드 DB 에 대한 EXPLAIN, 전체 스캔이거나 단계 목록에 filesort 가 있으면 실패)
+-- 온라인 DDL(INPLACE, LOCK=NONE): 기존 운영 테이블에서도 조회/변경을 막지 않고 생성한다.
+-- 인덱스 이름은 직접 만든 인덱스와 겹치지 않도록 IX_SRVC_RSPONS_LIST_ 로 시작한다. 같은 이름이 이미 있으면 이 스크립트가
+-- 실패하므로, 기존 DB 는 적용 전에 같은 컬럼의 인덱스가 있는지 확인하고 정리한다 (README 의 Schema Migrations 참고).
+ALTER TABLE TB_SRVC_RSPONS
+    -- 요청/접수 단계: RSPONS_1ST_DT IS NULL
+    ADD INDEX IX_SRVC_RSPONS_LIST_01 (DELETE_YN, RSPONS_1ST_DT),
+    -- 처리 단계: PROCESS_DT IS NULL (RSPONS_1ST_DT IS NOT NULL 은 행에서 확인)
+    ADD INDEX IX_SRVC_RSPONS_LIST_02 (DELETE_YN, PROCESS_DT),
+    -- 검증 단계: VERIFY_DT IS NULL (PROCESS_DT, RSPONS_1ST_DT IS NOT NULL 은 행에서 확인)
+    ADD INDEX IX_SRVC_RSPONS_LIST_03 (DELETE_YN, VERIFY_DT),
+    -- 완료 단계: FINISH_DT IS NULL (나머지 IS NOT NULL 은 행에서 확인)
+    ADD INDEX IX_SRVC_RSPONS_LIST_04 (DELETE_YN, FINISH_DT),
+    -- 역할/검색 조건(RQESTER_ID, CHARGER_ID, CNFRMR_ID = ?): 해당 사용자의 SR 만 읽고
+    -- 단계 조건과 건수는 인덱스 안의 일시 컬럼으로 처리한다 (정렬은 그 사용자의 SR 범위 안에서만)
+    ADD INDEX IX_SRVC_RSPONS_LIST_05 (RQESTER_ID, DELETE_YN, RSPONS_1ST_DT, PROCESS_DT, VERIFY_DT, FINISH_DT),
+    ADD INDEX IX_SRVC_RSPONS_LIST_06 (CHARGER_ID, DELETE_YN, RSPONS_1ST_DT, PROCESS_DT, VERIFY_DT, FINISH_DT),
+    ADD INDEX IX_SRVC_RSPONS_LIST_07 (CNFRMR_ID, DELETE_YN, RSPONS_1ST_DT, PROCESS_DT, VERIFY_DT, FINISH_DT),
+    -- 대상 서비스(TRGET_SRVC_CODE = ?) 조건, 단계별 건수 집계(retrieveStageCntList 의 GROUP BY)를 인덱스만으로.
+    -- 조건 없는 전체/평가 단계 건수도 테이블 대신 이 인덱스 전체를 읽어 센다 (모든 일시 컬럼 포함)
+    ADD INDEX IX_SRVC_RSPONS_LIST_08 (TRGET_SRVC_CODE, CHARGER_ID, DELETE_YN, RSPONS_1ST_DT, PROCESS_DT, VERIFY_DT, FINISH_DT),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,26 @@
+-- 기존 SR 의 요청자/참조자 관계(TB_SRVC_RSPONS_REF) 생성.
+-- R005 목록은 이 테이블을 semi-join 하므로, 비어 있으면 요청자/참조자가 기존 SR 을 볼 수 없다.
+-- SrRefService.refUserIds 와 같은 규칙: RQESTER_ID 와 REF_IDS(쉼표 구분)의 각 사용자, 앞뒤 공백 제거, 빈 값 제외.
+-- INSERT IGNORE 라 이미 SrRefService 가 넣은 행과 겹쳐도 된다.
+-- 이후 관계를 다시 맞춰야 할 때(직접 수정한 데이터 등)는 SrRefBackfillJob 을 사용한다.
+
+INSERT IGNORE INTO TB_SRVC_RSPONS_REF (USER_ID, SRVC_RSPONS_NO)
+SELECT TRIM(RQESTER_ID), SRVC_RSPONS_NO
+FROM TB_SRVC_RSPONS
+WHERE TRIM(RQESTER_ID) <> '';
+
+-- REF_IDS 는 VARCHAR(500) 이라 항목은 최대 251개: 1..251 번째 항목을 SUBSTRING_INDEX 로 꺼낸다
+INSERT IGNORE INTO TB_SRVC_RSPONS_REF (USER_ID, SRVC_RSPONS_NO)
+WITH RECURSIVE N (I) AS (
+    SELECT 1
+    UNION ALL
+    SELECT I + 1 FROM N WHERE I < 251
+)
+SELECT REF.USER_ID, REF.SRVC_RSPONS_NO
+FROM (
+    SELECT TRIM(SUBSTRING_INDEX(SUBSTRING_INDEX(S.REF_IDS, ',', N.I), ',', -1)) AS USER_ID, S.SRVC_RSPONS_NO
+    FROM TB_SRVC_RSPONS S
+    JOIN N ON N.I <= 1 + CHAR_LENGTH(S.REF_IDS) - CHAR_LENGTH(REPLACE(S.REF_IDS, ',', ''))
+    WHERE S.REF_IDS <> ''
+) REF
+WHERE REF.USER_ID <> '';
@@ -3,7 +3,9 @@ package com.example.itsm_api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Signing keys from a local JWKS file so the context starts without Keycloak,
+// and no migrations so it starts without a database
+@SpringBootTest(properties = {"itsm.jwt.jwks-file=classpath:jwks-test.json", "spring.flyway.enabled=false"})
 class ItsmApiApplicationTests {
 
 	@Test
@@ -0,0 +1,78 @@
+package com.example.itsm_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LatencyHistogram bucketing: index / upperBound agree, and every bucket is within 1/16 of its values.
+ */
+class LatencyHistogramTest {
+
+	/** 16 sub-buckets per power of two from 2^4 to 2^35, plus the 16 exact buckets below 16 */
+	private static final int BUCKETS = 528;
+
+	@Test
+	void valuesBelowSixteenHaveExactBuckets() {
+		for (int v = 0; v < 16; v++) {
+			assertEquals(v, LatencyHistogram.index(v));
+			assertEquals(v, LatencyHistogram.upperBound(v));
+		}
+	}
+
+	@Test
+	void eachBucketStartsRightAfterThePreviousOne() {
+		assertEquals(16, LatencyHistogram.index(16));
+		for (int i = 1; i < BUCKETS; i++) {
+			long first = LatencyHistogram.upperBound(i - 1) + 1;
+			long last = LatencyHistogram.upperBound(i);
+			assertTrue(last >= first, "bucket " + i);
+			assertEquals(i, LatencyHistogram.index(first), "first value of bucket " + i);
+			assertEquals(i, LatencyHistogram.index(last), "last value of bucket " + i);
+			// bucket width is at most 1/16 of its smallest value
+			assertTrue(last - first + 1 <= Math.max(1, first / 16), "width of bucket " + i);
+		}
+	}
+
+	@Test
+	void powerOfTwoBoundaries() {
+		// 16..31 step 1, 32..63 step 2, 1024..2047 step 64
+		assertEquals(31, LatencyHistogram.upperBound(LatencyHistogram.index(31)));
+		assertEquals(33, LatencyHistogram.upperBound(LatencyHistogram.index(32)));
+		assertEquals(LatencyHistogram.index(32), LatencyHistogram.index(33));
+		assertEquals(1087, LatencyHistogram.upperBound(LatencyHistogram.index(1024)));
+		assertEquals(1088, LatencyHistogram.upperBound(LatencyHistogram.index(1087)) + 1);
+	}
+
+	@Test
+	void valuesBeyondTheRangeLandInTheLastBucket() {
+		long maxTracked = LatencyHistogram.upperBound(BUCKETS - 1);
+		assertEquals((1L << 36) - 1, maxTracked);
+		assertEquals(BUCKETS - 1, LatencyHistogram.index(maxTracked));
+		assertEquals(BUCKETS - 1, LatencyHistogram.index(maxTracked + 1));
+		assertEquals(BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+	}
+
+	@Test
+	void percentilesReportTheBucketUpperBoundCappedAtTheMaximum() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.percentile(0.5));
+
+		for (int i = 0; i < 99; i++) {
+			histogram.record(1000);
+		}
+		histogram.record(50_000);
+		histogram.record(-5);
+
+		assertEquals(101, histogram.count());
+		assertEquals(50_000, histogram.max());
+		assertEquals(LatencyHistogram.upperBound(LatencyHistogram.index(1000)), histogram.percentile(0.5));
+		assertEquals(50_000, histogram.percentile(1.0));
+		assertEquals(0, histogram.percentile(0.0));
+
+		histogram.reset();
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.max());
+	}
+}
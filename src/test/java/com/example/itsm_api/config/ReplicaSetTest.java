@@ -0,0 +1,143 @@
+package com.example.itsm_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.itsm_api.config.ReplicaSet.Route;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * ReplicaSet.route: read-your-writes window, lag cutoff and round robin over available replicas.
+ * The lag query is replaced by a per-pool value (the pools are never started).
+ */
+class ReplicaSetTest {
+
+	/** Lag per pool name; a missing entry means not replicating, a negative one an unreachable replica */
+	private static class FakeLagReplicaSet extends ReplicaSet {
+		private final Map<String, Long> lags = new HashMap<>();
+
+		FakeLagReplicaSet(int replicas, long stickyMillis) {
+			super(pools(replicas), stickyMillis, 2, "SHOW REPLICA STATUS");
+		}
+
+		FakeLagReplicaSet lag(int index, Long seconds) {
+			lags.put(name(index), seconds);
+			return this;
+		}
+
+		@Override
+		Long queryLag(HikariDataSource dataSource) throws SQLException {
+			Long lag = lags.get(dataSource.getPoolName());
+			if (lag != null && lag < 0) {
+				throw new SQLException("Communications link failure");
+			}
+			return lag;
+		}
+
+		private static List<HikariDataSource> pools(int n) {
+			List<HikariDataSource> pools = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				HikariDataSource pool = new HikariDataSource();
+				pool.setPoolName("replica-" + i);
+				pools.add(pool);
+			}
+			return pools;
+		}
+	}
+
+	@Test
+	void writesAlwaysGoToThePrimary() {
+		ReplicaSet replicas = new FakeLagReplicaSet(2, 5000).lag(0, 0L).lag(1, 0L);
+		replicas.checkLag();
+
+		assertEquals(ReplicaSet.PRIMARY, replicas.route(false, "user0001"));
+		assertEquals(ReplicaSet.PRIMARY, replicas.route(false, null));
+		assertEquals(2, replicas.routeCount(Route.WRITE));
+		assertEquals(0, replicas.routeCount(Route.REPLICA));
+	}
+
+	@Test
+	void readsOfARecentWriterStayOnThePrimaryForTheStickyWindow() throws Exception {
+		ReplicaSet replicas = new FakeLagReplicaSet(1, 200).lag(0, 0L);
+		replicas.checkLag();
+		replicas.markWrite("user0001");
+
+		assertEquals(ReplicaSet.PRIMARY, replicas.route(true, "user0001"));
+		// other users and unauthenticated reads are not affected
+		assertEquals(0, replicas.route(true, "user0002"));
+		assertEquals(0, replicas.route(true, null));
+		assertEquals(1, replicas.routeCount(Route.STICKY));
+
+		Thread.sleep(300);
+		assertEquals(0, replicas.route(true, "user0001"));
+		assertEquals(1, replicas.routeCount(Route.STICKY));
+		assertEquals(3, replicas.routeCount(Route.REPLICA));
+	}
+
+	@Test
+	void replicasBeyondTheLagCutoffAreSkipped() {
+		// max-lag-seconds is 2: 2s behind is still used, 3s is not
+		FakeLagReplicaSet replicas = new FakeLagReplicaSet(2, 5000).lag(0, 3L).lag(1, 2L);
+		replicas.checkLag();
+
+		assertFalse(replicas.isAvailable(0));
+		assertTrue(replicas.isAvailable(1));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(1, replicas.route(true, null));
+		}
+
+		// caught up again at the next check
+		replicas.lag(0, 0L).checkLag();
+		assertTrue(replicas.isAvailable(0));
+		assertEquals(0.0, replicas.lagSeconds(0));
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWithoutAnAvailableReplica() {
+		FakeLagReplicaSet replicas = new FakeLagReplicaSet(3, 5000).lag(0, 10L).lag(2, -1L);
+
+		// unavailable until the first check
+		assertEquals(ReplicaSet.PRIMARY, replicas.route(true, null));
+
+		// 10s behind, not replicating (NULL lag) and unreachable
+		replicas.checkLag();
+		assertEquals(ReplicaSet.PRIMARY, replicas.route(true, null));
+		assertTrue(Double.isNaN(replicas.lagSeconds(1)));
+		assertTrue(Double.isNaN(replicas.lagSeconds(2)));
+		assertEquals(2, replicas.routeCount(Route.LAG));
+		assertEquals(0, replicas.routeCount(Route.REPLICA));
+	}
+
+	@Test
+	void roundRobinSkipsUnavailableReplicas() {
+		FakeLagReplicaSet replicas = new FakeLagReplicaSet(3, 5000).lag(0, 0L).lag(1, 5L).lag(2, 1L);
+		replicas.checkLag();
+
+		int[] reads = new int[3];
+		for (int i = 0; i < 300; i++) {
+			reads[replicas.route(true, null)]++;
+		}
+		// replica 1 is skipped; its turns go to the next available replica, so replica 2 takes two of every three
+		assertEquals(100, reads[0]);
+		assertEquals(0, reads[1]);
+		assertEquals(200, reads[2]);
+
+		replicas.lag(1, 0L).checkLag();
+		reads = new int[3];
+		for (int i = 0; i < 300; i++) {
+			reads[replicas.route(true, null)]++;
+		}
+		assertEquals(100, reads[0]);
+		assertEquals(100, reads[1]);
+		assertEquals(100, reads[2]);
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.itsm_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SlowQueryLog.parameters: personal data in bound parameters never reaches the log.
+ */
+class SlowQueryLogTest {
+
+	/** SrvcRsponsVO properties bound in the mappers that can hold personal data or free text */
+	private static final List<String> PERSONAL = List.of(
+			"rqesterNm", "rqesterPsitn", "rqesterCttpc", "rqesterEmail",
+			"rqester1stNm", "rqester1stPsitn", "rqester1stCttpc", "rqester1stEmail",
+			"srvcRsponsSj", "srvcRsponsCn", "srvcProcessDtls", "srvcVerifyDtls", "srvcFinDtls",
+			"searchKeyword", "etc");
+
+	/** Codes, IDs and dates are logged as they are */
+	private static final List<String> PLAIN = List.of(
+			"srvcRsponsNo", "rqesterId", "chargerId", "trgetSrvcCode", "srvcRsponsClCode");
+
+	private final Configuration configuration = new Configuration();
+	private final SlowQueryLog slowQueryLog = new SlowQueryLog(500, 10000, SlowQueryLog.DEFAULT_REDACT);
+
+	@Test
+	void everyPersonalPropertyIsRedacted() {
+		SrvcRsponsVO vo = new SrvcRsponsVO();
+		vo.setRqesterNm("Hong Gildong");
+		vo.setRqesterPsitn("Team Lead");
+		vo.setRqesterCttpc("010-1234-5678");
+		vo.setRqesterEmail("gildong@example.com");
+		vo.setRqester1stNm("Kim Cheolsu");
+		vo.setRqester1stPsitn("Manager");
+		vo.setRqester1stCttpc("010-8765-4321");
+		vo.setRqester1stEmail("cheolsu@example.com");
+		vo.setSrvcRsponsSj("Password reset for Hong Gildong");
+		vo.setSrvcRsponsCn("Please call 010-1234-5678");
+		vo.setSrvcProcessDtls("Called the requester");
+		vo.setSrvcVerifyDtls("Verified with the requester");
+		vo.setSrvcFinDtls("Closed");
+		vo.setSearchKeyword("gildong");
+		vo.setEtc("Home address");
+		vo.setSrvcRsponsNo("SR-2610-001");
+		vo.setRqesterId("user0001");
+		vo.setChargerId("handler001");
+		vo.setTrgetSrvcCode("SYS01");
+		vo.setSrvcRsponsClCode("S001");
+
+		List<String> properties = new ArrayList<>(PERSONAL);
+		properties.addAll(PLAIN);
+		String logged = slowQueryLog.parameters(configuration, boundSql(properties, vo), vo);
+
+		for (String property : PERSONAL) {
+			assertTrue(logged.contains(property + "=<redacted>"), property + " in " + logged);
+		}
+		for (String value : List.of("Gildong", "gildong", "Cheolsu", "Lead", "Manager", "010-", "example.com",
+				"Password", "requester", "Closed", "Home")) {
+			assertFalse(logged.contains(value), value + " in " + logged);
+		}
+		assertTrue(logged.contains("srvcRsponsNo='SR-2610-001'"), logged);
+		assertTrue(logged.contains("rqesterId='user0001'"), logged);
+		assertTrue(logged.contains("chargerId='handler001'"), logged);
+		assertTrue(logged.contains("trgetSrvcCode='SYS01'"), logged);
+	}
+
+	@Test
+	void nestedAndMapParametersAreMatchedByTheirLastName() {
+		Map<String, Object> parameter = Map.of("userNm", "Hong Gildong", "userId", "user0001");
+		String logged = slowQueryLog.parameters(configuration, boundSql(List.of("userNm", "userId"), parameter), parameter);
+
+		assertEquals("userNm=<redacted>, userId='user0001'", logged);
+		// names are matched case-insensitively, also behind a prefix (e.g. a foreach item or nested property)
+		BoundSql nested = boundSql(List.of("ref.RQESTERNM"), null);
+		nested.setAdditionalParameter("ref.RQESTERNM", "Hong Gildong");
+		assertEquals("ref.RQESTERNM=<redacted>", slowQueryLog.parameters(configuration, nested, null));
+	}
+
+	@Test
+	void defaultPatternMatchesApplicationYml() throws Exception {
+		try (InputStream in = getClass().getResourceAsStream("/application.yml")) {
+			Map<String, Object> yml = new Yaml().load(in);
+			Object redact = path(yml, "itsm", "mybatis", "slow-query", "redact");
+			assertEquals(SlowQueryLog.DEFAULT_REDACT, redact);
+		}
+	}
+
+	private BoundSql boundSql(List<String> properties, Object parameter) {
+		List<ParameterMapping> mappings = new ArrayList<>();
+		for (String property : properties) {
+			mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+		}
+		return new BoundSql(configuration, "SELECT 1", mappings, parameter);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object path(Map<String, Object> map, String... keys) {
+		Object value = map;
+		for (String key : keys) {
+			value = ((Map<String, Object>) value).get(key);
+		}
+		return value;
+	}
+}
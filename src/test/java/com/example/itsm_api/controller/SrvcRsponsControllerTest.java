@@ -0,0 +1,116 @@
+package com.example.itsm_api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.itsm_api.security.AuthorizationService;
+import com.example.itsm_api.security.CustomUserAuthenticationToken;
+import com.example.itsm_api.security.CustomUserPrincipal;
+import com.example.itsm_api.service.SrvcRsponsBatchService;
+import com.example.itsm_api.service.SrvcRsponsBatchService.ItemResult;
+import com.example.itsm_api.service.SrvcRsponsBatchService.Transition;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * POST /api/sr/batch/{transition}: @RequireRole lets handlers in, so finishing (manager only, as on
+ * PUT /{id}/finish) is checked per request by the controller.
+ */
+class SrvcRsponsControllerTest {
+
+	/** Records the batches it is given and reports every item as updated */
+	private static class RecordingBatchService extends SrvcRsponsBatchService {
+		private final List<Transition> executed = new ArrayList<>();
+
+		RecordingBatchService() {
+			super(new DefaultSqlSessionFactory(new Configuration(
+					new Environment("test", new JdbcTransactionFactory(), Mockito.mock(DataSource.class)))),
+					Mockito.mock(PlatformTransactionManager.class), null, null, 100);
+		}
+
+		@Override
+		public List<ItemResult> execute(Transition transition, List<SrvcRsponsVO> items) {
+			executed.add(transition);
+			return items.stream().map(vo -> new ItemResult(vo.getSrvcRsponsNo(), true, 1, null)).toList();
+		}
+	}
+
+	private final SrvcRsponsController controller = new SrvcRsponsController();
+	private final RecordingBatchService batchService = new RecordingBatchService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(controller, "authorizationService", new AuthorizationService());
+		ReflectionTestUtils.setField(controller, "srvcRsponsBatchService", batchService);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void batchFinishIsForbiddenToHandlers() {
+		authenticate("R003");
+
+		ResponseEntity<?> response = controller.batchTransition("finish", items());
+
+		assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+		assertEquals(List.of(), batchService.executed);
+	}
+
+	@Test
+	void batchFinishIsAllowedToManagers() {
+		authenticate("R002");
+
+		ResponseEntity<?> response = controller.batchTransition("finish", items());
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of(Transition.FINISH), batchService.executed);
+	}
+
+	@Test
+	void handlersMayRunOtherTransitions() {
+		authenticate("R003");
+
+		ResponseEntity<?> response = controller.batchTransition("receive", items());
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of(Transition.RECEIVE), batchService.executed);
+	}
+
+	private static List<SrvcRsponsVO> items() {
+		SrvcRsponsVO vo = new SrvcRsponsVO();
+		vo.setSrvcRsponsNo("SR-2610-001");
+		return List.of(vo);
+	}
+
+	private static void authenticate(String userTyCode) {
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "RS256")
+				.subject("user0001")
+				.claim("preferred_username", "user0001")
+				.claim("userTyCode", List.of(userTyCode))
+				.claim("userSttusCode", List.of("U002"))
+				.build();
+		SecurityContextHolder.getContext().setAuthentication(new CustomUserAuthenticationToken(new CustomUserPrincipal(jwt)));
+	}
+}
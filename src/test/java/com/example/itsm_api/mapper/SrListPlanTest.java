@@ -0,0 +1,177 @@
+package com.example.itsm_api.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.itsm_api.vo.SrStage;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SR 목록/건수 쿼리의 실행계획 검증 (db/migration/V2__sr_list_indexes.sql).
+ * 시드된 DB 가 필요하므로 itsm.explain.url 을 지정했을 때만 실행한다.
+ *   docker compose -f loadtest/docker-compose.yml up -d --wait
+ *   ./mvnw test -Dtest=SrListPlanTest -Ditsm.explain.url=jdbc:mysql://localhost:3310/itsmdb
+ * 계정은 itsm.explain.username / itsm.explain.password (기본 root / 1234).
+ *
+ * 매퍼 XML 로 실제 SQL 을 만들어 범위(R001, R005, 역할 조건)와 단계, 조회 방식별로 EXPLAIN 하고
+ * 다음이 있으면 실패한다.
+ * - type=ALL: 테이블 전체 스캔
+ * - type=index: 인덱스 전체 스캔. 단 커서 페이지가 정렬 없이 인덱스 순서로 읽다가 LIMIT 에서 멈추는 경우,
+ *   조건 없는 전체/평가 단계를 인덱스만으로 세는 경우는 허용한다.
+ * - Using filesort: 조건 없는(R001) 요청~완료 단계의 첫 페이지/커서 페이지. 단계 인덱스가 SR번호 순이므로
+ *   정렬 없이 LIMIT 에서 멈춰야 한다. 역할 조건이 있으면 그 사용자의 SR 만 정렬하므로 허용한다.
+ * 조건 없는 전체/평가 단계의 첫 페이지(COUNT(*) OVER())는 삭제되지 않은 모든 행을 읽는 것이 조회 의미라 제외한다.
+ * R003 은 목록 SQL 에 역할 조건이 없어 R001 과 같은 SQL 이다.
+ */
+@EnabledIfSystemProperty(named = "itsm.explain.url", matches = ".+")
+class SrListPlanTest {
+
+	private static final String MAPPER = "mapper/SrvcRsponsMapper.xml";
+	private static final String NAMESPACE = SrvcRsponsMapper.class.getName() + ".";
+
+	/** 단계별 목록/건수 statement (SrvcRsponsService.retrieveStageList / retrieveStageCnt 와 같은 대응) */
+	private static final Map<SrStage, String[]> STATEMENTS = new EnumMap<>(SrStage.class);
+	static {
+		STATEMENTS.put(SrStage.ALL, new String[] {"retrievePagingList", "retrievePagingListCnt"});
+		STATEMENTS.put(SrStage.REQUEST, new String[] {"retrieveSrReqList", "retrieveSrReqPagingListCnt"});
+		STATEMENTS.put(SrStage.RECEIVE, new String[] {"retrieveSrRcvList", "retrieveSrRcvPagingListCnt"});
+		STATEMENTS.put(SrStage.PROCESS, new String[] {"retrieveSrProcList", "retrieveSrProcPagingListCnt"});
+		STATEMENTS.put(SrStage.VERIFY, new String[] {"retrieveSrVrList", "retrieveSrVrPagingListCnt"});
+		STATEMENTS.put(SrStage.FINISH, new String[] {"retrieveSrFnList", "retrieveSrFnPagingListCnt"});
+		STATEMENTS.put(SrStage.EVALUATE, new String[] {"retrieveSrEvList", "retrieveSrEvPagingListCnt"});
+	}
+
+	/** 목록 API 가 실행하는 방식: 첫 페이지(정확한 건수는 COUNT(*) OVER()), 커서 페이지, 정확/추정 건수 */
+	private enum Kind { FIRST_PAGE, CURSOR_PAGE, COUNT, ESTIMATED_COUNT }
+
+	/** 조회 범위. broad: 단계 외 조건이 없어 전체/평가 단계가 대부분의 행인 경우 */
+	private record Scope(String name, String userTyCode, String userId, boolean broad, Consumer<SrvcRsponsVO> filter) {
+	}
+
+	private static final List<Scope> SCOPES = List.of(
+			new Scope("R001", "R001", "manager01", true, vo -> { }),
+			new Scope("R005", "R005", "user0001", false, vo -> { }),
+			new Scope("rqesterId", "R001", "manager01", false, vo -> vo.setRqesterId("user0001")),
+			new Scope("chargerId", "R001", "manager01", false, vo -> vo.setChargerId("handler001")),
+			new Scope("cnfrmrId", "R001", "manager01", false, vo -> vo.setCnfrmrId("manager01")),
+			new Scope("trgetSrvcCode", "R001", "manager01", false, vo -> vo.setTrgetSrvcCode("SYS01")));
+
+	private static Configuration configuration;
+	private static Connection connection;
+	private static String afterSrvcRsponsNo;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		configuration = new Configuration();
+		try (InputStream in = new ClassPathResource(MAPPER).getInputStream()) {
+			new XMLMapperBuilder(in, configuration, MAPPER, configuration.getSqlFragments()).parse();
+		}
+		connection = DriverManager.getConnection(System.getProperty("itsm.explain.url"),
+				System.getProperty("itsm.explain.username", "root"), System.getProperty("itsm.explain.password", "1234"));
+		// 커서 페이지 기준: 최근 1000번째 SR
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery(
+						"SELECT SRVC_RSPONS_NO FROM TB_SRVC_RSPONS ORDER BY SRVC_RSPONS_NO DESC LIMIT 999, 1")) {
+			assertTrue(rs.next(), "시드 데이터가 없습니다 (loadtest/docker-compose.yml)");
+			afterSrvcRsponsNo = rs.getString(1);
+		}
+	}
+
+	@AfterAll
+	static void tearDown() throws SQLException {
+		if (connection != null) {
+			connection.close();
+		}
+	}
+
+	@Test
+	void listAndCountStatementsAvoidFullScans() throws Exception {
+		List<String> findings = new ArrayList<>();
+		for (Scope scope : SCOPES) {
+			for (SrStage stage : SrStage.values()) {
+				boolean wideStage = stage == SrStage.ALL || stage == SrStage.EVALUATE;
+				boolean broad = scope.broad() && wideStage;
+				for (Kind kind : Kind.values()) {
+					if (broad && kind == Kind.FIRST_PAGE) {
+						continue;
+					}
+					SrvcRsponsVO vo = new SrvcRsponsVO();
+					vo.setUserTyCode(scope.userTyCode());
+					vo.setUserId(scope.userId());
+					scope.filter().accept(vo);
+					vo.setRecordCountPerPage(16);
+					switch (kind) {
+					case FIRST_PAGE -> vo.setTotalCntYn("Y");
+					case CURSOR_PAGE -> vo.setAfterSrvcRsponsNo(afterSrvcRsponsNo);
+					case ESTIMATED_COUNT -> vo.setCntLimit(10000);
+					default -> { }
+					}
+					boolean list = kind == Kind.FIRST_PAGE || kind == Kind.CURSOR_PAGE;
+					boolean ordered = list && scope.broad() && !wideStage;
+					String id = STATEMENTS.get(stage)[list ? 0 : 1];
+					explain(id, vo, kind, broad, ordered, scope.name() + " " + stage + " " + kind, findings);
+				}
+			}
+		}
+		explain("retrieveStageCntList", null, Kind.COUNT, true, false, "stage counts", findings);
+
+		assertTrue(findings.isEmpty(),
+				() -> "전체 스캔/정렬 " + findings.size() + "건:\n" + String.join("\n", findings));
+	}
+
+	/**
+	 * @param ordered 인덱스 순서로 읽어야 하는 목록 페이지 (filesort 가 있으면 실패)
+	 */
+	private static void explain(String id, SrvcRsponsVO vo, Kind kind, boolean broad, boolean ordered, String label,
+			List<String> findings) throws SQLException {
+		MappedStatement statement = configuration.getMappedStatement(NAMESPACE + id);
+		BoundSql boundSql = statement.getBoundSql(vo);
+		try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+			new DefaultParameterHandler(statement, vo, boundSql).setParameters(ps);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					String table = rs.getString("table");
+					// <derivedN>, <subqueryN>: 건수 쿼리의 파생 테이블, semi-join 구체화 결과
+					if (table == null || table.startsWith("<")) {
+						continue;
+					}
+					String type = rs.getString("type");
+					List<String> extra = Arrays.asList(Objects.toString(rs.getString("Extra"), "").split("; "));
+					boolean filesort = extra.contains("Using filesort");
+					boolean orderedPage = kind == Kind.CURSOR_PAGE && !filesort;
+					boolean indexOnlyCount = broad && extra.contains("Using index");
+					if ("ALL".equals(type) || "index".equals(type) && !orderedPage && !indexOnlyCount
+							|| ordered && filesort) {
+						findings.add(String.format("%s [%s] table=%s type=%s key=%s rows=%s extra=%s",
+								id, label, table, type, rs.getString("key"), rs.getString("rows"), String.join("; ", extra)));
+					}
+				}
+			}
+		}
+	}
+}
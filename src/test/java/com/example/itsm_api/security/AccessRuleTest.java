@@ -0,0 +1,140 @@
+package com.example.itsm_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * AccessRule.check: each annotation allowed and denied, several annotations together, and the list
+ * comparison used once a kind has more codes than CodeBits has bits.
+ */
+class AccessRuleTest {
+
+	/** Rule sources: the annotations are read from these methods */
+	static class Annotated {
+		@RequireRole({"MANAGER", "ADMIN"})
+		void managerOrAdmin() {
+		}
+
+		@RequireUserTyCode({"R003", "R005"})
+		void handlerOrRequester() {
+		}
+
+		@RequireUserSttusCode("U002")
+		void activeOnly() {
+		}
+
+		@RequireRole("HANDLER")
+		@RequireUserSttusCode("U002")
+		void activeHandler() {
+		}
+
+		@RequireUserSttusCode("U900")
+		void overflowStatus() {
+		}
+
+		void unannotated() {
+		}
+	}
+
+	@Test
+	void roleIsAllowedForAnyListedRole() throws Exception {
+		AccessRule rule = rule("managerOrAdmin");
+
+		assertNull(rule.check(user("R002", "U002")));
+		assertNull(rule.check(user("R001", "U002")));
+		// Realm roles count as well as the roles mapped from user type codes
+		assertNull(rule.check(user(List.of("R005"), List.of("U002"), List.of("manager"))));
+		assertEquals("Access denied. Required role: [MANAGER, ADMIN]", rule.check(user("R003", "U002")));
+		assertNotNull(rule.check(user("R005", "U002")));
+	}
+
+	@Test
+	void userTyCodeIsAllowedForAnyListedCode() throws Exception {
+		AccessRule rule = rule("handlerOrRequester");
+
+		assertNull(rule.check(user("R003", "U002")));
+		assertNull(rule.check(user("R005", "U002")));
+		assertEquals("Access denied. Required user type code: [R003, R005]", rule.check(user("R001", "U002")));
+		assertNotNull(rule.check(user(List.of(), List.of("U002"), List.of())));
+	}
+
+	@Test
+	void userSttusCodeIsAllowedForListedCode() throws Exception {
+		AccessRule rule = rule("activeOnly");
+
+		assertNull(rule.check(user("R005", "U002")));
+		assertEquals("Access denied. Required user status code: [U002]", rule.check(user("R005", "U001")));
+		assertNotNull(rule.check(user(List.of("R005"), List.of(), List.of())));
+	}
+
+	@Test
+	void everyAnnotationMustBeSatisfied() throws Exception {
+		AccessRule rule = rule("activeHandler");
+
+		assertNull(rule.check(user("R003", "U002")));
+		assertNotNull(rule.check(user("R003", "U001")));
+		assertNotNull(rule.check(user("R005", "U002")));
+		assertEquals("role in [HANDLER] and userSttusCode in [U002]", rule.toString());
+	}
+
+	@Test
+	void unannotatedHandlerOnlyNeedsAuthentication() throws Exception {
+		AccessRule rule = rule("unannotated");
+
+		assertSame(AccessRule.NONE, rule);
+		assertTrue(rule.isEmpty());
+		assertNull(rule.check(user(List.of(), List.of(), List.of())));
+	}
+
+	@Test
+	void overflowedKindFallsBackToListComparison() throws Exception {
+		// Use up the user status bits. CodeBits is JVM-wide and overflow is permanent: status checks
+		// in later tests take the list path, which gives the same answers
+		List<String> filler = new ArrayList<>();
+		for (int i = 0; i <= Long.SIZE; i++) {
+			filler.add("OVERFLOW-" + i);
+		}
+		CodeBits.USER_STTUS.register(filler);
+		assertTrue(CodeBits.USER_STTUS.isOverflowed());
+
+		// U900 is first seen after the overflow, so it has no bit and a mask test would deny everyone
+		AccessRule rule = rule("overflowStatus");
+		assertEquals(0L, CodeBits.USER_STTUS.bit("U900"));
+
+		assertNull(rule.check(user("R005", "U900")));
+		assertEquals("Access denied. Required user status code: [U900]", rule.check(user("R005", "U901")));
+	}
+
+	private static AccessRule rule(String method) throws Exception {
+		Method m = Annotated.class.getDeclaredMethod(method);
+		return AccessRule.of(m.getAnnotation(RequireRole.class), m.getAnnotation(RequireUserTyCode.class),
+				m.getAnnotation(RequireUserSttusCode.class));
+	}
+
+	static CustomUserPrincipal user(String userTyCode, String userSttusCode) {
+		return user(List.of(userTyCode), List.of(userSttusCode), List.of());
+	}
+
+	static CustomUserPrincipal user(List<String> userTyCodes, List<String> userSttusCodes, List<String> realmRoles) {
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "RS256")
+				.subject("user0001")
+				.claim("preferred_username", "user0001")
+				.claim("userTyCode", userTyCodes)
+				.claim("userSttusCode", userSttusCodes)
+				.claim("realm_access", Map.of("roles", realmRoles))
+				.build();
+		return new CustomUserPrincipal(jwt);
+	}
+}
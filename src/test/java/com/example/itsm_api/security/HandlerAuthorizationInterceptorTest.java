@@ -0,0 +1,107 @@
+package com.example.itsm_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.itsm_api.controller.SrvcRsponsController;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * HandlerAuthorizationInterceptor: which annotation applies to a handler method, and denial of the
+ * request as an AccessDeniedException (403 through SecurityExceptionHandler).
+ */
+class HandlerAuthorizationInterceptorTest {
+
+	private final HandlerAuthorizationInterceptor interceptor = new HandlerAuthorizationInterceptor(new AuthorizationService());
+
+	@RequireRole("ADMIN")
+	static class AdminController {
+		@RequireRole("HANDLER")
+		public void handlerOnly() {
+		}
+
+		public void inherited() {
+		}
+	}
+
+	static class PlainController {
+		public void open() {
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void methodAnnotationOverridesClassAnnotation() throws Exception {
+		Method handlerOnly = AdminController.class.getMethod("handlerOnly");
+		Method inherited = AdminController.class.getMethod("inherited");
+
+		assertEquals("role in [HANDLER]", interceptor.ruleOf(handlerOnly).toString());
+		assertEquals("role in [ADMIN]", interceptor.ruleOf(inherited).toString());
+
+		// The method's HANDLER replaces the class's ADMIN rather than adding to it
+		authenticate("R003");
+		assertTrue(preHandle(new AdminController(), handlerOnly));
+		assertThrows(AccessDeniedException.class, () -> preHandle(new AdminController(), inherited));
+
+		authenticate("R001");
+		assertThrows(AccessDeniedException.class, () -> preHandle(new AdminController(), handlerOnly));
+		assertTrue(preHandle(new AdminController(), inherited));
+	}
+
+	@Test
+	void finishIsDeniedToHandlers() throws Exception {
+		Method finish = SrvcRsponsController.class.getMethod("updateSrFinish", String.class, SrvcRsponsVO.class);
+
+		authenticate("R003");
+		AccessDeniedException denied = assertThrows(AccessDeniedException.class,
+				() -> preHandle(new SrvcRsponsController(), finish));
+		assertEquals("Access denied. Required role: [MANAGER, ADMIN]", denied.getMessage());
+
+		authenticate("R002");
+		assertTrue(preHandle(new SrvcRsponsController(), finish));
+	}
+
+	@Test
+	void ruleNeedsAnAuthenticatedUser() throws Exception {
+		Method finish = SrvcRsponsController.class.getMethod("updateSrFinish", String.class, SrvcRsponsVO.class);
+
+		AccessDeniedException denied = assertThrows(AccessDeniedException.class,
+				() -> preHandle(new SrvcRsponsController(), finish));
+		assertEquals("Access denied. Authentication required", denied.getMessage());
+	}
+
+	@Test
+	void unannotatedHandlersAndOtherHandlersPass() throws Exception {
+		Method open = PlainController.class.getMethod("open");
+
+		assertSame(AccessRule.NONE, interceptor.ruleOf(open));
+		assertTrue(preHandle(new PlainController(), open));
+		assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object()));
+	}
+
+	private boolean preHandle(Object controller, Method method) {
+		return interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				new HandlerMethod(controller, method));
+	}
+
+	private static void authenticate(String userTyCode) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new CustomUserAuthenticationToken(AccessRuleTest.user(userTyCode, "U002")));
+	}
+}
@@ -0,0 +1,163 @@
+package com.example.itsm_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.itsm_api.security.RejectedTokenCache.Reason;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+/**
+ * TokenFormatFilter.triage: the in-place base64url decoding and JSON header / payload scan.
+ */
+class TokenFormatFilterTest {
+
+	private static final String BEARER = "Bearer ";
+	private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+	private static final String SIGNATURE = BASE64URL.encodeToString(new byte[256]);
+
+	private Path jwksFile;
+	private RejectedTokenCache rejectedTokenCache;
+	private JwksKeySource jwksKeySource;
+	private TokenFormatFilter filter;
+	private long now;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		jwksFile = Files.createTempFile("triage-jwks", ".json");
+		Files.writeString(jwksFile, new JWKSet(List.of(new RSAKeyGenerator(2048).keyID("k1").generate()))
+				.toPublicJWKSet().toString());
+		rejectedTokenCache = new RejectedTokenCache(1024, 300);
+		jwksKeySource = new JwksKeySource("http://localhost:8080/realms/itsm", jwksFile.toUri().toString(),
+				300000, 10000, 30000, new DefaultResourceLoader(), new VerifiedJwtCache(100, 300), rejectedTokenCache);
+		jwksKeySource.start();
+		filter = new TokenFormatFilter(jwksKeySource, rejectedTokenCache, 2048);
+		now = System.currentTimeMillis() / 1000;
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		jwksKeySource.stop();
+		Files.deleteIfExists(jwksFile);
+	}
+
+	@Test
+	void wellFormedTokenIsLeftToTheDecoder() {
+		assertNull(triage(token("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"k1\"}", "{\"exp\":" + (now + 300) + "}")));
+		// RSA key without a published alg: every RSA signature algorithm
+		assertNull(triage(token("{\"alg\":\"PS256\",\"kid\":\"k1\"}", "{\"exp\":" + (now + 300) + "}")));
+		// no kid, no exp: nothing to check here
+		assertNull(triage(token("{\"alg\":\"RS256\"}", "{\"sub\":\"user0001\"}")));
+	}
+
+	@Test
+	void segmentsMustBeUnpaddedBase64url() {
+		String header = encode("{\"alg\":\"RS256\",\"kid\":\"k1\"}");
+		String payload = encode("{\"sub\":\"user0001\"}");
+		assertEquals(Reason.MALFORMED, triage(header + "==." + payload + "." + SIGNATURE));
+		assertEquals(Reason.MALFORMED, triage(header + "." + payload + "." + SIGNATURE + "="));
+		assertEquals(Reason.MALFORMED, triage(header + "+/." + payload + "." + SIGNATURE));
+		assertEquals(Reason.MALFORMED, triage(header + "." + payload));
+		assertEquals(Reason.MALFORMED, triage(header + ".." + SIGNATURE));
+		assertEquals(Reason.MALFORMED, triage(header + "." + payload + "." + SIGNATURE + "." + SIGNATURE));
+		// 4n + 1 characters cannot be the base64url of any byte string
+		assertEquals(Reason.MALFORMED, triage("eyJhbGciO." + payload + "." + SIGNATURE));
+		assertEquals(Reason.MALFORMED, triage(header + "." + payload + "A".repeat(5 - payload.length() % 4) + "." + SIGNATURE));
+	}
+
+	@Test
+	void whitespaceAroundTheTokenAndInsideTheJsonIsIgnored() {
+		String token = token("{ \"alg\" :\t\"RS256\" ,\r\n \"kid\" : \"k1\" }", "{\n  \"exp\" : " + (now - 3600) + "\n}");
+		assertEquals(Reason.EXPIRED, triage("  " + token + " \t"));
+		assertEquals(Reason.UNKNOWN_KID, triage(token("{ \"alg\" : \"RS256\" , \"kid\" : \"k2\" }", "{}")));
+		// whitespace inside the token itself is not base64url
+		assertEquals(Reason.MALFORMED, triage(token.substring(0, 10) + " " + token.substring(10)));
+	}
+
+	@Test
+	void keysInsideStringsAndNestedObjectsAreNotTopLevelKeys() {
+		// "kid":"k2" only appears inside a string value with escaped quotes
+		assertNull(triage(token("{\"x\":\"\\\"kid\\\":\\\"k2\\\"\",\"alg\":\"RS256\",\"kid\":\"k1\"}", "{}")));
+		// a kid in a nested object (embedded jwk) is not the header kid
+		assertNull(triage(token("{\"alg\":\"RS256\",\"jwk\":{\"kid\":\"k2\",\"alg\":\"HS256\"},\"kid\":\"k1\"}", "{}")));
+		assertEquals(Reason.UNKNOWN_KID,
+				triage(token("{\"alg\":\"RS256\",\"jwk\":{\"kid\":\"k1\"},\"kid\":\"k2\"}", "{}")));
+		// a top-level key whose name merely ends in kid / alg
+		assertEquals(Reason.MALFORMED, triage(token("{\"xalg\":\"RS256\",\"kid\":\"k1\"}", "{}")));
+	}
+
+	@Test
+	void escapedValuesAreLeftToTheDecoder() {
+		assertNull(triage(token("{\"alg\":\"RS\\u0032\\u0035\\u0036\",\"kid\":\"k1\"}", "{}")));
+		assertNull(triage(token("{\"alg\":\"RS256\",\"kid\":\"k\\u0031\"}", "{}")));
+		assertNull(triage(token("{\"alg\":\"RS256\",\"kid\":\"k1\\\"\"}", "{}")));
+	}
+
+	@Test
+	void kidInThePayloadIsNotTheSigningKey() {
+		assertNull(triage(token("{\"alg\":\"RS256\"}", "{\"kid\":\"k2\",\"exp\":" + (now + 300) + "}")));
+		assertNull(triage(token("{\"alg\":\"RS256\",\"kid\":\"k1\"}", "{\"kid\":\"k2\"}")));
+	}
+
+	@Test
+	void algMustBeOneOfTheLoadedKeys() {
+		assertEquals(Reason.UNSUPPORTED_ALG, triage(token("{\"alg\":\"HS256\",\"kid\":\"k1\"}", "{}")));
+		assertEquals(Reason.UNSUPPORTED_ALG, triage(token("{\"alg\":\"none\"}", "{}")));
+		assertEquals(Reason.UNSUPPORTED_ALG, triage(token("{\"alg\":\"ES256\",\"kid\":\"k1\"}", "{}")));
+		assertEquals(Reason.MALFORMED, triage(token("{\"kid\":\"k1\"}", "{}")));
+	}
+
+	@Test
+	void expiryAllowsTheClockSkew() {
+		String header = "{\"alg\":\"RS256\",\"kid\":\"k1\"}";
+		assertNull(triage(token(header, "{\"exp\":" + (now - 30) + "}")));
+		assertEquals(Reason.EXPIRED, triage(token(header, "{\"exp\":" + (now - 120) + "}")));
+		// a fractional exp is compared by its integer part; a non-numeric one is left to the decoder
+		assertEquals(Reason.EXPIRED, triage(token(header, "{\"exp\":" + (now - 120) + ".5}")));
+		assertNull(triage(token(header, "{\"exp\":\"" + (now - 120) + "\"}")));
+	}
+
+	@Test
+	void oversizeTokensAreRejectedBeforeScanning() {
+		String headerAndPayload = encode("{\"alg\":\"RS256\",\"kid\":\"k1\"}") + "."
+				+ encode("{\"sub\":\"" + "x".repeat(1000) + "\"}") + ".";
+		// the signature segment is not decoded, so its length sets the token length exactly (limit 2048)
+		String atLimit = headerAndPayload + "A".repeat(2048 - headerAndPayload.length());
+		assertNull(triage(atLimit));
+		assertEquals(Reason.TOO_LONG, triage(atLimit + "A"));
+		assertEquals(Reason.TOO_LONG, triage(atLimit + "!" + "A".repeat(100_000)));
+		// surrounding whitespace does not count
+		assertNull(triage(" " + atLimit + "  "));
+	}
+
+	@Test
+	void recentlyRejectedTokenIsTurnedAway() {
+		String token = token("{\"alg\":\"RS256\",\"kid\":\"k1\"}", "{\"exp\":" + (now + 300) + "}");
+		rejectedTokenCache.add(token);
+		assertEquals(Reason.RECENTLY_REJECTED, triage(token));
+	}
+
+	private Reason triage(String token) {
+		String header = BEARER + token;
+		return filter.triage(header, BEARER.length(), header.length());
+	}
+
+	private static String token(String headerJson, String payloadJson) {
+		return encode(headerJson) + "." + encode(payloadJson) + "." + SIGNATURE;
+	}
+
+	private static String encode(String json) {
+		return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,95 @@
+package com.example.itsm_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * UserContext.of: the priority order in which the user type code is resolved from the claims. The
+ * resolved code decides the SR list scope (R005 sees only its own and referenced SRs).
+ */
+class UserContextTest {
+
+	@Test
+	void userTyCodeClaimComesFirst() {
+		UserContext context = UserContext.of(jwt(Map.of(
+				"userTyCode", List.of("R005", "R003"),
+				"user_type_code", "R001",
+				"custom:userTyCode", "R001",
+				"roles", List.of("R001_ADMIN"))));
+
+		assertEquals("R005", context.userTyCode());
+		assertEquals(List.of("R005", "R003"), context.userTyCodes());
+	}
+
+	@Test
+	void userTyCodeClaimMayBeAStringOrInsideAttributes() {
+		assertEquals("R003", UserContext.of(jwt(Map.of("userTyCode", "R003"))).userTyCode());
+		assertEquals("R005", UserContext.of(jwt(Map.of(
+				"attributes", Map.of("userTyCode", List.of("R005")),
+				"user_type_code", "R001"))).userTyCode());
+		// The claim itself wins over the attributes claim
+		assertEquals("R003", UserContext.of(jwt(Map.of(
+				"userTyCode", "R003",
+				"attributes", Map.of("userTyCode", "R005")))).userTyCode());
+	}
+
+	@Test
+	void aliasesComeBeforeRoles() {
+		UserContext underscore = UserContext.of(jwt(Map.of(
+				"user_type_code", "R002",
+				"custom:userTyCode", "R001",
+				"roles", List.of("R001"))));
+		UserContext cognito = UserContext.of(jwt(Map.of(
+				"custom:userTyCode", "R003",
+				"roles", List.of("R001"))));
+
+		assertEquals("R002", underscore.userTyCode());
+		assertEquals("R003", cognito.userTyCode());
+		// Aliases resolve the code only; userTyCodes lists the userTyCode claim
+		assertEquals(List.of(), underscore.userTyCodes());
+	}
+
+	@Test
+	void rolesComeBeforeClientRoles() {
+		UserContext context = UserContext.of(jwt(Map.of(
+				"roles", List.of("offline_access", "R003_HANDLER", "R001"),
+				"resource_access", Map.of("itsm", Map.of("roles", List.of("R001"))))));
+
+		// First role that starts with R000-R005, trimmed to the code
+		assertEquals("R003", context.userTyCode());
+	}
+
+	@Test
+	void clientRolesComeLast() {
+		UserContext context = UserContext.of(jwt(Map.of(
+				"roles", List.of("offline_access", "R006", "R00"),
+				"resource_access", Map.of("itsm", Map.of("roles", List.of("viewer", "R005_REQUESTER"))))));
+
+		assertEquals("R005", context.userTyCode());
+	}
+
+	@Test
+	void noUserTyCodeResolvesToNull() {
+		UserContext context = UserContext.of(jwt(Map.of(
+				"roles", List.of("offline_access"),
+				"realm_access", Map.of("roles", List.of("handler")))));
+
+		assertNull(context.userTyCode());
+		assertEquals(List.of(), context.userTyCodes());
+		assertEquals(List.of("handler"), context.realmRoles());
+	}
+
+	private static Jwt jwt(Map<String, Object> claims) {
+		return Jwt.withTokenValue("token")
+				.header("alg", "RS256")
+				.subject("user0001")
+				.claims(c -> c.putAll(claims))
+				.build();
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.itsm_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * VerifiedJwtCache expiry, size bound and key rotation.
+ */
+class VerifiedJwtCacheTest {
+
+	@Test
+	void entriesExpireAtTokenExp() throws Exception {
+		VerifiedJwtCache cache = new VerifiedJwtCache(100, 300);
+		Jwt shortLived = jwt("k1", Instant.now().plusMillis(200));
+		Jwt expired = jwt("k1", Instant.now().minusSeconds(1));
+
+		cache.put("short", shortLived);
+		cache.put("expired", expired);
+
+		assertSame(shortLived, cache.get("short"));
+		assertNull(cache.get("expired"));
+		assertEquals(1, cache.size());
+		Thread.sleep(300);
+		assertNull(cache.get("short"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void entriesExpireAfterTtlWithoutExp() throws Exception {
+		VerifiedJwtCache cache = new VerifiedJwtCache(100, 0);
+
+		cache.put("no-ttl", jwt("k1", null));
+
+		assertNull(cache.get("no-ttl"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void sizeStaysWithinMaxEntriesAndKeepsHotTokens() {
+		VerifiedJwtCache cache = new VerifiedJwtCache(100, 300);
+		Jwt hot = jwt("k1", Instant.now().plusSeconds(60));
+		cache.put("hot", hot);
+
+		for (int i = 0; i < 5_000; i++) {
+			cache.put("token-" + i, jwt("k1", Instant.now().plusSeconds(60)));
+			assertTrue(cache.size() <= 100, () -> "size " + cache.size());
+			assertSame(hot, cache.get("hot"));
+		}
+		assertEquals(100, cache.size());
+	}
+
+	@Test
+	void evictionReachesEveryPartOfTheMap() {
+		VerifiedJwtCache cache = new VerifiedJwtCache(100, 300);
+		for (int i = 0; i < 100; i++) {
+			cache.put("cold-" + i, jwt("k1", Instant.now().plusSeconds(60)));
+		}
+
+		// The cold entries are the least recently used wherever they sit in the map, so random
+		// starting points must evict all of them, not only those in the first buckets
+		for (int i = 0; i < 5_000; i++) {
+			cache.put("token-" + i, jwt("k1", Instant.now().plusSeconds(60)));
+		}
+		for (int i = 0; i < 100; i++) {
+			assertNull(cache.get("cold-" + i), "cold-" + i);
+		}
+		assertEquals(100, cache.size());
+	}
+
+	@Test
+	void disabledCacheKeepsNothing() {
+		VerifiedJwtCache cache = new VerifiedJwtCache(0, 300);
+
+		cache.put("token", jwt("k1", Instant.now().plusSeconds(60)));
+
+		assertNull(cache.get("token"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void retainSigningKeysDropsRevokedAndUnnamedKeys() {
+		VerifiedJwtCache cache = new VerifiedJwtCache(100, 300);
+		Instant exp = Instant.now().plusSeconds(60);
+		Jwt current = jwt("k2", exp);
+		cache.put("revoked", jwt("k1", exp));
+		cache.put("current", current);
+		cache.put("no-kid", jwt(null, exp));
+
+		cache.retainSigningKeys(Set.of("k2", "k3"));
+
+		assertNull(cache.get("revoked"));
+		assertNull(cache.get("no-kid"));
+		assertSame(current, cache.get("current"));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.invalidationCount());
+	}
+
+	private static Jwt jwt(String kid, Instant exp) {
+		Jwt.Builder builder = Jwt.withTokenValue("token").header("alg", "RS256").subject("user0001");
+		if (kid != null) {
+			builder.header("kid", kid);
+		}
+		if (exp != null) {
+			builder.expiresAt(exp);
+		}
+		return builder.build();
+	}
+}
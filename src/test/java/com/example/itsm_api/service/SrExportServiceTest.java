@@ -0,0 +1,55 @@
+package com.example.itsm_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.itsm_api.service.SrExportService.CsvRowWriter;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SrExportService CSV 필드 이스케이프 검증.
+ * 사용자가 입력한 제목/이름이 Excel 에서 수식으로 실행되지 않아야 한다 (CSV injection).
+ */
+class SrExportServiceTest {
+
+	@Test
+	void neutralisesFormulaPrefixes() throws Exception {
+		assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", subjectField("=HYPERLINK(\"http://x\")"));
+		assertEquals("\"'+1+1\"", subjectField("+1+1"));
+		assertEquals("\"'-2+3\"", subjectField("-2+3"));
+		assertEquals("\"'@SUM(A1)\"", subjectField("@SUM(A1)"));
+		assertEquals("\"'\tcmd\"", subjectField("\tcmd"));
+		assertEquals("\"'\rcmd\"", subjectField("\rcmd"));
+	}
+
+	@Test
+	void leavesOtherValuesAsRfc4180() throws Exception {
+		assertEquals("로그인 오류", subjectField("로그인 오류"));
+		assertEquals("a=b", subjectField("a=b"));
+		assertEquals("\"a,b\"", subjectField("a,b"));
+		assertEquals("\"say \"\"hi\"\"\"", subjectField("say \"hi\""));
+		assertEquals("", subjectField(""));
+	}
+
+	/** srvcRsponsSj 한 칸만 채운 행을 CSV 로 쓰고 그 필드를 돌려준다 */
+	private static String subjectField(String subject) throws Exception {
+		SrvcRsponsVO row = new SrvcRsponsVO();
+		row.setSrvcRsponsSj(subject);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CsvRowWriter writer = new CsvRowWriter(out);
+		writer.write(row);
+		writer.end();
+
+		// srvcRsponsNo, requstDt, trgetSrvcCodeNm, srvcRsponsClCodeNm 다음이 srvcRsponsSj, 그 뒤는 모두 빈 칸
+		String line = out.toString(StandardCharsets.UTF_8);
+		String prefix = ",,,,";
+		String suffix = ",".repeat(13) + "\r\n";
+		assertEquals(prefix, line.substring(0, prefix.length()), line);
+		assertEquals(suffix, line.substring(line.length() - suffix.length()), line);
+		return line.substring(prefix.length(), line.length() - suffix.length());
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.itsm_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * SrNoAllocator 동시성 검증.
+ * 구간 예약은 DB 왕복을 흉내내기 위해 1ms 지연을 둔 메모리 시퀀스로 대체한다.
+ */
+class SrNoAllocatorTest {
+
+	private static final int THREADS = 8;
+	// 한 달 한도(999건) 안에서: 8 x 120 = 960건, 10건 구간 96개
+	private static final int PER_THREAD = 120;
+
+	/** TB_SRVC_RSPONS_SEQ 를 대신하는 메모리 시퀀스 */
+	private static class InMemorySeqAllocator extends SrNoAllocator {
+		private final AtomicInteger reservations = new AtomicInteger();
+		private long nextVal = 1;
+		private volatile String seqMt = "2610";
+
+		InMemorySeqAllocator(int blockSize) {
+			super(null, Mockito.mock(PlatformTransactionManager.class), blockSize);
+		}
+
+		@Override
+		synchronized long reserveBlock(String seqMt, int size) {
+			reservations.incrementAndGet();
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			long start = nextVal;
+			nextVal += size;
+			return start;
+		}
+
+		@Override
+		String currentSeqMt() {
+			return seqMt;
+		}
+	}
+
+	@Test
+	void noCollisionsAcrossThreads() throws Exception {
+		InMemorySeqAllocator allocator = new InMemorySeqAllocator(10);
+		Set<String> issued = ConcurrentHashMap.newKeySet();
+
+		run(allocator, THREADS, issued);
+
+		// 중복 없이, 예약된 구간을 빠짐없이 사용한다 (SR-2610-001 ~ SR-2610-NNN)
+		int total = THREADS * PER_THREAD;
+		assertEquals(total, issued.size(), "duplicate SR numbers");
+		for (int seq = 1; seq <= total; seq++) {
+			assertTrue(issued.contains(SrNoAllocator.format("2610", seq)), "missing SR number " + seq);
+		}
+		assertEquals(total / 10, allocator.reservations.get());
+	}
+
+	@Test
+	void monthRolloverStartsNewBlock() {
+		InMemorySeqAllocator allocator = new InMemorySeqAllocator(10);
+		String first = allocator.nextSrvcRsponsNo();
+		allocator.seqMt = "2611";
+		String second = allocator.nextSrvcRsponsNo();
+
+		assertEquals("SR-2610-001", first);
+		assertTrue(second.startsWith("SR-2611-"), second);
+		assertEquals(2, allocator.reservations.get());
+	}
+
+	@Test
+	void rejectsNumbersPastMonthlyLimit() {
+		InMemorySeqAllocator allocator = new InMemorySeqAllocator(10);
+		allocator.nextVal = 995;
+		for (int seq = 995; seq <= 999; seq++) {
+			assertEquals("SR-2610-" + seq, allocator.nextSrvcRsponsNo());
+		}
+
+		// SR-2610-1000 은 문자열 순서로 SR-2610-999 앞에 오므로 만들지 않는다
+		assertThrows(IllegalStateException.class, allocator::nextSrvcRsponsNo);
+		assertThrows(IllegalStateException.class, () -> SrNoAllocator.format("2610", 1000));
+	}
+
+	private void run(SrNoAllocator allocator, int threads, Set<String> issued) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < PER_THREAD; i++) {
+					issued.add(allocator.nextSrvcRsponsNo());
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		pool.shutdown();
+		pool.awaitTermination(10, TimeUnit.SECONDS);
+	}
+}
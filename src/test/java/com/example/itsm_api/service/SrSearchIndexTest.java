@@ -0,0 +1,179 @@
+package com.example.itsm_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.Test;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SrSearchIndex 정규화/posting 연산/후보 검색 검증.
+ * 매퍼는 SR 번호별 문서를 담은 메모리 맵으로 대체한다.
+ */
+class SrSearchIndexTest {
+
+	/** SR번호 -> 문서. retrieveSearchDoc 이 null 을 반환하면 삭제된 SR 이다 */
+	private final Map<String, SrvcRsponsVO> docs = new LinkedHashMap<>();
+	private boolean failDocLoad;
+
+	@SuppressWarnings("unchecked")
+	private final SrvcRsponsMapper mapper = (SrvcRsponsMapper) Proxy.newProxyInstance(
+			SrvcRsponsMapper.class.getClassLoader(), new Class<?>[] {SrvcRsponsMapper.class}, (proxy, method, args) -> {
+				switch (method.getName()) {
+				case "retrieveSearchDocList" -> {
+					DefaultResultContext<SrvcRsponsVO> context = new DefaultResultContext<>();
+					for (SrvcRsponsVO doc : docs.values()) {
+						context.nextResultObject(doc);
+						((ResultHandler<SrvcRsponsVO>) args[0]).handleResult(context);
+					}
+					return null;
+				}
+				case "retrieveSearchDoc" -> {
+					if (failDocLoad) {
+						throw new IllegalStateException("db down");
+					}
+					return docs.get((String) args[0]);
+				}
+				default -> throw new UnsupportedOperationException(method.getName());
+				}
+			});
+
+	private SrSearchIndex index(int maxIndexedChars, int maxCandidates) {
+		SrSearchIndex index = new SrSearchIndex(mapper, maxIndexedChars, maxCandidates);
+		index.rebuild();
+		return index;
+	}
+
+	private void put(String srvcRsponsNo, String sj, String cn, String dtls) {
+		SrvcRsponsVO doc = new SrvcRsponsVO();
+		doc.setSrvcRsponsNo(srvcRsponsNo);
+		doc.setSrvcRsponsSj(sj);
+		doc.setSrvcRsponsCn(cn);
+		doc.setSrvcProcessDtls(dtls);
+		docs.put(srvcRsponsNo, doc);
+	}
+
+	@Test
+	void normalizeFoldsLikeTheCollation() {
+		String[][] cases = {
+				// 입력, 기대값
+				{"ERP Login", "erp login"},
+				{"Café Crème", "cafe creme"},
+				{"ＥＲＰ　장애１２", "erp 장애12"},
+				{"ﬁle", "file"},
+				{"Straße", "strasse"},
+				{"Ærø", "aero"},
+				{"a \t\r\n b c", "a b c"},
+				{"서버 접속 불가", "서버 접속 불가"},
+				{"", ""},
+		};
+		for (String[] c : cases) {
+			assertEquals(c[1], SrSearchIndex.normalize(c[0], Integer.MAX_VALUE), c[0]);
+		}
+		assertEquals("abc", SrSearchIndex.normalize("ABCDEF", 3));
+	}
+
+	@Test
+	void intersectAndUnionMergeSortedPostings() {
+		assertArrayEquals(new int[] {3, 7}, SrSearchIndex.intersect(new int[] {1, 3, 5, 7}, new int[] {2, 3, 7, 9}));
+		assertArrayEquals(new int[0], SrSearchIndex.intersect(new int[] {1, 2}, new int[] {3, 4}));
+		assertArrayEquals(new int[0], SrSearchIndex.intersect(new int[0], new int[] {1}));
+		assertArrayEquals(new int[] {1, 2, 3, 5, 7, 9}, SrSearchIndex.union(new int[] {1, 3, 5, 7}, new int[] {2, 3, 7, 9}));
+		assertArrayEquals(new int[] {4}, SrSearchIndex.union(new int[0], new int[] {4}));
+		assertArrayEquals(new int[0], SrSearchIndex.union(new int[0], new int[0]));
+	}
+
+	@Test
+	void searchReturnsDocumentsContainingAllBigrams() {
+		put("SR-2610-001", "ERP 로그인 오류", "로그인 시 500 에러", null);
+		put("SR-2610-002", "메일 발송 지연", "그룹웨어 메일", "SMTP 재기동");
+		put("SR-2610-003", "Café 예약 시스템", "예약 취소 불가", null);
+		SrSearchIndex index = index(20000, 5000);
+
+		assertEquals(List.of("SR-2610-001"), index.searchCandidates("로그인", null, null));
+		assertEquals(List.of("SR-2610-001"), index.searchCandidates("erp", null, null));
+		assertEquals(List.of("SR-2610-003"), index.searchCandidates("CAFE", null, null));
+		assertEquals(List.of("SR-2610-003"), index.searchCandidates("ｃａｆé", null, null));
+		assertEquals(List.of(), index.searchCandidates("결재", null, null));
+		// 필드별: 제목에는 없고 내용에만 있는 검색어
+		assertEquals(List.of(), index.searchCandidates("에러", null, null));
+		assertEquals(List.of("SR-2610-001"), index.searchCandidates(null, "에러", null));
+		// 통합 검색어: 처리내역까지 포함
+		assertEquals(List.of("SR-2610-002"), index.searchCandidates(null, null, "smtp"));
+		// 조건 간 AND
+		assertEquals(List.of(), index.searchCandidates("로그인", "메일", null));
+	}
+
+	@Test
+	void searchFallsBackToLikeWhenItCannotNarrow() {
+		put("SR-2610-001", "ERP 로그인 오류", null, null);
+		put("SR-2610-002", "ERP 배치 오류", null, null);
+		SrSearchIndex index = index(20000, 1);
+
+		assertNull(index.searchCandidates(null, null, null));
+		assertNull(index.searchCandidates("e", null, null));
+		assertNull(index.searchCandidates("ERP%", null, null));
+		assertNull(index.searchCandidates("ERP_", null, null));
+		// 후보가 maxCandidates(1) 초과
+		assertNull(index.searchCandidates("오류", null, null));
+		assertEquals(List.of("SR-2610-001"), index.searchCandidates("로그인", null, null));
+		// 색인 구축 전
+		assertNull(new SrSearchIndex(mapper, 20000, 5000).searchCandidates("로그인", null, null));
+	}
+
+	@Test
+	void truncatedFieldsAreAlwaysCandidates() {
+		put("SR-2610-001", "짧은 제목", null, null);
+		put("SR-2610-002", "아주 긴 제목 뒤쪽에 로그인이 있다", null, null);
+		SrSearchIndex index = index(8, 5000);
+
+		assertEquals(List.of("SR-2610-002"), index.searchCandidates("로그인", null, null));
+		assertEquals(List.of("SR-2610-001", "SR-2610-002"), index.searchCandidates("짧은", null, null));
+	}
+
+	@Test
+	void reindexReplacesAndRemovesDocuments() {
+		put("SR-2610-001", "ERP 로그인 오류", null, null);
+		put("SR-2610-002", "메일 발송 지연", null, null);
+		SrSearchIndex index = index(20000, 5000);
+
+		put("SR-2610-002", "메일 로그인 불가", null, null);
+		index.reindexNow("SR-2610-002");
+		assertEquals(List.of("SR-2610-001", "SR-2610-002"), index.searchCandidates("로그인", null, null));
+		assertEquals(List.of(), index.searchCandidates("발송", null, null));
+
+		docs.remove("SR-2610-001");
+		index.reindexNow("SR-2610-001");
+		assertEquals(List.of("SR-2610-002"), index.searchCandidates("로그인", null, null));
+
+		put("SR-2610-003", "신규 로그인 문의", null, null);
+		index.reindexNow("SR-2610-003");
+		assertEquals(List.of("SR-2610-002", "SR-2610-003"), index.searchCandidates("로그인", null, null));
+	}
+
+	@Test
+	void failedReindexKeepsDocumentAsCandidate() {
+		put("SR-2610-001", "ERP 로그인 오류", null, null);
+		put("SR-2610-002", "메일 발송 지연", null, null);
+		SrSearchIndex index = index(20000, 5000);
+
+		failDocLoad = true;
+		index.reindexNow("SR-2610-002");
+		assertEquals(List.of("SR-2610-001", "SR-2610-002"), index.searchCandidates("로그인", null, null));
+
+		// 재구축하면 다시 실제 내용으로 색인된다
+		failDocLoad = false;
+		index.rebuild();
+		assertEquals(List.of("SR-2610-001"), index.searchCandidates("로그인", null, null));
+	}
+}
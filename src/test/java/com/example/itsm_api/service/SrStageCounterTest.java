@@ -0,0 +1,182 @@
+package com.example.itsm_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.itsm_api.mapper.SrvcRsponsMapper;
+import com.example.itsm_api.vo.SrStage;
+import com.example.itsm_api.vo.SrStageCntVO;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SrStageCounter 단계 판정과 건수 반영 검증.
+ * 단계 판정은 SrvcRsponsMapper.xml 의 단계별 목록 조건과 같아야 한다.
+ */
+class SrStageCounterTest {
+
+	private static final SrStage ALL = SrStage.ALL;
+	private static final SrStage REQUEST = SrStage.REQUEST;
+	private static final SrStage RECEIVE = SrStage.RECEIVE;
+	private static final SrStage PROCESS = SrStage.PROCESS;
+	private static final SrStage VERIFY = SrStage.VERIFY;
+	private static final SrStage FINISH = SrStage.FINISH;
+	private static final SrStage EVALUATE = SrStage.EVALUATE;
+
+	/**
+	 * 일시 컬럼 설정 여부(RSPONS_1ST_DT, PROCESS_DT, VERIFY_DT, FINISH_DT) 16가지 조합과 기대 단계.
+	 * 정상 흐름 밖의 조합(앞 단계 일시 없이 뒤 단계 일시만 있는 데이터)도 목록 쿼리와 같게 판정해야 한다.
+	 */
+	private static final Object[][] CASES = {
+			{"----", EnumSet.of(ALL, REQUEST, RECEIVE)},
+			{"---F", EnumSet.of(ALL, REQUEST, RECEIVE, EVALUATE)},
+			{"--V-", EnumSet.of(ALL, REQUEST, RECEIVE)},
+			{"--VF", EnumSet.of(ALL, REQUEST, RECEIVE, EVALUATE)},
+			{"-P--", EnumSet.of(ALL, REQUEST, RECEIVE, EVALUATE)},
+			{"-P-F", EnumSet.of(ALL, REQUEST, RECEIVE, EVALUATE)},
+			{"-PV-", EnumSet.of(ALL, REQUEST, RECEIVE, EVALUATE)},
+			{"-PVF", EnumSet.of(ALL, REQUEST, RECEIVE, EVALUATE)},
+			{"R---", EnumSet.of(ALL, PROCESS)},
+			{"R--F", EnumSet.of(ALL, PROCESS, EVALUATE)},
+			{"R-V-", EnumSet.of(ALL, PROCESS)},
+			{"R-VF", EnumSet.of(ALL, PROCESS, EVALUATE)},
+			{"RP--", EnumSet.of(ALL, VERIFY, EVALUATE)},
+			{"RP-F", EnumSet.of(ALL, VERIFY, EVALUATE)},
+			{"RPV-", EnumSet.of(ALL, FINISH, EVALUATE)},
+			{"RPVF", EnumSet.of(ALL, EVALUATE)},
+	};
+
+	private final List<SrStageCntVO> stageRows = new ArrayList<>();
+
+	private final SrvcRsponsMapper mapper = (SrvcRsponsMapper) Proxy.newProxyInstance(
+			SrvcRsponsMapper.class.getClassLoader(), new Class<?>[] {SrvcRsponsMapper.class}, (proxy, method, args) -> {
+				if ("retrieveStageCntList".equals(method.getName())) {
+					return stageRows;
+				}
+				throw new UnsupportedOperationException(method.getName());
+			});
+
+	@Test
+	void stagesOfMatchesListPredicates() {
+		assertEquals(16, CASES.length);
+		for (Object[] c : CASES) {
+			String dates = (String) c[0];
+			assertEquals(c[1], SrStageCounter.stagesOf(dates.charAt(0) != '-', dates.charAt(1) != '-',
+					dates.charAt(2) != '-', dates.charAt(3) != '-'), dates);
+			assertEquals(c[1], SrStageCounter.stagesOf(sr(dates, "SYS01", "handler001")), dates);
+			assertEquals(c[1], listPredicates(dates), "mapper " + dates);
+		}
+	}
+
+	@Test
+	void reconcileCountsEveryStageOfEachGroup() {
+		stageRows.add(row("----", "SYS01", null, 3));
+		stageRows.add(row("R---", "SYS01", "handler001", 2));
+		stageRows.add(row("RP--", "SYS02", "handler001", 5));
+		stageRows.add(row("RPVF", "SYS02", "handler002", 7));
+		SrStageCounter counter = new SrStageCounter(mapper);
+		assertNull(counter.stageCounts());
+
+		counter.reconcile();
+
+		assertEquals(counts(17, 3, 3, 2, 5, 0, 12), counter.stageCounts());
+		assertEquals(counts(5, 3, 3, 2, 0, 0, 0), counter.stageCountsByTrgetSrvcCode().get("SYS01"));
+		assertEquals(counts(12, 0, 0, 0, 5, 0, 12), counter.stageCountsByTrgetSrvcCode().get("SYS02"));
+		assertEquals(counts(7, 0, 0, 2, 5, 0, 5), counter.stageCountsByChargerId("handler001"));
+		assertEquals(counts(0, 0, 0, 0, 0, 0, 0), counter.stageCountsByChargerId("nobody"));
+	}
+
+	@Test
+	void transitionMovesOneSrBetweenStages() {
+		stageRows.add(row("----", "SYS01", null, 1));
+		SrStageCounter counter = new SrStageCounter(mapper);
+		counter.reconcile();
+
+		// 접수: 담당자 배정과 함께 요청 -> 처리
+		counter.transition(sr("----", "SYS01", null), sr("R---", "SYS01", "handler001"));
+		assertEquals(counts(1, 0, 0, 1, 0, 0, 0), counter.stageCounts());
+		assertEquals(counts(1, 0, 0, 1, 0, 0, 0), counter.stageCountsByChargerId("handler001"));
+
+		// 신규 등록
+		counter.transition(null, sr("----", "SYS02", null));
+		assertEquals(counts(2, 1, 1, 1, 0, 0, 0), counter.stageCounts());
+
+		// 처리 완료 -> 검증 대기, 평가 가능
+		counter.transition(sr("R---", "SYS01", "handler001"), sr("RP--", "SYS01", "handler001"));
+		assertEquals(counts(2, 1, 1, 0, 1, 0, 1), counter.stageCounts());
+
+		// 삭제
+		counter.transition(sr("RP--", "SYS01", "handler001"), null);
+		assertEquals(counts(1, 1, 1, 0, 0, 0, 0), counter.stageCounts());
+		assertEquals(counts(0, 0, 0, 0, 0, 0, 0), counter.stageCountsByChargerId("handler001"));
+		assertEquals(counts(0, 0, 0, 0, 0, 0, 0), counter.stageCountsByTrgetSrvcCode().get("SYS01"));
+	}
+
+	/** SrvcRsponsMapper.xml 의 단계별 목록 조건을 그대로 옮긴 것 */
+	private static EnumSet<SrStage> listPredicates(String dates) {
+		boolean r = dates.charAt(0) != '-';
+		boolean p = dates.charAt(1) != '-';
+		boolean v = dates.charAt(2) != '-';
+		boolean f = dates.charAt(3) != '-';
+		EnumSet<SrStage> stages = EnumSet.of(ALL);
+		if (!r) {
+			stages.add(REQUEST);
+			stages.add(RECEIVE);
+		}
+		if (r && !p) {
+			stages.add(PROCESS);
+		}
+		if (r && p && !v) {
+			stages.add(VERIFY);
+		}
+		if (r && p && v && !f) {
+			stages.add(FINISH);
+		}
+		if (p || f) {
+			stages.add(EVALUATE);
+		}
+		return stages;
+	}
+
+	private static SrvcRsponsVO sr(String dates, String trgetSrvcCode, String chargerId) {
+		Date now = new Date();
+		SrvcRsponsVO sr = new SrvcRsponsVO();
+		sr.setTrgetSrvcCode(trgetSrvcCode);
+		sr.setChargerId(chargerId);
+		sr.setRspons1stDt(dates.charAt(0) != '-' ? now : null);
+		sr.setProcessDt(dates.charAt(1) != '-' ? now : null);
+		sr.setVerifyDt(dates.charAt(2) != '-' ? now : null);
+		sr.setFinishDt(dates.charAt(3) != '-' ? now : null);
+		return sr;
+	}
+
+	private static SrStageCntVO row(String dates, String trgetSrvcCode, String chargerId, long cnt) {
+		SrStageCntVO row = new SrStageCntVO();
+		row.setTrgetSrvcCode(trgetSrvcCode);
+		row.setChargerId(chargerId);
+		row.setRspons1stYn(dates.charAt(0) != '-' ? "Y" : "N");
+		row.setProcessYn(dates.charAt(1) != '-' ? "Y" : "N");
+		row.setVerifyYn(dates.charAt(2) != '-' ? "Y" : "N");
+		row.setFinishYn(dates.charAt(3) != '-' ? "Y" : "N");
+		row.setCnt(cnt);
+		return row;
+	}
+
+	/** ALL, REQUEST, RECEIVE, PROCESS, VERIFY, FINISH, EVALUATE 순서의 건수 */
+	private static Map<SrStage, Long> counts(long... values) {
+		Map<SrStage, Long> map = new EnumMap<>(SrStage.class);
+		for (SrStage stage : SrStage.values()) {
+			map.put(stage, values[stage.ordinal()]);
+		}
+		return map;
+	}
+}
@@ -0,0 +1,112 @@
+package com.example.itsm_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.itsm_api.service.SrvcRsponsBatchService.ItemResult;
+import com.example.itsm_api.service.SrvcRsponsBatchService.Transition;
+import com.example.itsm_api.vo.SrvcRsponsVO;
+
+/**
+ * SrvcRsponsBatchService 부분 실패 처리 검증.
+ * 청크 실행(executeChunk)은 DB 대신 메모리의 SR 목록으로 대체한다.
+ */
+class SrvcRsponsBatchServiceTest {
+
+	/** 청크 크기 2, EXISTING 에 있는 SR 만 변경되고 POISON 이 들어간 청크는 예외로 롤백된다 */
+	private static class InMemoryBatchService extends SrvcRsponsBatchService {
+		private static final Set<String> EXISTING = Set.of("SR-2610-001", "SR-2610-002", "SR-2610-003",
+				"SR-2610-004", "SR-2610-005", "SR-2610-006");
+		private static final String POISON = "SR-2610-004";
+
+		private final List<List<String>> chunks = new ArrayList<>();
+
+		InMemoryBatchService() {
+			super(new DefaultSqlSessionFactory(new Configuration(
+					new Environment("test", new JdbcTransactionFactory(), Mockito.mock(DataSource.class)))),
+					Mockito.mock(PlatformTransactionManager.class), null, null, 2);
+		}
+
+		@Override
+		List<ItemResult> executeChunk(Transition transition, List<SrvcRsponsVO> chunkItems) {
+			List<String> nos = chunkItems.stream().map(SrvcRsponsVO::getSrvcRsponsNo).toList();
+			chunks.add(nos);
+			if (nos.contains(POISON)) {
+				throw new IllegalStateException("Deadlock found when trying to get lock");
+			}
+			List<ItemResult> results = new ArrayList<>();
+			for (String no : nos) {
+				boolean success = EXISTING.contains(no);
+				results.add(new ItemResult(no, success, success ? 1 : 0, success ? null : "No records updated"));
+			}
+			return results;
+		}
+	}
+
+	@Test
+	void failedChunkIsReportedPerItemWhileOtherChunksRun() {
+		InMemoryBatchService service = new InMemoryBatchService();
+
+		List<ItemResult> results = service.execute(Transition.RECEIVE, items(
+				"SR-2610-001", null, "SR-2610-002", "SR-2610-001", "SR-2610-003", "SR-2610-004", "SR-2610-999",
+				"", "SR-2610-005"));
+
+		// 검증 실패 항목은 청크에 들어가지 않고, 나머지는 요청 순서대로 2건씩 나뉜다
+		assertEquals(List.of(
+				List.of("SR-2610-001", "SR-2610-002"),
+				List.of("SR-2610-003", "SR-2610-004"),
+				List.of("SR-2610-999", "SR-2610-005")), service.chunks);
+
+		assertEquals(9, results.size());
+		assertResult(results.get(0), "SR-2610-001", true, null);
+		assertResult(results.get(1), null, false, "srvcRsponsNo is required");
+		assertResult(results.get(2), "SR-2610-002", true, null);
+		assertResult(results.get(3), "SR-2610-001", false, "Duplicate srvcRsponsNo in batch");
+		// 롤백된 청크: 존재하는 SR 도 실패로 보고한다
+		assertResult(results.get(4), "SR-2610-003", false, "Deadlock found when trying to get lock");
+		assertResult(results.get(5), "SR-2610-004", false, "Deadlock found when trying to get lock");
+		// 다음 청크는 계속 처리되고, 없는 SR 만 실패한다
+		assertResult(results.get(6), "SR-2610-999", false, "No records updated");
+		assertResult(results.get(7), "", false, "srvcRsponsNo is required");
+		assertResult(results.get(8), "SR-2610-005", true, null);
+	}
+
+	@Test
+	void allInvalidItemsRunNoChunk() {
+		InMemoryBatchService service = new InMemoryBatchService();
+
+		List<ItemResult> results = service.execute(Transition.FINISH, items(null, ""));
+
+		assertEquals(List.of(), service.chunks);
+		assertResult(results.get(0), null, false, "srvcRsponsNo is required");
+		assertResult(results.get(1), "", false, "srvcRsponsNo is required");
+	}
+
+	private static void assertResult(ItemResult result, String srvcRsponsNo, boolean success, String error) {
+		assertEquals(srvcRsponsNo, result.srvcRsponsNo());
+		assertEquals(success, result.success(), String.valueOf(srvcRsponsNo));
+		assertEquals(error, result.error(), String.valueOf(srvcRsponsNo));
+	}
+
+	private static List<SrvcRsponsVO> items(String... srvcRsponsNos) {
+		return Arrays.stream(srvcRsponsNos).map(no -> {
+			SrvcRsponsVO item = new SrvcRsponsVO();
+			item.setSrvcRsponsNo(no);
+			return item;
+		}).toList();
+	}
+}